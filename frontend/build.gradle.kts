@@ -42,6 +42,44 @@ val webpack by tasks.registering(Exec::class) {
     outputs.dir(projectOutput)
 }
 
+// Content-hashed, gzip-precompressed copies of the bundles plus asset-manifest.properties
+// (bundle name -> hashed file name). The gateway serves them at /data/webdesigner/assets/*
+// with immutable caching, see AssetHandler.
+val fingerprintedOutput: String = "${layout.buildDirectory.get()}/fingerprinted-resources/"
+
+val fingerprintAssets by tasks.registering {
+    description = "Write content-hashed, precompressed copies of the webpack bundles"
+    group = "build"
+
+    dependsOn(webpack)
+
+    val bundles = listOf("standalone.js", "webdesigner.js")
+    inputs.files(bundles.map { "${projectOutput}mounted/$it" })
+    outputs.dir(fingerprintedOutput)
+
+    doLast {
+        val outputDir = file(fingerprintedOutput)
+        val assetsDir = File(outputDir, "assets")
+        outputDir.deleteRecursively()
+        assetsDir.mkdirs()
+
+        val manifest = java.util.TreeMap<String, String>()
+        for (bundle in bundles) {
+            val bytes = file("${projectOutput}mounted/$bundle").readBytes()
+            val digest = java.security.MessageDigest.getInstance("SHA-256").digest(bytes)
+            val hash = digest.take(6).joinToString("") { "%02x".format(it) }
+            val hashed = "${bundle.substringBeforeLast('.')}.$hash.${bundle.substringAfterLast('.')}"
+
+            File(assetsDir, hashed).writeBytes(bytes)
+            java.util.zip.GZIPOutputStream(File(assetsDir, "$hashed.gz").outputStream()).use { it.write(bytes) }
+            manifest[bundle] = hashed
+        }
+
+        File(outputDir, "asset-manifest.properties")
+            .writeText(manifest.entries.joinToString("") { "${it.key}=${it.value}\n" })
+    }
+}
+
 // Make processResources depend on webpack
 tasks.named("processResources") {
     dependsOn(webpack)
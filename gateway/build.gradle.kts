@@ -3,6 +3,7 @@
 
 plugins {
     `java-library`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 java {
@@ -10,6 +11,12 @@ java {
     targetCompatibility = JavaVersion.VERSION_17
 }
 
+// Load and scale testing tools (src/loadtest/java), run against the main classes
+val loadtest by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 dependencies {
     // Ignition SDK dependencies
     compileOnly("com.inductiveautomation.ignitionsdk:gateway-api:8.3.0")
@@ -31,20 +38,76 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.0")
     testImplementation("org.mockito:mockito-core:5.6.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.6.0")
+
+    // Benchmarks (src/jmh/java), using the synthetic views from src/loadtest
+    jmh(loadtest.output)
+    jmh("org.openjdk.jmh:jmh-core:1.37")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+
+    // In-process load driver (fake Gateway context and tag provider)
+    "loadtestImplementation"("org.mockito:mockito-core:5.6.0")
+}
+
+// Gateway-provided APIs (Ignition SDK, servlet, SLF4J) are needed on the classpath to run
+// tests and benchmarks outside the Gateway
+configurations.testImplementation.get().extendsFrom(configurations.compileOnly.get())
+configurations.named("jmhImplementation") {
+    extendsFrom(configurations.compileOnly.get())
+}
+configurations.named("loadtestImplementation") {
+    extendsFrom(configurations.compileOnly.get())
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// JMH benchmarks for the API hot paths
+// Run: ./gradlew :gateway:jmh [-PjmhIncludes=ViewValidator]
+// Results: gateway/build/results/jmh/results.json (compare across releases)
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// Synthetic project for load and scale testing (options: see SyntheticProjectGenerator)
+// Run: ./gradlew :gateway:generateSyntheticProject --args="--views 10000 --queries 2000"
+// Output: gateway/build/synthetic-gateway/projects/Synthetic
+tasks.register<JavaExec>("generateSyntheticProject") {
+    group = "verification"
+    description = "Writes a synthetic Ignition project tree for load and scale testing"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.me.webdesigner.loadtest.SyntheticProjectGenerator")
+    workingDir = projectDir
+}
+
+// In-process load test of the API handlers against the synthetic project (options: see LoadDriver)
+// Run: ./gradlew :gateway:loadTest --args="--threads 16 --duration 60 --maxErrorRate 0.001"
+// Results: printed, and as JSON with --report build/results/loadtest/report.json
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs a mixed list/read/save/browse workload against the handlers in-process"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.me.webdesigner.loadtest.LoadDriver")
+    workingDir = projectDir
+}
+
 // Copy frontend webpack build output to resources before building module
 tasks.named<Copy>("processResources") {
-    dependsOn(":frontend:webpack")
+    dependsOn(":frontend:webpack", ":frontend:fingerprintAssets")
 
     // Copy webpack UMD bundle to resources/web (for SystemJS loading)
     from("${project(":frontend").buildDir}/generated-resources/mounted") {
         into("web")
     }
+
+    // Copy hashed, precompressed bundles and their manifest (served by AssetHandler)
+    from("${project(":frontend").buildDir}/fingerprinted-resources") {
+        into("web")
+    }
 }
 
 // Ensure clean removes frontend build output from resources
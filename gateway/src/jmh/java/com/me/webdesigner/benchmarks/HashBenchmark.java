@@ -0,0 +1,48 @@
+package com.me.webdesigner.benchmarks;
+
+import com.me.webdesigner.loadtest.SyntheticViews;
+import com.me.webdesigner.util.FingerprintService;
+import com.me.webdesigner.util.ResponseUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ETag computation for view content (run with -Dwebdesigner.etag.algorithm=murmur3 to
+ * compare algorithms).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashBenchmark {
+
+    @Param({"10", "100", "500", "5000"})
+    public int components;
+
+    private String content;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        content = SyntheticViews.view(components, 42).toString();
+        bytes = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String calculateHash() {
+        return ResponseUtil.calculateHash(content);
+    }
+
+    @Benchmark
+    public String fingerprintBytes() {
+        return FingerprintService.fingerprint(bytes);
+    }
+}
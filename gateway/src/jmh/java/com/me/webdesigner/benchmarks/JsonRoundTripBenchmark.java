@@ -0,0 +1,57 @@
+package com.me.webdesigner.benchmarks;
+
+import com.inductiveautomation.ignition.common.gson.Gson;
+import com.inductiveautomation.ignition.common.gson.GsonBuilder;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.me.webdesigner.loadtest.SyntheticViews;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View JSON parse and pretty-print, as done when reading and saving views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonRoundTripBenchmark {
+
+    // Same configuration as ProjectHandler
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    @Param({"10", "100", "500", "5000"})
+    public int components;
+
+    private JsonObject view;
+    private String pretty;
+
+    @Setup
+    public void setUp() {
+        view = SyntheticViews.view(components, 42);
+        pretty = gson.toJson(view);
+    }
+
+    @Benchmark
+    public JsonElement parse() {
+        return JsonParser.parseString(pretty);
+    }
+
+    @Benchmark
+    public String prettyPrint() {
+        return gson.toJson(view);
+    }
+
+    @Benchmark
+    public String roundTrip() {
+        return gson.toJson(JsonParser.parseString(pretty));
+    }
+}
@@ -0,0 +1,38 @@
+package com.me.webdesigner.benchmarks;
+
+import com.me.webdesigner.util.PerformanceMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of timing an operation with PerformanceMonitor, single-threaded and under
+ * contention on the same operation's stats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PerformanceMonitorBenchmark {
+
+    @Benchmark
+    public long baselineNanoTime() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public long timerStartStop() {
+        return PerformanceMonitor.start("benchmark").stop();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long timerStartStopContended() {
+        return PerformanceMonitor.start("benchmark").stop();
+    }
+}
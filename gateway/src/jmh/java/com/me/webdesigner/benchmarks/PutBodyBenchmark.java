@@ -0,0 +1,68 @@
+package com.me.webdesigner.benchmarks;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import com.me.webdesigner.loadtest.SyntheticViews;
+import com.me.webdesigner.util.StreamingViewValidator;
+import com.me.webdesigner.util.ViewValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a PUT /view body: the streaming validate-then-parse path used by
+ * ProjectHandler, against reading lines into a String and validating the parsed tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PutBodyBenchmark {
+
+    @Param({"10", "100", "500", "5000"})
+    public int components;
+
+    private String body;
+
+    @Setup
+    public void setUp() {
+        JsonObject request = new JsonObject();
+        request.add("content", SyntheticViews.view(components, 42));
+        body = request.toString();
+    }
+
+    @Benchmark
+    public Object streamingValidateThenParse() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(body));
+        reader.setLenient(true);
+        ViewValidator.ValidationResult result = StreamingViewValidator.validateMember(reader, "content");
+        if (result == null || !result.isValid()) {
+            return result;
+        }
+        return JsonParser.parseString(body);
+    }
+
+    @Benchmark
+    public Object readLinesParseThenValidate() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new StringReader(body))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+        }
+        JsonObject request = JsonParser.parseString(sb.toString()).getAsJsonObject();
+        ViewValidator.ValidationResult result = ViewValidator.validateView(request.getAsJsonObject("content"));
+        return result.isValid() ? request : result;
+    }
+}
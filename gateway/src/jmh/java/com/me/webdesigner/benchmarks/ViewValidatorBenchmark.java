@@ -0,0 +1,53 @@
+package com.me.webdesigner.benchmarks;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import com.me.webdesigner.loadtest.SyntheticViews;
+import com.me.webdesigner.util.StreamingViewValidator;
+import com.me.webdesigner.util.ViewValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View validation: DOM (ViewValidator) and single-pass (StreamingViewValidator).
+ *
+ * Views over 500 components are rejected, so the 5000 case measures how quickly an
+ * oversized view is refused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ViewValidatorBenchmark {
+
+    @Param({"10", "100", "500", "5000"})
+    public int components;
+
+    private JsonObject view;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        view = SyntheticViews.view(components, 42);
+        json = view.toString();
+    }
+
+    @Benchmark
+    public ViewValidator.ValidationResult validateView() {
+        return ViewValidator.validateView(view);
+    }
+
+    @Benchmark
+    public ViewValidator.ValidationResult validateStreaming() throws IOException {
+        return StreamingViewValidator.validateView(new JsonReader(new StringReader(json)));
+    }
+}
@@ -0,0 +1,130 @@
+package com.me.webdesigner.loadtest;
+
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ApiHandler;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.RouteTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mockito.stubbing.Answer;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Just enough Gateway to run the API handlers in-process.
+ *
+ * Provides a GatewayContext whose system manager points at a data directory on disk
+ * (e.g. one written by SyntheticProjectGenerator) and whose tag manager serves a
+ * SyntheticTags provider, plus a RequestContext for the request being handled on the
+ * calling thread. All mocks are stub-only (they don't record invocations), so the
+ * harness can be driven from many threads for as long as needed.
+ *
+ * Handlers are called directly, without the route wrappers, so rate limiting and
+ * response compression are not exercised.
+ *
+ * Usage:
+ * ```java
+ * FakeGateway gateway = new FakeGateway(new File("build/synthetic-gateway"), tags);
+ * RouteTemplate views = RouteTemplate.compile("/api/v1/projects/{project}/views");
+ * FakeResponse res = gateway.call(views, ProjectHandler::handleGetProjectViews,
+ *     FakeRequest.get("/api/v1/projects/Synthetic/views"), false);
+ * ```
+ */
+public final class FakeGateway {
+
+    private final GatewayContext context;
+    private final RequestContext requestContext;
+    private final ThreadLocal<HttpServletRequest> currentRequest = new ThreadLocal<>();
+
+    public FakeGateway(File dataDir, SyntheticTags tags) {
+        // Nested managers are mocked by return type, so the harness doesn't depend on their class names
+        Object systemManager = stub(returnType("getSystemManager"), invocation ->
+            invocation.getMethod().getName().equals("getDataDir") ? dataDir : RETURNS_DEFAULTS.answer(invocation));
+        Object tagManager = stub(returnType("getTagManager"), invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getTagProviders":
+                    return Collections.singletonList(tags.getProvider());
+                case "getTagProvider":
+                    return tags.getProviderName().equals(invocation.getArgument(0)) ? tags.getProvider() : null;
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+
+        this.context = mock(GatewayContext.class, withSettings().stubOnly().defaultAnswer(invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getSystemManager":
+                    return systemManager;
+                case "getTagManager":
+                    return tagManager;
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        }));
+
+        this.requestContext = mock(RequestContext.class, withSettings().stubOnly().defaultAnswer(invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getRequest":
+                    return currentRequest.get();
+                case "getGatewayContext":
+                    return context;
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        }));
+    }
+
+    public GatewayContext getContext() {
+        return context;
+    }
+
+    /**
+     * Call a handler with the path parameters of its route and write its result the way
+     * the route group does.
+     *
+     * @param template The handler's route (see WebDesignerApiRoutes)
+     * @param captureBody Whether to keep the response body (see FakeResponse.body())
+     */
+    public FakeResponse call(RouteTemplate template, ApiHandler handler, FakeRequest request, boolean captureBody)
+            throws Exception {
+        HttpServletRequest servletRequest = request.toServletRequest();
+        FakeResponse response = new FakeResponse(captureBody);
+        HttpServletResponse servletResponse = response.toServletResponse();
+
+        PathParams params = PathParams.acquire();
+        currentRequest.set(servletRequest);
+        try {
+            if (!template.match(servletRequest.getRequestURI(), params)) {
+                throw new IllegalArgumentException(servletRequest.getRequestURI() + " does not match " + template);
+            }
+            Object result = handler.handle(requestContext, servletResponse, params);
+            if (result instanceof JsonElement) {
+                ResponseUtil.writeJson(servletRequest, servletResponse, (JsonElement) result, false);
+            }
+        } finally {
+            currentRequest.remove();
+            PathParams.release(params);
+        }
+        return response;
+    }
+
+    private static Class<?> returnType(String contextMethod) {
+        try {
+            return GatewayContext.class.getMethod(contextMethod).getReturnType();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("GatewayContext." + contextMethod + "() not found", e);
+        }
+    }
+
+    private static Object stub(Class<?> type, Answer<Object> answer) {
+        return mock(type, withSettings().stubOnly().defaultAnswer(answer));
+    }
+}
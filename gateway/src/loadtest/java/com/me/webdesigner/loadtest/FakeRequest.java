@@ -0,0 +1,228 @@
+package com.me.webdesigner.loadtest;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory HttpServletRequest for calling handlers without a servlet container.
+ *
+ * Implemented as a dynamic proxy answering the calls the handlers make (URI, parameters,
+ * headers, body, principal, roles, attributes); anything else returns null, false or 0.
+ * Each request is a cheap plain object, so the load driver can create one per call.
+ *
+ * Usage:
+ * ```java
+ * HttpServletRequest req = FakeRequest.get("/api/v1/projects/P/view").param("path", "Main").toServletRequest();
+ * ```
+ */
+public final class FakeRequest implements InvocationHandler {
+
+    private final String method;
+    private final String uri;
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private byte[] body = new byte[0];
+    private String user = "loadtest";
+    private String remoteAddr = "127.0.0.1";
+    private boolean designer = true;
+
+    private FakeRequest(String method, String uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    public static FakeRequest get(String uri) {
+        return new FakeRequest("GET", uri);
+    }
+
+    public static FakeRequest put(String uri) {
+        return new FakeRequest("PUT", uri);
+    }
+
+    public static FakeRequest post(String uri) {
+        return new FakeRequest("POST", uri);
+    }
+
+    public FakeRequest param(String name, String value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    public FakeRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public FakeRequest body(String content) {
+        this.body = content.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * Authenticated user, or null for an unauthenticated request (default: "loadtest").
+     */
+    public FakeRequest user(String name) {
+        this.user = name;
+        return this;
+    }
+
+    public FakeRequest remoteAddr(String address) {
+        this.remoteAddr = address;
+        return this;
+    }
+
+    /**
+     * Whether the user has the Designer role (default: true).
+     */
+    public FakeRequest designer(boolean hasRole) {
+        this.designer = hasRole;
+        return this;
+    }
+
+    public HttpServletRequest toServletRequest() {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method m, Object[] args) {
+        switch (m.getName()) {
+            case "getMethod":
+                return method;
+            case "getRequestURI":
+                return uri;
+            case "getRequestURL":
+                return new StringBuffer("http://localhost:8088").append(uri);
+            case "getQueryString":
+                return queryString();
+            case "getParameter":
+                return parameters.get((String) args[0]);
+            case "getParameterMap":
+                return parameterMap();
+            case "getParameterNames":
+                return Collections.enumeration(parameters.keySet());
+            case "getHeader":
+                return headers.get((String) args[0]);
+            case "getHeaders":
+                String value = headers.get((String) args[0]);
+                return Collections.enumeration(value == null
+                    ? Collections.<String>emptyList() : Collections.singletonList(value));
+            case "getHeaderNames":
+                return Collections.enumeration(headers.keySet());
+            case "getContentType":
+                return headers.get("Content-Type");
+            case "getContentLength":
+                return body.length;
+            case "getContentLengthLong":
+                return (long) body.length;
+            case "getCharacterEncoding":
+                return "UTF-8";
+            case "getReader":
+                return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+            case "getInputStream":
+                return inputStream();
+            case "getUserPrincipal":
+                return user == null ? null : (Principal) () -> user;
+            case "getRemoteUser":
+                return user;
+            case "isUserInRole":
+                return user != null && designer;
+            case "getRemoteAddr":
+                return remoteAddr;
+            case "getAttribute":
+                return attributes.get((String) args[0]);
+            case "setAttribute":
+                attributes.put((String) args[0], args[1]);
+                return null;
+            case "removeAttribute":
+                attributes.remove((String) args[0]);
+                return null;
+            case "toString":
+                return method + " " + uri;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                return defaultValue(m.getReturnType());
+        }
+    }
+
+    private String queryString() {
+        if (parameters.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            sb.append(sb.length() == 0 ? "" : "&")
+                .append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)).append('=')
+                .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+    private Map<String, String[]> parameterMap() {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        parameters.forEach((name, value) -> map.put(name, new String[] {value}));
+        return map;
+    }
+
+    private ServletInputStream inputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                throw new UnsupportedOperationException("Async I/O is not supported");
+            }
+        };
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
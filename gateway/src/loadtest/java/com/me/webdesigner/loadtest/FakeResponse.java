@@ -0,0 +1,164 @@
+package com.me.webdesigner.loadtest;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory HttpServletResponse for calling handlers without a servlet container.
+ *
+ * Records status and headers and counts body bytes; the body itself is only kept when
+ * requested, so large responses don't cost memory under load.
+ */
+public final class FakeResponse implements InvocationHandler {
+
+    private final boolean captureBody;
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private int status = HttpServletResponse.SC_OK;
+    private long bytesWritten;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    /**
+     * @param captureBody Whether to keep the body for body()
+     */
+    public FakeResponse(boolean captureBody) {
+        this.captureBody = captureBody;
+    }
+
+    public HttpServletResponse toServletResponse() {
+        return (HttpServletResponse) Proxy.newProxyInstance(HttpServletResponse.class.getClassLoader(),
+            new Class<?>[] {HttpServletResponse.class}, this);
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public String header(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    public long bytesWritten() {
+        flush();
+        return bytesWritten;
+    }
+
+    /**
+     * The response body (only if created with captureBody).
+     */
+    public String body() {
+        flush();
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method m, Object[] args) {
+        switch (m.getName()) {
+            case "setStatus":
+            case "sendError":
+                status = (Integer) args[0];
+                return null;
+            case "getStatus":
+                return status;
+            case "setHeader":
+                List<String> values = new ArrayList<>();
+                values.add((String) args[1]);
+                headers.put((String) args[0], values);
+                return null;
+            case "addHeader":
+                headers.computeIfAbsent((String) args[0], k -> new ArrayList<>()).add((String) args[1]);
+                return null;
+            case "getHeader":
+                return header((String) args[0]);
+            case "getHeaders":
+                Collection<String> all = headers.get((String) args[0]);
+                return all == null ? new ArrayList<String>() : new ArrayList<>(all);
+            case "getHeaderNames":
+                return new ArrayList<>(headers.keySet());
+            case "containsHeader":
+                return headers.containsKey((String) args[0]);
+            case "setContentType":
+                headers.put("Content-Type", new ArrayList<>(List.of((String) args[0])));
+                return null;
+            case "getContentType":
+                return header("Content-Type");
+            case "getCharacterEncoding":
+                return "UTF-8";
+            case "getOutputStream":
+                return outputStream();
+            case "getWriter":
+                if (writer == null) {
+                    writer = new PrintWriter(new OutputStreamWriter(outputStream(), StandardCharsets.UTF_8));
+                }
+                return writer;
+            case "flushBuffer":
+                flush();
+                return null;
+            case "isCommitted":
+                return bytesWritten > 0;
+            case "toString":
+                return "FakeResponse " + status;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                return FakeRequest.defaultValue(m.getReturnType());
+        }
+    }
+
+    private void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private ServletOutputStream outputStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    bytesWritten++;
+                    if (captureBody) {
+                        captured.write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    bytesWritten += len;
+                    if (captureBody) {
+                        captured.write(b, off, len);
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    throw new UnsupportedOperationException("Async I/O is not supported");
+                }
+            };
+        }
+        return outputStream;
+    }
+}
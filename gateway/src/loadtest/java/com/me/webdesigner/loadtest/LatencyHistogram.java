@@ -0,0 +1,85 @@
+package com.me.webdesigner.loadtest;
+
+/**
+ * Latency histogram with bounded relative error, for percentiles under load.
+ *
+ * Values are recorded in microseconds into log-linear buckets: exact below 64 microseconds,
+ * then 64 buckets per power of two (under 1.6% error), covering any long in a fixed
+ * 30 KB array. Not thread-safe; each load thread records into its own histogram and
+ * the results are merged.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[SUB_BUCKETS * (64 - SUB_BUCKET_BITS + 1)];
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+
+    void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts[index(micros)]++;
+        count++;
+        totalMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMaxMicros() {
+        return maxMicros;
+    }
+
+    double getMeanMicros() {
+        return count == 0 ? 0 : (double) totalMicros / count;
+    }
+
+    /**
+     * Value at a percentile (0-100), as the upper bound of its bucket (never above the max).
+     */
+    long percentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(maxMicros, upperBound(i));
+            }
+        }
+        return maxMicros;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        // value >>> shift is in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return SUB_BUCKETS * (shift + 1) + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
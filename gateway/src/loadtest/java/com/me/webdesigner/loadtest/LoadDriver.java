@@ -0,0 +1,430 @@
+package com.me.webdesigner.loadtest;
+
+import com.inductiveautomation.ignition.common.gson.Gson;
+import com.inductiveautomation.ignition.common.gson.GsonBuilder;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.me.webdesigner.handlers.ProjectHandler;
+import com.me.webdesigner.handlers.TagHandler;
+import com.me.webdesigner.util.ApiHandler;
+import com.me.webdesigner.util.ProjectResources;
+import com.me.webdesigner.util.RouteTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process HTTP load driver for the API handlers.
+ *
+ * Runs a mixed workload against a project on disk (see SyntheticProjectGenerator) from
+ * several threads, calling the handlers through FakeGateway, and reports throughput and
+ * latency percentiles per operation. Because no Gateway or servlet container is
+ * involved it runs anywhere, including CI; --maxErrorRate and --maxP99Ms turn it into a
+ * gate (exit code 1 when exceeded).
+ *
+ * Operations:
+ * - list   - GET /api/v1/projects/{project}/views
+ * - read   - GET /api/v1/projects/{project}/view?path=...
+ * - save   - GET the view, then PUT it back with If-Match (only the PUT is timed; a 409
+ *            conflict with another thread is counted separately, not as an error)
+ * - browse - GET /api/v1/tags/{provider}?path=... on a synthetic tag provider
+ *
+ * Saves modify the project; regenerate it with --force for comparable runs.
+ *
+ * Run: ./gradlew :gateway:loadTest --args="--threads 16 --duration 60"
+ *
+ * Options (defaults in parentheses):
+ * --dataDir DIR        Gateway data directory holding the project (build/synthetic-gateway)
+ * --project NAME       Project name (Synthetic)
+ * --threads N          Concurrent clients (8)
+ * --duration S         Measured seconds (30)
+ * --warmup S           Unmeasured seconds before that (5)
+ * --mix SPEC           Operation weights (list=5,read=65,save=10,browse=20)
+ * --tagDepth N         Synthetic tag folder levels (3)
+ * --tagFolders N       Subfolders per tag folder (5)
+ * --tagCount N         Tags per tag folder (50)
+ * --tagLatencyMicros N Delay of each tag browse (0)
+ * --seed N             Random seed (42)
+ * --report FILE        Also write the results as JSON
+ * --maxErrorRate F     Fail if more than this fraction of operations fail (e.g. 0.001)
+ * --maxP99Ms N         Fail if any operation's p99 exceeds this many milliseconds
+ */
+public final class LoadDriver {
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    // Same templates as WebDesignerApiRoutes
+    private static final RouteTemplate VIEWS_ROUTE = RouteTemplate.compile("/api/v1/projects/{project}/views");
+    private static final RouteTemplate VIEW_ROUTE = RouteTemplate.compile("/api/v1/projects/{project}/view");
+    private static final RouteTemplate TAG_BROWSE_ROUTE = RouteTemplate.compile("/api/v1/tags/{provider}");
+
+    enum Operation {
+        LIST, READ, SAVE, BROWSE;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Results of one thread, or all threads once merged.
+     */
+    private static final class Results {
+        final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, long[]> errors = new EnumMap<>(Operation.class);
+        final Map<Operation, long[]> conflicts = new EnumMap<>(Operation.class);
+
+        Results() {
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new LatencyHistogram());
+                errors.put(op, new long[1]);
+                conflicts.put(op, new long[1]);
+            }
+        }
+
+        void merge(Results other) {
+            for (Operation op : Operation.values()) {
+                latencies.get(op).merge(other.latencies.get(op));
+                errors.get(op)[0] += other.errors.get(op)[0];
+                conflicts.get(op)[0] += other.conflicts.get(op)[0];
+            }
+        }
+    }
+
+    private final Map<String, String> options;
+    private final String project;
+    private final List<String> views;
+    private final SyntheticTags tags;
+    private final FakeGateway gateway;
+    private final Operation[] weightedOps;
+
+    private LoadDriver(Map<String, String> options) throws IOException {
+        this.options = options;
+        File dataDir = new File(option("dataDir", "build/synthetic-gateway"));
+        this.project = option("project", "Synthetic");
+        this.views = findViews(dataDir, project);
+        this.tags = new SyntheticTags("default", intOption("tagDepth", 3), intOption("tagFolders", 5),
+            intOption("tagCount", 50), intOption("tagLatencyMicros", 0));
+        this.gateway = new FakeGateway(dataDir, tags);
+        this.weightedOps = parseMix(option("mix", "list=5,read=65,save=10,browse=20"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options;
+        LoadDriver driver;
+        try {
+            options = parseArgs(args);
+            driver = new LoadDriver(options);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("See LoadDriver for the list of options.");
+            System.exit(2);
+            return;
+        }
+
+        System.exit(driver.run() ? 0 : 1);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Expand "list=5,read=65,..." into a table of 100 (or total weight) entries for random picks.
+     */
+    private static Operation[] parseMix(String spec) {
+        List<Operation> table = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry (expected op=weight): " + part);
+            }
+            Operation op;
+            try {
+                op = Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + pair[0]);
+            }
+            for (int i = Integer.parseInt(pair[1].trim()); i > 0; i--) {
+                table.add(op);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + spec);
+        }
+        return table.toArray(new Operation[0]);
+    }
+
+    private static List<String> findViews(File dataDir, String project) throws IOException {
+        Path root = ProjectResources.typeRoot(dataDir, project, ProjectResources.Type.VIEW);
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("No views in " + root
+                + " (generate a project first: ./gradlew :gateway:generateSyntheticProject)");
+        }
+        String dataFileName = ProjectResources.Type.VIEW.getDataFile();
+        try (Stream<Path> files = Files.walk(root)) {
+            List<String> views = files
+                .filter(file -> file.getFileName().toString().equals(dataFileName))
+                .map(file -> root.relativize(file.getParent()).toString().replace(File.separatorChar, '/'))
+                .sorted()
+                .collect(Collectors.toList());
+            if (views.isEmpty()) {
+                throw new IllegalArgumentException("No views in " + root);
+            }
+            return views;
+        }
+    }
+
+    private boolean run() throws Exception {
+        int threads = Math.max(1, intOption("threads", 8));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(intOption("warmup", 5));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Math.max(1, intOption("duration", 30)));
+        long seed = Long.parseLong(option("seed", "42"));
+
+        System.out.printf("Load test on '%s' (%d views): %d threads, %d s warmup, %d s measured%n",
+            project, views.size(), threads, TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+            TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        long start = System.nanoTime();
+        long measureStart = start + warmupNanos;
+        long end = measureStart + durationNanos;
+
+        List<Thread> workers = new ArrayList<>();
+        List<Results> perThread = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Results results = new Results();
+            Random random = new Random(seed + i);
+            perThread.add(results);
+            Thread worker = new Thread(() -> work(random, results, measureStart, end), "loadtest-" + (i + 1));
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = durationNanos / 1e9;
+
+        Results total = new Results();
+        perThread.forEach(total::merge);
+
+        JsonObject report = report(total, threads, seconds);
+        print(report);
+
+        String reportFile = options.get("report");
+        if (reportFile != null) {
+            Path file = Paths.get(reportFile);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, gson.toJson(report).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Report written to " + file.toAbsolutePath());
+        }
+
+        return checkThresholds(report);
+    }
+
+    private void work(Random random, Results results, long measureStart, long end) {
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Operation op = weightedOps[random.nextInt(weightedOps.length)];
+            boolean measured = now >= measureStart;
+            try {
+                execute(op, random, measured ? results : null);
+            } catch (Exception e) {
+                if (measured) {
+                    results.errors.get(op)[0]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Run one operation, recording it into results (null during warmup).
+     */
+    private void execute(Operation op, Random random, Results results) throws Exception {
+        String view = views.get(random.nextInt(views.size()));
+        String viewUri = "/api/v1/projects/" + project + "/view";
+
+        switch (op) {
+            case LIST:
+                timed(op, results, VIEWS_ROUTE, ProjectHandler::handleGetProjectViews,
+                    FakeRequest.get("/api/v1/projects/" + project + "/views"));
+                break;
+
+            case READ:
+                timed(op, results, VIEW_ROUTE, ProjectHandler::handleGetView, FakeRequest.get(viewUri).param("path", view));
+                break;
+
+            case SAVE:
+                FakeResponse current = gateway.call(VIEW_ROUTE, ProjectHandler::handleGetView,
+                    FakeRequest.get(viewUri).param("path", view), true);
+                if (current.status() != 200) {
+                    record(op, results, 0, current.status());
+                    break;
+                }
+                JsonObject content = JsonParser.parseString(current.body()).getAsJsonObject()
+                    .getAsJsonObject("content");
+                JsonObject custom = content.has("custom") && content.get("custom").isJsonObject()
+                    ? content.getAsJsonObject("custom") : new JsonObject();
+                custom.addProperty("loadtestRevision", random.nextInt());
+                content.add("custom", custom);
+                JsonObject body = new JsonObject();
+                body.add("content", content);
+
+                timed(op, results, VIEW_ROUTE, ProjectHandler::handlePutView, FakeRequest.put(viewUri)
+                    .param("path", view)
+                    .header("If-Match", current.header("ETag"))
+                    .header("Content-Type", "application/json")
+                    .body(body.toString()));
+                break;
+
+            case BROWSE:
+                timed(op, results, TAG_BROWSE_ROUTE, TagHandler::handleBrowseTags,
+                    FakeRequest.get("/api/v1/tags/" + tags.getProviderName()).param("path", tags.randomFolder(random)));
+                break;
+
+            default:
+                throw new IllegalStateException("Unknown operation: " + op);
+        }
+    }
+
+    private void timed(Operation op, Results results, RouteTemplate route, ApiHandler handler, FakeRequest request)
+            throws Exception {
+        long start = System.nanoTime();
+        FakeResponse response = gateway.call(route, handler, request, false);
+        record(op, results, System.nanoTime() - start, response.status());
+    }
+
+    private static void record(Operation op, Results results, long nanos, int status) {
+        if (results == null) {
+            return;
+        }
+        if (status == 409 && op == Operation.SAVE) {
+            results.conflicts.get(op)[0]++;
+        } else if (status < 200 || status >= 300) {
+            results.errors.get(op)[0]++;
+        } else {
+            results.latencies.get(op).recordNanos(nanos);
+        }
+    }
+
+    private static JsonObject report(Results total, int threads, double seconds) {
+        JsonObject report = new JsonObject();
+        report.addProperty("threads", threads);
+        report.addProperty("durationSeconds", seconds);
+
+        long allOps = 0;
+        long allErrors = 0;
+        JsonObject operations = new JsonObject();
+        for (Operation op : Operation.values()) {
+            LatencyHistogram latency = total.latencies.get(op);
+            long errors = total.errors.get(op)[0];
+            long conflicts = total.conflicts.get(op)[0];
+            long ops = latency.getCount() + errors + conflicts;
+            if (ops == 0) {
+                continue;
+            }
+            allOps += ops;
+            allErrors += errors;
+
+            JsonObject stats = new JsonObject();
+            stats.addProperty("ops", ops);
+            stats.addProperty("opsPerSecond", ops / seconds);
+            stats.addProperty("errors", errors);
+            stats.addProperty("conflicts", conflicts);
+            stats.addProperty("meanMs", latency.getMeanMicros() / 1000.0);
+            for (double percentile : PERCENTILES) {
+                stats.addProperty(percentileName(percentile) + "Ms", latency.percentileMicros(percentile) / 1000.0);
+            }
+            stats.addProperty("maxMs", latency.getMaxMicros() / 1000.0);
+            operations.add(op.label(), stats);
+        }
+
+        report.addProperty("ops", allOps);
+        report.addProperty("opsPerSecond", allOps / seconds);
+        report.addProperty("errors", allErrors);
+        report.addProperty("errorRate", allOps == 0 ? 0 : (double) allErrors / allOps);
+        report.add("operations", operations);
+        return report;
+    }
+
+    private static String percentileName(double percentile) {
+        return "p" + (percentile == Math.rint(percentile)
+            ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", ""));
+    }
+
+    private static void print(JsonObject report) {
+        System.out.printf("%n%-8s %9s %9s %9s %9s %9s %9s %9s %8s %9s%n", "op", "ops", "ops/s",
+            "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "conflicts");
+        JsonObject operations = report.getAsJsonObject("operations");
+        for (String op : operations.keySet()) {
+            JsonObject stats = operations.getAsJsonObject(op);
+            System.out.printf("%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d %9d%n", op,
+                stats.get("ops").getAsLong(), stats.get("opsPerSecond").getAsDouble(),
+                stats.get("p50Ms").getAsDouble(), stats.get("p90Ms").getAsDouble(),
+                stats.get("p99Ms").getAsDouble(), stats.get("p999Ms").getAsDouble(),
+                stats.get("maxMs").getAsDouble(), stats.get("errors").getAsLong(),
+                stats.get("conflicts").getAsLong());
+        }
+        System.out.printf("%-8s %9d %9.1f%n%n", "total", report.get("ops").getAsLong(),
+            report.get("opsPerSecond").getAsDouble());
+    }
+
+    private boolean checkThresholds(JsonObject report) {
+        boolean passed = true;
+
+        String maxErrorRate = options.get("maxErrorRate");
+        double errorRate = report.get("errorRate").getAsDouble();
+        if (maxErrorRate != null && errorRate > Double.parseDouble(maxErrorRate)) {
+            System.err.printf("FAILED: error rate %.4f exceeds %s%n", errorRate, maxErrorRate);
+            passed = false;
+        }
+
+        String maxP99Ms = options.get("maxP99Ms");
+        if (maxP99Ms != null) {
+            JsonObject operations = report.getAsJsonObject("operations");
+            for (String op : operations.keySet()) {
+                double p99 = operations.getAsJsonObject(op).get("p99Ms").getAsDouble();
+                if (p99 > Double.parseDouble(maxP99Ms)) {
+                    System.err.printf("FAILED: %s p99 %.2f ms exceeds %s ms%n", op, p99, maxP99Ms);
+                    passed = false;
+                }
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,271 @@
+package com.me.webdesigner.loadtest;
+
+import com.inductiveautomation.ignition.common.gson.Gson;
+import com.inductiveautomation.ignition.common.gson.GsonBuilder;
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.me.webdesigner.util.ProjectResources;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Writes a synthetic Ignition project for load and scale testing without a Gateway.
+ *
+ * The project is laid out as the handlers expect it (see ProjectResources):
+ * {dataDir}/projects/{project}/project.json plus views, scripts and named queries, each
+ * in its own folder with resource.json, spread over a folder tree of the given depth and
+ * fan-out. Output is fully determined by the options, including the seed.
+ *
+ * Run: ./gradlew :gateway:generateSyntheticProject --args="--views 10000 --queries 2000"
+ *
+ * Options (defaults in parentheses):
+ * --dataDir DIR        Gateway data directory to write to (build/synthetic-gateway)
+ * --project NAME       Project name (Synthetic)
+ * --views N            Number of views (1000)
+ * --scripts N          Number of script modules (200)
+ * --queries N          Number of named queries (500)
+ * --depth N            Folder levels above each resource (3)
+ * --fanout N           Folders per level (6)
+ * --minComponents N    Smallest view, in components (5)
+ * --maxComponents N    Largest view, in components (200); sizes are skewed towards small views
+ * --mix SPEC           Component category weights (container=25,display=35,input=30,chart=10)
+ * --scriptLines N      Largest code.py, in lines (3000)
+ * --seed N             Random seed (42)
+ * --force              Replace the project if it already exists
+ */
+public final class SyntheticProjectGenerator {
+
+    // Same output format as ProjectHandler
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    // Fixed so regenerated projects are byte-identical
+    private static final String TIMESTAMP = "2025-01-01T00:00:00Z";
+
+    private static final String[] FOLDER_NAMES = {"Area", "Line", "Cell", "Station", "Unit", "Group"};
+    private static final String[] TABLES = {"production", "downtime", "quality", "batches", "alarms", "inventory"};
+
+    private final Map<String, String> options;
+    private final Random random;
+
+    private long filesWritten;
+    private long bytesWritten;
+
+    private SyntheticProjectGenerator(Map<String, String> options) {
+        this.options = options;
+        this.random = new Random(Long.parseLong(option("seed", "42")));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options;
+        try {
+            options = parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("See SyntheticProjectGenerator for the list of options.");
+            System.exit(2);
+            return;
+        }
+
+        new SyntheticProjectGenerator(options).generate();
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (name.equals("force")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+        }
+        return options;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, String.valueOf(defaultValue)));
+    }
+
+    private void generate() throws IOException {
+        long start = System.currentTimeMillis();
+
+        File dataDir = new File(option("dataDir", "build/synthetic-gateway"));
+        String projectName = option("project", "Synthetic");
+        int views = intOption("views", 1000);
+        int scripts = intOption("scripts", 200);
+        int queries = intOption("queries", 500);
+        int depth = intOption("depth", 3);
+        int fanout = Math.max(1, intOption("fanout", 6));
+        int minComponents = Math.max(1, intOption("minComponents", 5));
+        int maxComponents = Math.max(minComponents, intOption("maxComponents", 200));
+        int scriptLines = Math.max(10, intOption("scriptLines", 3000));
+        SyntheticViews.Mix mix = SyntheticViews.Mix.parse(option("mix", SyntheticViews.Mix.DEFAULT.toString()));
+
+        Path projectDir = ProjectResources.projectDir(dataDir, projectName);
+        if (Files.exists(projectDir)) {
+            if (!Boolean.parseBoolean(option("force", "false"))) {
+                System.err.println("Project already exists (use --force to replace): " + projectDir);
+                System.exit(1);
+            }
+            deleteRecursively(projectDir);
+        }
+
+        writeProjectJson(projectDir, projectName);
+
+        List<String> folders = folders(depth, fanout);
+
+        long components = 0;
+        for (int i = 0; i < views; i++) {
+            String path = folders.get(random.nextInt(folders.size())) + "View_" + pad(i);
+            // Square of a uniform value: most views small, a few near the maximum
+            double size = random.nextDouble();
+            int count = minComponents + (int) ((maxComponents - minComponents) * size * size);
+            components += count;
+
+            JsonObject view = SyntheticViews.view(count, random, mix);
+            writeResource(dataDir, projectName, ProjectResources.Type.VIEW, path, gson.toJson(view));
+        }
+
+        for (int i = 0; i < scripts; i++) {
+            String path = folders.get(random.nextInt(folders.size())).replace("Area", "lib") + "module_" + pad(i);
+            writeResource(dataDir, projectName, ProjectResources.Type.SCRIPT, path, script(i, scriptLines));
+        }
+
+        for (int i = 0; i < queries; i++) {
+            String path = folders.get(random.nextInt(folders.size())) + "Query_" + pad(i);
+            writeResource(dataDir, projectName, ProjectResources.Type.QUERY, path, query(i));
+        }
+
+        System.out.printf("Generated project '%s' in %s: %d views (%d components, mix %s), %d scripts, "
+                + "%d queries, %d files, %.1f MB in %d ms%n",
+            projectName, dataDir.getAbsolutePath(), views, components, mix, scripts, queries,
+            filesWritten, bytesWritten / (1024.0 * 1024.0), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Folder prefixes (ending in "/") for every leaf of a depth x fanout tree, or "" for depth 0.
+     */
+    private static List<String> folders(int depth, int fanout) {
+        List<String> folders = new ArrayList<>();
+        folders.add("");
+        for (int level = 0; level < depth; level++) {
+            String name = FOLDER_NAMES[Math.min(level, FOLDER_NAMES.length - 1)];
+            List<String> next = new ArrayList<>(folders.size() * fanout);
+            for (String parent : folders) {
+                for (int i = 1; i <= fanout; i++) {
+                    next.add(parent + name + String.format("%02d", i) + "/");
+                }
+            }
+            folders = next;
+        }
+        return folders;
+    }
+
+    private String script(int index, int maxLines) {
+        int lines = 20 + random.nextInt(maxLines - 19);
+        StringBuilder sb = new StringBuilder(lines * 40);
+        sb.append("# Synthetic script module ").append(index).append('\n');
+        sb.append("import system\n\n");
+        int written = 3;
+        for (int function = 0; written < lines; function++) {
+            String table = TABLES[random.nextInt(TABLES.length)];
+            sb.append("def get_").append(table).append('_').append(function).append("(area, limit=100):\n");
+            sb.append("    \"\"\"Return recent ").append(table).append(" rows for an area.\"\"\"\n");
+            sb.append("    params = {'area': area, 'limit': limit}\n");
+            sb.append("    rows = system.db.runNamedQuery('Query_").append(pad(random.nextInt(1000)))
+                .append("', params)\n");
+            sb.append("    result = []\n");
+            sb.append("    for row in rows:\n");
+            sb.append("        if row['value'] > ").append(random.nextInt(500)).append(":\n");
+            sb.append("            result.append(row)\n");
+            sb.append("    return result\n\n");
+            written += 10;
+        }
+        return sb.toString();
+    }
+
+    private String query(int index) {
+        String table = TABLES[random.nextInt(TABLES.length)];
+        return "type=Query\n"
+            + "database=Production\n"
+            + "cacheEnabled=" + random.nextBoolean() + "\n"
+            + "query=SELECT t_stamp, area, value FROM " + table + " WHERE area = :area"
+            + " AND t_stamp > DATEADD(hour, -" + (1 + random.nextInt(48)) + ", GETDATE())"
+            + " ORDER BY t_stamp DESC LIMIT :limit\n"
+            + "parameters=area:String,limit:Int4\n"
+            + "description=Synthetic query " + index + "\n";
+    }
+
+    private void writeProjectJson(Path projectDir, String projectName) throws IOException {
+        JsonObject project = new JsonObject();
+        project.addProperty("title", projectName);
+        project.addProperty("description", "Synthetic project for load testing");
+        project.addProperty("parent", "");
+        project.addProperty("enabled", true);
+        project.addProperty("inheritable", false);
+        write(projectDir.resolve("project.json"), gson.toJson(project));
+    }
+
+    private void writeResource(File dataDir, String projectName, ProjectResources.Type type, String path,
+                               String content) throws IOException {
+        Path dataFile = ProjectResources.dataFile(dataDir, projectName, type, path);
+        write(dataFile, content);
+
+        JsonObject resource = new JsonObject();
+        resource.addProperty("scope", "G");
+        resource.addProperty("version", 1);
+        resource.addProperty("restricted", false);
+        resource.addProperty("overridable", true);
+        JsonArray files = new JsonArray();
+        files.add(type.getDataFile());
+        resource.add("files", files);
+        JsonObject lastModification = new JsonObject();
+        lastModification.addProperty("actor", "generator");
+        lastModification.addProperty("timestamp", TIMESTAMP);
+        JsonObject attributes = new JsonObject();
+        attributes.add("lastModification", lastModification);
+        resource.add("attributes", attributes);
+        write(dataFile.getParent().resolve("resource.json"), gson.toJson(resource));
+    }
+
+    private void write(Path file, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+        filesWritten++;
+        bytesWritten += bytes.length;
+    }
+
+    private static String pad(int index) {
+        return String.format("%05d", index);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            List<Path> all = new ArrayList<>();
+            paths.forEach(all::add);
+            for (int i = all.size() - 1; i >= 0; i--) {
+                Files.delete(all.get(i));
+            }
+        }
+    }
+}
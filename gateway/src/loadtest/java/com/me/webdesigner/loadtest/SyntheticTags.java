@@ -0,0 +1,150 @@
+package com.me.webdesigner.loadtest;
+
+import com.inductiveautomation.ignition.common.tags.config.TagConfigurationModel;
+import com.inductiveautomation.ignition.common.tags.config.types.TagObjectType;
+import com.inductiveautomation.ignition.common.tags.model.TagPath;
+import com.inductiveautomation.ignition.common.tags.model.TagProvider;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Synthetic tag provider for browsing without a Gateway.
+ *
+ * Every folder down to the given depth holds the same number of subfolders
+ * ("Folder_01", ...) and atomic tags ("Tag_001", ...); the deepest folders hold only
+ * tags. Browse results are built on first use and shared afterwards, and can be
+ * delayed to simulate a slow or remote provider.
+ */
+public final class SyntheticTags {
+
+    private final String providerName;
+    private final int depth;
+    private final int folders;
+    private final int tags;
+    private final long latencyMicros;
+    private final TagProvider provider;
+
+    // Folder path ("" for the root) -> browse result
+    private final Map<String, List<TagConfigurationModel>> browseResults = new ConcurrentHashMap<>();
+
+    /**
+     * @param providerName  Provider name (e.g. "default")
+     * @param depth         Folder levels below the root
+     * @param folders       Subfolders per folder
+     * @param tags          Tags per folder
+     * @param latencyMicros Delay before each browse completes (0 for none)
+     */
+    public SyntheticTags(String providerName, int depth, int folders, int tags, long latencyMicros) {
+        this.providerName = providerName;
+        this.depth = depth;
+        this.folders = folders;
+        this.tags = tags;
+        this.latencyMicros = latencyMicros;
+        this.provider = mock(TagProvider.class, withSettings().stubOnly().defaultAnswer(providerAnswer()));
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public TagProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * A random folder path to browse ("" for the root, otherwise "Folder_02/Folder_05").
+     */
+    public String randomFolder(Random random) {
+        int level = random.nextInt(depth + 1);
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < level; i++) {
+            if (i > 0) {
+                path.append('/');
+            }
+            path.append(folderName(1 + random.nextInt(folders)));
+        }
+        return path.toString();
+    }
+
+    private Answer<Object> providerAnswer() {
+        return invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getName":
+                    return providerName;
+                case "getTagConfigsAsync":
+                    List<?> paths = invocation.getArgument(0);
+                    List<TagConfigurationModel> result = new ArrayList<>(paths.size());
+                    for (Object path : paths) {
+                        result.add(node(folderOf((TagPath) path)));
+                    }
+                    if (latencyMicros <= 0) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    return CompletableFuture.supplyAsync(() -> result,
+                        CompletableFuture.delayedExecutor(latencyMicros, TimeUnit.MICROSECONDS));
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        };
+    }
+
+    /**
+     * Folder path of a tag path, without the provider ("[default]A/B" -> "A/B").
+     */
+    private static String folderOf(TagPath path) {
+        String full = path.toString();
+        int end = full.startsWith("[") ? full.indexOf(']') : -1;
+        String folder = end >= 0 ? full.substring(end + 1) : full;
+        return folder.startsWith("/") ? folder.substring(1) : folder;
+    }
+
+    private TagConfigurationModel node(String folder) {
+        String name = folder.isEmpty() ? "" : folder.substring(folder.lastIndexOf('/') + 1);
+        return model(name, TagObjectType.Folder, browseResults.computeIfAbsent(folder, this::children));
+    }
+
+    private List<TagConfigurationModel> children(String folder) {
+        int level = folder.isEmpty() ? 0 : folder.split("/").length;
+        List<TagConfigurationModel> children = new ArrayList<>();
+        if (level < depth) {
+            for (int i = 1; i <= folders; i++) {
+                children.add(model(folderName(i), TagObjectType.Folder, Collections.emptyList()));
+            }
+        }
+        for (int i = 1; i <= tags; i++) {
+            children.add(model(String.format("Tag_%03d", i), TagObjectType.AtomicTag, Collections.emptyList()));
+        }
+        return Collections.unmodifiableList(children);
+    }
+
+    private static String folderName(int index) {
+        return String.format("Folder_%02d", index);
+    }
+
+    private static TagConfigurationModel model(String name, TagObjectType type, List<TagConfigurationModel> children) {
+        return mock(TagConfigurationModel.class, withSettings().stubOnly().defaultAnswer(invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getName":
+                    return name;
+                case "getType":
+                    return type;
+                case "getChildren":
+                    return children;
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        }));
+    }
+}
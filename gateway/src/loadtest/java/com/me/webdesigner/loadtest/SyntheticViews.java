@@ -0,0 +1,181 @@
+package com.me.webdesigner.loadtest;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.me.webdesigner.util.ComponentRegistry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic Perspective views for benchmarks and load tests.
+ *
+ * Views are a tree of containers holding up to 8 children each. Component types are
+ * drawn from the ComponentRegistry categories according to a Mix (by default about a
+ * quarter containers, the rest displays, inputs and charts), with typical meta, position
+ * and props, so sizes and shapes resemble views saved by the Designer.
+ *
+ * Usage:
+ * ```java
+ * JsonObject view = SyntheticViews.view(500, 42);
+ * JsonObject mixed = SyntheticViews.view(500, random, SyntheticViews.Mix.parse("container=10,chart=90"));
+ * ```
+ */
+public final class SyntheticViews {
+
+    private static final String CONTAINER = "container";
+    private static final int CHILDREN_PER_CONTAINER = 8;
+
+    // Private constructor - utility class
+    private SyntheticViews() {}
+
+    /**
+     * Weighted component categories, e.g. "container=25,display=35,input=30,chart=10".
+     * Category names are those of the component schema.
+     */
+    public static final class Mix {
+        public static final Mix DEFAULT = parse("container=25,display=35,input=30,chart=10");
+
+        private final List<String> categories = new ArrayList<>();
+        private final List<List<String>> types = new ArrayList<>();
+        private final List<Integer> cumulativeWeights = new ArrayList<>();
+        private int totalWeight;
+
+        private Mix() {}
+
+        public static Mix parse(String spec) {
+            Mix mix = new Mix();
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Invalid mix entry (expected category=weight): " + part);
+                }
+                String category = pair[0].trim();
+                int weight = Integer.parseInt(pair[1].trim());
+                List<String> categoryTypes = ComponentRegistry.getTypes(category);
+                if (categoryTypes.isEmpty()) {
+                    throw new IllegalArgumentException("Unknown component category: " + category);
+                }
+                if (weight <= 0) {
+                    continue;
+                }
+                mix.totalWeight += weight;
+                mix.categories.add(category);
+                mix.types.add(categoryTypes);
+                mix.cumulativeWeights.add(mix.totalWeight);
+            }
+            if (mix.totalWeight == 0) {
+                throw new IllegalArgumentException("Component mix has no positive weights: " + spec);
+            }
+            return mix;
+        }
+
+        int pick(Random random) {
+            int value = random.nextInt(totalWeight);
+            for (int i = 0; i < cumulativeWeights.size(); i++) {
+                if (value < cumulativeWeights.get(i)) {
+                    return i;
+                }
+            }
+            return cumulativeWeights.size() - 1;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            int previous = 0;
+            for (int i = 0; i < categories.size(); i++) {
+                sb.append(i == 0 ? "" : ",").append(categories.get(i)).append('=')
+                    .append(cumulativeWeights.get(i) - previous);
+                previous = cumulativeWeights.get(i);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Build a view with exactly {@code components} components (including the root),
+     * using the default mix.
+     */
+    public static JsonObject view(int components, long seed) {
+        return view(components, new Random(seed), Mix.DEFAULT);
+    }
+
+    /**
+     * Build a view with exactly {@code components} components (including the root).
+     */
+    public static JsonObject view(int components, Random random, Mix mix) {
+        JsonObject root = component("ia.container.flex", "root", random);
+        root.add("children", new JsonArray());
+
+        Deque<JsonObject> containers = new ArrayDeque<>();
+        containers.add(root);
+        int created = 1;
+
+        while (created < components) {
+            JsonObject parent = containers.poll();
+            if (parent == null) {
+                break;
+            }
+            JsonArray children = parent.getAsJsonArray("children");
+            for (int i = 0; i < CHILDREN_PER_CONTAINER && created < components; i++, created++) {
+                int category = mix.pick(random);
+                List<String> categoryTypes = mix.types.get(category);
+                String type = categoryTypes.get(random.nextInt(categoryTypes.size()));
+                JsonObject child = component(type, "Component_" + created, random);
+                if (mix.categories.get(category).equals(CONTAINER)) {
+                    child.add("children", new JsonArray());
+                    containers.add(child);
+                }
+                children.add(child);
+            }
+            // Keep the tree growing if no container was drawn
+            if (containers.isEmpty() && created < components) {
+                JsonObject next = component("ia.container.flex", "Component_" + created++, random);
+                next.add("children", new JsonArray());
+                children.add(next);
+                containers.add(next);
+            }
+        }
+
+        JsonObject view = new JsonObject();
+        view.add("custom", new JsonObject());
+        view.add("params", new JsonObject());
+        JsonObject props = new JsonObject();
+        JsonObject defaultSize = new JsonObject();
+        defaultSize.addProperty("width", 1280);
+        defaultSize.addProperty("height", 800);
+        props.add("defaultSize", defaultSize);
+        view.add("props", props);
+        view.add("root", root);
+        return view;
+    }
+
+    private static JsonObject component(String type, String name, Random random) {
+        JsonObject component = new JsonObject();
+        component.addProperty("type", type);
+
+        JsonObject meta = new JsonObject();
+        meta.addProperty("name", name);
+        component.add("meta", meta);
+
+        JsonObject position = new JsonObject();
+        position.addProperty("basis", random.nextInt(400) + "px");
+        position.addProperty("shrink", 0);
+        component.add("position", position);
+
+        JsonObject props = new JsonObject();
+        JsonObject style = new JsonObject();
+        style.addProperty("classes", "theme/card");
+        style.addProperty("margin", random.nextInt(16) + "px");
+        props.add("style", style);
+        if (type.equals("ia.display.label") || type.equals("ia.input.button")) {
+            props.addProperty("text", "Text " + random.nextInt(10_000));
+        }
+        component.add("props", props);
+        return component;
+    }
+}
@@ -8,14 +8,20 @@ import com.inductiveautomation.ignition.gateway.model.GatewayContext;
 import com.inductiveautomation.ignition.gateway.web.systemjs.SystemJsModule;
 import com.inductiveautomation.perspective.gateway.api.SessionScope;
 import com.inductiveautomation.perspective.gateway.comm.Routes;
+import com.me.webdesigner.handlers.AssetHandler;
+import com.me.webdesigner.handlers.BatchHandler;
+import com.me.webdesigner.handlers.ExportHandler;
+import com.me.webdesigner.handlers.ImportHandler;
+import com.me.webdesigner.handlers.LintHandler;
+import com.me.webdesigner.util.AuditLog;
+import com.me.webdesigner.util.HandlerExecutor;
+import com.me.webdesigner.util.SnapshotStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.EnumSet;
 import java.util.Optional;
 
-import jakarta.servlet.http.HttpServletResponse;
-
 /**
  * Gateway Hook for Web-Based Perspective Designer Module
  *
@@ -25,6 +31,9 @@ import jakarta.servlet.http.HttpServletResponse;
  * It integrates into the Gateway home page as a launcher (like Designer/Perspective/Vision).
  * Also provides a standalone full-screen mode at /data/webdesigner/standalone
  *
+ * The HTML shell is generated once at startup and loads content-hashed, precompressed
+ * bundles with immutable caching (see AssetHandler).
+ *
  * REST API endpoints:
  * - Browsing projects and views
  * - Reading and writing view.json files
@@ -48,10 +57,13 @@ public class GatewayHook extends AbstractGatewayModuleHook {
     public void setup(GatewayContext context) {
         this.gatewayContext = context;
 
+        // Audit records are appended under the Gateway data directory
+        AuditLog.start(context.getSystemManager().getDataDir());
+
         // Create SystemJS module for the WebDesigner React component
         SystemJsModule jsModule = new SystemJsModule(
             "com.me.webdesigner.WebDesigner",
-            "/res/webdesigner/webdesigner.js"
+            AssetHandler.url("webdesigner.js")
         );
 
         // Add Web Designer launcher to Gateway home page
@@ -87,6 +99,22 @@ public class GatewayHook extends AbstractGatewayModuleHook {
     @Override
     public void shutdown() {
         logger.info("Web Designer module shutting down...");
+
+        // Release snapshot pack files
+        SnapshotStore.closeAll();
+
+        // Stop worker pools
+        HandlerExecutor.shutdown();
+        ExportHandler.shutdown();
+        ImportHandler.shutdown();
+        BatchHandler.shutdown();
+        LintHandler.shutdown();
+
+        // Flush pending audit records
+        AuditLog.shutdown();
+
+        // Write buffered log lines
+        com.me.webdesigner.util.Logger.shutdown();
     }
 
     /**
@@ -107,7 +135,7 @@ public class GatewayHook extends AbstractGatewayModuleHook {
         logger.info("Mounting root route at /data/webdesigner/");
         routes.newRoute("/")
             .type(RouteGroup.TYPE_JSON)  // TYPE_JSON required even for HTML responses
-            .handler(GatewayHook::handleRoot)
+            .handler(AssetHandler.shell("Web Designer - Perspective View Editor"))
             .accessControl(AccessControlStrategy.OPEN_ROUTE)
             .mount();
 
@@ -115,13 +143,21 @@ public class GatewayHook extends AbstractGatewayModuleHook {
         logger.info("Mounting standalone route at /data/webdesigner/standalone");
         routes.newRoute("/standalone")
             .type(RouteGroup.TYPE_JSON)  // TYPE_JSON required even for HTML responses
-            .handler(GatewayHook::handleStandalone)
+            .handler(AssetHandler.shell("Web Designer - Full Screen"))
+            .accessControl(AccessControlStrategy.OPEN_ROUTE)
+            .mount();
+
+        // Mount fingerprinted frontend bundles, cached by browsers until the next release
+        routes.newRoute("/assets/*")
+            .type(RouteGroup.TYPE_JSON)
+            .handler(AssetHandler::handleAsset)
             .accessControl(AccessControlStrategy.OPEN_ROUTE)
             .mount();
 
         logger.info("Web Designer route handlers mounted:");
         logger.info("  - API: /data/webdesigner/api/v1/*");
         logger.info("  - Standalone: /data/webdesigner/standalone (full-screen mode)");
+        logger.info("  - Assets: /data/webdesigner/assets/* (immutable)");
     }
 
     /**
@@ -157,64 +193,4 @@ public class GatewayHook extends AbstractGatewayModuleHook {
     public boolean isFreeModule() {
         return true;
     }
-
-    /**
-     * Handler for root route "/" - serves the main React app HTML page.
-     */
-    private static Object handleRoot(com.inductiveautomation.ignition.gateway.dataroutes.RequestContext req,
-                                      HttpServletResponse res) throws Exception {
-        String html = "<!DOCTYPE html>" +
-                      "<html lang=\"en\">" +
-                      "<head>" +
-                      "<meta charset=\"UTF-8\">" +
-                      "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                      "<title>Web Designer - Perspective View Editor</title>" +
-                      "<style>" +
-                      "body { margin: 0; padding: 0; font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', 'Roboto', sans-serif; background: #1e1e1e; color: #cccccc; overflow: hidden; }" +
-                      "#root { width: 100vw; height: 100vh; }" +
-                      "</style>" +
-                      "</head>" +
-                      "<body>" +
-                      "<div id=\"root\"></div>" +
-                      "<script src=\"/res/webdesigner/standalone.js\"></script>" +
-                      "</body>" +
-                      "</html>";
-
-        res.setContentType("text/html");
-        res.setStatus(HttpServletResponse.SC_OK);
-        res.getWriter().write(html);
-        res.getWriter().flush();
-
-        return null;
-    }
-
-    /**
-     * Handler for /standalone route - serves the full-screen React app HTML page.
-     */
-    private static Object handleStandalone(com.inductiveautomation.ignition.gateway.dataroutes.RequestContext req,
-                                            HttpServletResponse res) throws Exception {
-        String html = "<!DOCTYPE html>" +
-                      "<html lang=\"en\">" +
-                      "<head>" +
-                      "<meta charset=\"UTF-8\">" +
-                      "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                      "<title>Web Designer - Full Screen</title>" +
-                      "<style>" +
-                      "body { margin: 0; padding: 0; font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', 'Roboto', sans-serif; background: #1e1e1e; color: #cccccc; overflow: hidden; }" +
-                      "#root { width: 100vw; height: 100vh; }" +
-                      "</style>" +
-                      "</head>" +
-                      "<body>" +
-                      "<div id=\"root\"></div>" +
-                      "<script src=\"/res/webdesigner/standalone.js\"></script>" +
-                      "</body>" +
-                      "</html>";
-
-        res.setContentType("text/html");
-        res.setStatus(HttpServletResponse.SC_OK);
-        res.getWriter().write(html);
-        res.getWriter().flush();
-
-        return null;
-    }
 }
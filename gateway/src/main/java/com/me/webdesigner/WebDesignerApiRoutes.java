@@ -1,21 +1,47 @@
 package com.me.webdesigner;
 
+import com.inductiveautomation.ignition.common.gson.JsonElement;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
 import com.inductiveautomation.ignition.gateway.dataroutes.AccessControlStrategy;
+import com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod;
 import com.inductiveautomation.ignition.gateway.dataroutes.RouteGroup;
+import com.inductiveautomation.ignition.gateway.dataroutes.RouteHandler;
 import com.inductiveautomation.perspective.gateway.api.SessionScope;
 import com.inductiveautomation.perspective.gateway.comm.Routes;
+import com.me.webdesigner.handlers.AssetHandler;
+import com.me.webdesigner.handlers.BatchHandler;
 import com.me.webdesigner.handlers.ComponentHandler;
+import com.me.webdesigner.handlers.ExportHandler;
+import com.me.webdesigner.handlers.HistoryHandler;
+import com.me.webdesigner.handlers.ImportHandler;
+import com.me.webdesigner.handlers.LintHandler;
 import com.me.webdesigner.handlers.ProjectHandler;
 import com.me.webdesigner.handlers.QueryHandler;
 import com.me.webdesigner.handlers.ScriptHandler;
 import com.me.webdesigner.handlers.TagHandler;
+import com.me.webdesigner.util.ApiHandler;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.HandlerExecutor;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.RateLimiter;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.RouteTemplate;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 
+import static com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod.GET;
+import static com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod.POST;
 import static com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod.PUT;
+import static com.me.webdesigner.util.RateLimiter.Budget.READ;
+import static com.me.webdesigner.util.RateLimiter.Budget.SCAN;
+import static com.me.webdesigner.util.RateLimiter.Budget.STREAM;
+import static com.me.webdesigner.util.RateLimiter.Budget.TAGS;
+import static com.me.webdesigner.util.RateLimiter.Budget.WRITE;
 
 /**
  * REST API Routes for Web Designer Module
@@ -36,6 +62,8 @@ import static com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod.PUT
  * - GET /api/v1/projects/{name}/views - List Perspective views (with authorization)
  * - GET /api/v1/projects/{name}/view?path=... - Get view.json content (with ETag)
  * - PUT /api/v1/projects/{name}/view?path=... - Save view.json (with optimistic concurrency)
+ * - GET /api/v1/projects/{name}/view/revisions?path=... - List saved revisions of a view
+ * - GET /api/v1/projects/{name}/view/revision?path=...&rev=N - Get a view as of revision N
  * - GET /api/v1/tags - List tag providers
  * - GET /api/v1/tags/{provider}?path=... - Browse tags
  * - GET /api/v1/perspective/components - Get component catalog
@@ -45,15 +73,37 @@ import static com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod.PUT
  * - GET /api/v1/projects/{name}/queries - List all named queries
  * - GET /api/v1/projects/{name}/query?path=... - Get named query content
  * - PUT /api/v1/projects/{name}/query?path=... - Save named query
+ * - GET /api/v1/projects/{name}/export?include=...&exclude=... - Download resources as a zip
+ * - POST /api/v1/projects/{name}/import?dryRun=... - Apply a zip of resources all-or-nothing
+ * - POST /api/v1/projects/{name}/batch - Read several views/scripts/queries in one request
+ * - GET /api/v1/projects/{name}/lint - Validate every view in a project
  *
  * All write operations are audit logged.
  *
+ * API routes are declared once in a route table (routeTable) with their method, path
+ * template, RateLimiter budget (read, scan, stream, tags or write) and handler;
+ * clients over budget get 429 with Retry-After. Path parameters such as {project} are
+ * extracted by the compiled RouteTemplate and handed to the handler as PathParams, so
+ * handlers don't match the request URI themselves.
+ *
+ * Handlers run on HandlerExecutor workers (servlet async mode), with concurrency
+ * limited per budget category, so slow filesystem and tag I/O doesn't hold the
+ * Gateway's HTTP threads.
+ *
+ * API responses are written through ResponseUtil.writeJson, which gzip/deflate
+ * compresses bodies when the client sends Accept-Encoding (see CompressionUtil).
+ *
  * Architecture:
  * - ProjectHandler - Manages project and view endpoints
+ * - HistoryHandler - Manages view revision history endpoints
  * - TagHandler - Manages tag browsing endpoints
  * - ComponentHandler - Manages component catalog endpoint
  * - ScriptHandler - Manages script endpoints
  * - QueryHandler - Manages named query endpoints
+ * - ExportHandler - Manages project export endpoint
+ * - ImportHandler - Manages project import endpoint
+ * - BatchHandler - Manages batch read endpoint
+ * - LintHandler - Manages project health scan endpoint
  * - SecurityUtil - Provides authentication and authorization utilities
  * - ResponseUtil - Provides JSON response helpers
  */
@@ -61,6 +111,9 @@ public final class WebDesignerApiRoutes {
 
     private static final Logger logger = LoggerFactory.getLogger(WebDesignerApiRoutes.class);
 
+    // Not defined by HttpServletResponse
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
     // Private constructor - this is a utility class with static methods only
     private WebDesignerApiRoutes() {
     }
@@ -76,7 +129,7 @@ public final class WebDesignerApiRoutes {
         // Index page at /index - serves the React app
         routes.newRoute("/index")
             .type(RouteGroup.TYPE_JSON)  // TYPE_JSON required even for HTML responses
-            .handler(WebDesignerApiRoutes::handleIndex)
+            .handler(AssetHandler.shell("Web Designer - Perspective View Editor"))
             .accessControl(AccessControlStrategy.OPEN_ROUTE)
             .mount();
 
@@ -88,153 +141,202 @@ public final class WebDesignerApiRoutes {
             .accessControl(AccessControlStrategy.OPEN_ROUTE)
             .mount();
 
-        // === Project & View Routes (ProjectHandler) ===
+        // API routes, mounted from the route table
+        List<ApiRoute> table = routeTable();
+        for (ApiRoute route : table) {
+            RouteGroup.RouteMounter mounter = routes.newRoute(route.template.getMountPath())
+                .type(RouteGroup.TYPE_JSON);
+            if (route.method != GET) {
+                mounter.method(route.method);
+            }
+            mounter.handler(api(route))
+                .accessControl(AccessControlStrategy.OPEN_ROUTE)
+                .mount();
+        }
 
-        // GET /api/v1/projects - List all projects
-        routes.newRoute("/api/v1/projects")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(ProjectHandler::handleGetProjects)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        logger.info("Mounted Web Designer API routes:");
+        logger.info("  - GET  /data/webdesigner/test");
+        for (ApiRoute route : table) {
+            logger.info("  - {} /data/webdesigner{}", String.format("%-4s", route.method), route.template);
+        }
+    }
 
-        // GET /api/v1/projects/{name}/views - List views in a project
-        routes.newRoute("/api/v1/projects/*/views")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(ProjectHandler::handleGetProjectViews)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+    /**
+     * The API route table: method, path template, rate limiting budget and handler of
+     * every API route. Path templates are compiled once here; per request, the matched
+     * route's parameters are extracted without regex (see RouteTemplate).
+     */
+    private static List<ApiRoute> routeTable() {
+        List<ApiRoute> table = new ArrayList<>();
 
-        // GET /api/v1/projects/{name}/view?path=... - Get specific view
-        routes.newRoute("/api/v1/projects/*/view")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(ProjectHandler::handleGetView)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // === Project & View Routes (ProjectHandler) ===
 
-        // PUT /api/v1/projects/{name}/view?path=... - Save view
-        routes.newRoute("/api/v1/projects/*/view")
-            .type(RouteGroup.TYPE_JSON)
-            .method(PUT)
-            .handler(ProjectHandler::handlePutView)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // List all projects
+        table.add(new ApiRoute(GET, "/api/v1/projects", READ, noParams(ProjectHandler::handleGetProjects)));
+        // List views in a project
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/views", SCAN, ProjectHandler::handleGetProjectViews));
+        // Get specific view (?path=...)
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/view", READ, ProjectHandler::handleGetView)
+            .cacheable());
+        // Save view (?path=...)
+        table.add(new ApiRoute(PUT, "/api/v1/projects/{project}/view", WRITE, ProjectHandler::handlePutView));
 
-        // === Tag Routes (TagHandler) ===
+        // === View History Routes (HistoryHandler) ===
 
-        // GET /api/v1/tags - List tag providers
-        routes.newRoute("/api/v1/tags")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(TagHandler::handleGetTagProviders)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // List view revisions (?path=...)
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/view/revisions", READ,
+            HistoryHandler::handleGetRevisions));
+        // Get view at a revision (?path=...&rev=N)
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/view/revision", READ,
+            HistoryHandler::handleGetRevision));
 
-        // GET /api/v1/tags/{provider}?path=... - Browse tags
-        routes.newRoute("/api/v1/tags/*")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(TagHandler::handleBrowseTags)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // === Tag Routes (TagHandler) ===
+
+        // List tag providers
+        table.add(new ApiRoute(GET, "/api/v1/tags", TAGS, noParams(TagHandler::handleGetTagProviders)));
+        // Browse tags (?path=...)
+        table.add(new ApiRoute(GET, "/api/v1/tags/{provider}", TAGS, TagHandler::handleBrowseTags));
 
         // === Component Routes (ComponentHandler) ===
 
-        // GET /api/v1/perspective/components - Get component catalog
-        routes.newRoute("/api/v1/perspective/components")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(ComponentHandler::handleGetComponents)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // Get component catalog
+        table.add(new ApiRoute(GET, "/api/v1/perspective/components", READ,
+            noParams(ComponentHandler::handleGetComponents)).cacheable());
 
         // === Script Routes (ScriptHandler) ===
 
-        // GET /api/v1/projects/{name}/scripts - List all scripts in a project
-        routes.newRoute("/api/v1/projects/*/scripts")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(ScriptHandler::handleGetScripts)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // List all scripts in a project
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/scripts", SCAN, ScriptHandler::handleGetScripts));
+        // Get specific script (?path=...)
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/script", READ, ScriptHandler::handleGetScript));
+        // Save script (?path=...)
+        table.add(new ApiRoute(PUT, "/api/v1/projects/{project}/script", WRITE, ScriptHandler::handlePutScript));
 
-        // GET /api/v1/projects/{name}/script?path=... - Get specific script
-        routes.newRoute("/api/v1/projects/*/script")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(ScriptHandler::handleGetScript)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // === Named Query Routes (QueryHandler) ===
 
-        // PUT /api/v1/projects/{name}/script?path=... - Save script
-        routes.newRoute("/api/v1/projects/*/script")
-            .type(RouteGroup.TYPE_JSON)
-            .method(PUT)
-            .handler(ScriptHandler::handlePutScript)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // List all named queries in a project
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/queries", SCAN, QueryHandler::handleGetQueries));
+        // Get specific named query (?path=...)
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/query", READ, QueryHandler::handleGetQuery));
+        // Save named query (?path=...)
+        table.add(new ApiRoute(PUT, "/api/v1/projects/{project}/query", WRITE, QueryHandler::handlePutQuery));
 
-        // === Named Query Routes (QueryHandler) ===
+        // === Export Routes (ExportHandler) ===
 
-        // GET /api/v1/projects/{name}/queries - List all named queries in a project
-        routes.newRoute("/api/v1/projects/*/queries")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(QueryHandler::handleGetQueries)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // Stream project resources as a zip (?include=...&exclude=...)
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/export", STREAM, ExportHandler::handleExport));
 
-        // GET /api/v1/projects/{name}/query?path=... - Get specific named query
-        routes.newRoute("/api/v1/projects/*/query")
-            .type(RouteGroup.TYPE_JSON)
-            .handler(QueryHandler::handleGetQuery)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // === Import Routes (ImportHandler) ===
 
-        // PUT /api/v1/projects/{name}/query?path=... - Save named query
-        routes.newRoute("/api/v1/projects/*/query")
-            .type(RouteGroup.TYPE_JSON)
-            .method(PUT)
-            .handler(QueryHandler::handlePutQuery)
-            .accessControl(AccessControlStrategy.OPEN_ROUTE)
-            .mount();
+        // Apply a zip of resources (?dryRun=...)
+        table.add(new ApiRoute(POST, "/api/v1/projects/{project}/import", WRITE, ImportHandler::handleImport));
 
-        logger.info("Mounted Web Designer API routes:");
-        logger.info("  - GET  /data/webdesigner/test");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects/{name}/views");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects/{name}/view");
-        logger.info("  - PUT  /data/webdesigner/api/v1/projects/{name}/view");
-        logger.info("  - GET  /data/webdesigner/api/v1/tags");
-        logger.info("  - GET  /data/webdesigner/api/v1/tags/{provider}");
-        logger.info("  - GET  /data/webdesigner/api/v1/perspective/components");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects/{name}/scripts");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects/{name}/script");
-        logger.info("  - PUT  /data/webdesigner/api/v1/projects/{name}/script");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects/{name}/queries");
-        logger.info("  - GET  /data/webdesigner/api/v1/projects/{name}/query");
-        logger.info("  - PUT  /data/webdesigner/api/v1/projects/{name}/query");
+        // === Batch Routes (BatchHandler) ===
+
+        // Read several resources in one request
+        table.add(new ApiRoute(POST, "/api/v1/projects/{project}/batch", STREAM, BatchHandler::handleBatchGet));
+
+        // === Lint Routes (LintHandler) ===
+
+        // Validate every view, streaming results
+        table.add(new ApiRoute(GET, "/api/v1/projects/{project}/lint", STREAM, LintHandler::handleLint));
+
+        return table;
+    }
+
+    /**
+     * One entry of the API route table.
+     */
+    private static final class ApiRoute {
+        final HttpMethod method;
+        final RouteTemplate template;
+        final RateLimiter.Budget budget;
+        final ApiHandler handler;
+        // Whether compressed bodies may be cached by request URI and ETag
+        boolean cacheable;
+
+        ApiRoute(HttpMethod method, String template, RateLimiter.Budget budget, ApiHandler handler) {
+            this.method = method;
+            this.template = RouteTemplate.compile(template);
+            this.budget = budget;
+            this.handler = handler;
+        }
+
+        ApiRoute cacheable() {
+            this.cacheable = true;
+            return this;
+        }
     }
 
     /**
-     * Handler for /index route - serves the main React app HTML page.
+     * Adapt a handler of a route without path parameters.
+     */
+    private static ApiHandler noParams(RouteHandler handler) {
+        return (req, res, params) -> handler.handle(req, res);
+    }
+
+    /**
+     * Wrap an API route's handler for mounting: rate limited by its budget, run on a
+     * HandlerExecutor worker of the same category, path parameters extracted from the
+     * request URI, and its JSON result written with content negotiation.
+     */
+    private static RouteHandler api(ApiRoute route) {
+        // The worker writes the response; 429 and 503 responses are written on the HTTP thread
+        RouteHandler writing = compressed((req, res) -> {
+            PathParams params = PathParams.acquire();
+            try {
+                if (!route.template.match(req.getRequest().getRequestURI(), params)) {
+                    res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
+                }
+                return route.handler.handle(req, res, params);
+            } finally {
+                PathParams.release(params);
+            }
+        }, route.cacheable);
+        return compressed(limited(route.budget,
+            (req, res) -> HandlerExecutor.execute(route.budget, req, res, writing)));
+    }
+
+    /**
+     * Wrap an API handler so requests over the client's budget are rejected with 429
+     * before the handler runs (see RateLimiter).
+     */
+    private static RouteHandler limited(RateLimiter.Budget budget, RouteHandler handler) {
+        return (req, res) -> {
+            long retryAfter = RateLimiter.acquire(req.getRequest(), budget);
+            if (retryAfter > 0) {
+                res.setStatus(SC_TOO_MANY_REQUESTS);
+                res.setHeader("Retry-After", String.valueOf(retryAfter));
+                return ResponseUtil.createErrorResponse(SC_TOO_MANY_REQUESTS,
+                    "Too many requests, retry in " + retryAfter + " s");
+            }
+            return handler.handle(req, res);
+        };
+    }
+
+    /**
+     * Wrap an API handler so its JSON result is written with content negotiation.
+     */
+    private static RouteHandler compressed(RouteHandler handler) {
+        return compressed(handler, false);
+    }
+
+    /**
+     * Wrap an API handler so its JSON result is written with content negotiation.
+     *
+     * @param handler The handler to wrap
+     * @param cacheable Whether compressed bodies may be cached by request URI and ETag
      */
-    private static Object handleIndex(com.inductiveautomation.ignition.gateway.dataroutes.RequestContext req,
-                                       jakarta.servlet.http.HttpServletResponse res) throws Exception {
-        res.setContentType("text/html");
-        res.setStatus(jakarta.servlet.http.HttpServletResponse.SC_OK);
-        String html = "<!DOCTYPE html>" +
-                      "<html lang=\"en\">" +
-                      "<head>" +
-                      "<meta charset=\"UTF-8\">" +
-                      "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                      "<title>Web Designer - Perspective View Editor</title>" +
-                      "<style>" +
-                      "body { margin: 0; padding: 0; font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', 'Roboto', sans-serif; background: #1e1e1e; color: #cccccc; overflow: hidden; }" +
-                      "#root { width: 100vw; height: 100vh; }" +
-                      "</style>" +
-                      "</head>" +
-                      "<body>" +
-                      "<div id=\"root\"></div>" +
-                      "<script src=\"/res/webdesigner/standalone.js\"></script>" +
-                      "</body>" +
-                      "</html>";
-        res.getWriter().write(html);
-        res.getWriter().flush();
-        return null;
+    private static RouteHandler compressed(RouteHandler handler, boolean cacheable) {
+        return (req, res) -> {
+            Object result = handler.handle(req, res);
+            if (!(result instanceof JsonElement)) {
+                return result;
+            }
+            ResponseUtil.writeJson(req.getRequest(), res, (JsonElement) result, cacheable);
+            return null;
+        };
     }
 
     /**
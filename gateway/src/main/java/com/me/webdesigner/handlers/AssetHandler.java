@@ -0,0 +1,246 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.dataroutes.RouteHandler;
+import com.me.webdesigner.util.CompressionUtil;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.FingerprintService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handler for the SPA shell pages and the fingerprinted frontend bundles.
+ *
+ * Handles:
+ * - GET /, /standalone, /index - HTML shell loading the standalone bundle
+ * - GET /assets/{file} - Content-hashed bundle (e.g. standalone.3f9a0c2e81b4.js)
+ *
+ * The frontend build (:frontend:fingerprintAssets) copies each bundle to
+ * web/assets/{name}.{hash}.js with a gzip-precompressed .gz next to it, and lists them
+ * in web/asset-manifest.properties. Since the file name changes with the content, the
+ * bundles are served with "Cache-Control: immutable" and a one year max-age: browsers
+ * download each bundle once per release. The gzip copy is sent to clients that accept
+ * it, so nothing is compressed per request.
+ *
+ * The HTML shell is built once when routes are mounted and points at the hashed
+ * bundle. It is served with "no-cache" and an ETag, so a new release is picked up on
+ * the next load while unchanged shells are answered with 304.
+ *
+ * Without a manifest (frontend built outside Gradle), pages fall back to the unhashed
+ * bundles under /res/webdesigner/ served by the Gateway.
+ */
+public final class AssetHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetHandler.class);
+
+    // Module web resources on the classpath (see GatewayHook.getMountedResourceFolder)
+    private static final String WEB_ROOT = "web/";
+    private static final String MANIFEST = WEB_ROOT + "asset-manifest.properties";
+    private static final String ASSETS_DIR = WEB_ROOT + "assets/";
+
+    // Public URLs
+    private static final String ASSETS_URL = "/data/webdesigner/assets/";
+    private static final String RESOURCES_URL = "/res/webdesigner/";
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    // Bundle name -> hashed file name, e.g. standalone.js -> standalone.3f9a0c2e81b4.js
+    private static final Map<String, String> manifest = loadManifest(AssetHandler.class.getClassLoader());
+
+    // Hashed file name -> contents, loaded on first request
+    private static final Map<String, Asset> assets = new ConcurrentHashMap<>();
+
+    // Private constructor - utility class
+    private AssetHandler() {
+    }
+
+    /**
+     * A response body with its precompressed form.
+     */
+    private static final class Asset {
+        final String contentType;
+        final byte[] body;
+        // null if not worth compressing
+        final byte[] gzip;
+        final String etag;
+
+        Asset(String contentType, byte[] body, byte[] gzip, String etag) {
+            this.contentType = contentType;
+            this.body = body;
+            this.gzip = gzip;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * URL of a frontend bundle: the fingerprinted copy if the build produced one,
+     * otherwise the unhashed file under /res/webdesigner/.
+     *
+     * @param name Bundle name, e.g. "standalone.js"
+     */
+    public static String url(String name) {
+        String hashed = manifest.get(name);
+        return hashed != null ? ASSETS_URL + hashed : RESOURCES_URL + name;
+    }
+
+    /**
+     * Build a route handler serving the HTML shell with the given page title.
+     *
+     * The page is generated and compressed once, here.
+     */
+    public static RouteHandler shell(String title) {
+        String html = "<!DOCTYPE html>" +
+                      "<html lang=\"en\">" +
+                      "<head>" +
+                      "<meta charset=\"UTF-8\">" +
+                      "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
+                      "<title>" + title + "</title>" +
+                      "<style>" +
+                      "body { margin: 0; padding: 0; font-family: -apple-system, BlinkMacSystemFont, 'Segoe UI', 'Roboto', sans-serif; background: #1e1e1e; color: #cccccc; overflow: hidden; }" +
+                      "#root { width: 100vw; height: 100vh; }" +
+                      "</style>" +
+                      "</head>" +
+                      "<body>" +
+                      "<div id=\"root\"></div>" +
+                      "<script src=\"" + url("standalone.js") + "\"></script>" +
+                      "</body>" +
+                      "</html>";
+
+        Asset page = asset("text/html;charset=UTF-8", html.getBytes(StandardCharsets.UTF_8), null);
+        return (req, res) -> {
+            write(req.getRequest(), res, page, REVALIDATE);
+            return null;
+        };
+    }
+
+    /**
+     * Handle GET /assets/{file} endpoint.
+     *
+     * Serves a fingerprinted bundle listed in the asset manifest; any other name is 404.
+     */
+    public static Object handleAsset(RequestContext req, HttpServletResponse res) throws IOException {
+        return handleAsset(req, res, manifest, AssetHandler.class.getClassLoader());
+    }
+
+    /**
+     * Serve a bundle listed in the given manifest, reading it from the given class loader.
+     */
+    static Object handleAsset(RequestContext req, HttpServletResponse res, Map<String, String> manifest,
+                              ClassLoader resources) throws IOException {
+        String uri = req.getRequest().getRequestURI();
+        String file = uri.substring(uri.lastIndexOf('/') + 1);
+
+        // Only names from the manifest, so the request can't reach other resources
+        if (!manifest.containsValue(file)) {
+            res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_NOT_FOUND, "Asset not found");
+        }
+
+        Asset asset = assets.get(file);
+        if (asset == null) {
+            asset = loadAsset(resources, file);
+            if (asset == null) {
+                res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return ErrorHandler.fixedError(HttpServletResponse.SC_NOT_FOUND, "Asset not found");
+            }
+            assets.put(file, asset);
+        }
+
+        write(req.getRequest(), res, asset, IMMUTABLE);
+        return null;
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse res, Asset asset, String cacheControl)
+            throws IOException {
+        res.setHeader("Cache-Control", cacheControl);
+        res.setHeader("ETag", asset.etag);
+        res.addHeader("Vary", "Accept-Encoding");
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.contains(asset.etag)) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = asset.body;
+        if (asset.gzip != null
+            && CompressionUtil.GZIP.equals(CompressionUtil.negotiate(request.getHeader("Accept-Encoding")))) {
+            body = asset.gzip;
+            res.setHeader("Content-Encoding", CompressionUtil.GZIP);
+        }
+
+        res.setStatus(HttpServletResponse.SC_OK);
+        res.setContentType(asset.contentType);
+        res.setContentLength(body.length);
+        OutputStream out = res.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    /**
+     * Build an asset, compressing it now unless a precompressed body is given.
+     */
+    private static Asset asset(String contentType, byte[] body, byte[] gzip) {
+        if (gzip == null && CompressionUtil.shouldCompress(body.length)) {
+            try {
+                gzip = CompressionUtil.compress(body, CompressionUtil.GZIP);
+            } catch (IOException e) {
+                logger.warn("Could not compress asset, serving it uncompressed", e);
+            }
+        }
+        return new Asset(contentType, body, gzip, "\"" + FingerprintService.fingerprint(body) + "\"");
+    }
+
+    private static Asset loadAsset(ClassLoader resources, String file) throws IOException {
+        byte[] body = readResource(resources, ASSETS_DIR + file);
+        if (body == null) {
+            logger.warn("Asset {} is in the manifest but missing from the module", file);
+            return null;
+        }
+        String contentType = file.endsWith(".css") ? "text/css;charset=UTF-8"
+            : "application/javascript;charset=UTF-8";
+        return asset(contentType, body, readResource(resources, ASSETS_DIR + file + ".gz"));
+    }
+
+    private static byte[] readResource(ClassLoader resources, String name) throws IOException {
+        try (InputStream in = resources.getResourceAsStream(name)) {
+            return in != null ? in.readAllBytes() : null;
+        }
+    }
+
+    /**
+     * Read web/asset-manifest.properties from a class loader (empty map if there is none).
+     */
+    static Map<String, String> loadManifest(ClassLoader resources) {
+        try (InputStream in = resources.getResourceAsStream(MANIFEST)) {
+            if (in == null) {
+                logger.warn("No {} found, serving unhashed frontend bundles from {}", MANIFEST, RESOURCES_URL);
+                return Collections.emptyMap();
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            Map<String, String> result = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                result.put(name, properties.getProperty(name));
+            }
+            logger.info("Fingerprinted frontend bundles: {}", result);
+            return Collections.unmodifiableMap(result);
+        } catch (IOException e) {
+            logger.warn("Could not read {}, serving unhashed frontend bundles", MANIFEST, e);
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.stream.JsonWriter;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.CompressionUtil;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.FingerprintService;
+import com.me.webdesigner.util.JsonSerializer;
+import com.me.webdesigner.util.NamedThreadFactory;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ProjectResources;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.SecurityUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Handler for batch read API endpoints.
+ *
+ * Handles:
+ * - POST /api/v1/projects/{name}/batch - Read several views, scripts and named queries at once
+ *
+ * Request body:
+ * {"resources": [{"type": "view", "path": "Main"}, {"type": "script", "path": "util"}, ...]}
+ *
+ * One authentication check covers the whole batch. Resources are read concurrently on a
+ * small shared pool and written to the response in request order as each one completes,
+ * so the first items reach the client while later ones are still being read. Each item
+ * carries its own status; a missing resource does not fail the batch.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.batch.threads  - read pool size (default: 4)
+ * - webdesigner.batch.maxItems - max resources per request (default: 100)
+ */
+public final class BatchHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchHandler.class);
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(BatchHandler.class);
+
+    // Audit event types
+    private static final String AUDIT_ACTION_BATCH_READ = "WebDesigner.Project.BatchRead";
+
+    // Configuration
+    private static final int THREADS = Integer.getInteger("webdesigner.batch.threads", 4);
+    private static final int MAX_ITEMS = Integer.getInteger("webdesigner.batch.maxItems", 100);
+
+    // Max request body size (64 KB - the body is only a list of paths)
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+
+    // Shared read pool (threads are created on first use)
+    private static final ExecutorService readPool = Executors.newFixedThreadPool(THREADS,
+        new NamedThreadFactory("webdesigner-batch"));
+
+    // Private constructor - utility class
+    private BatchHandler() {
+    }
+
+    /**
+     * Stop the read pool (module shutdown).
+     */
+    public static void shutdown() {
+        readPool.shutdownNow();
+    }
+
+    /**
+     * Handle POST /api/v1/projects/{name}/batch endpoint.
+     *
+     * Streams {"project": ..., "items": [...]} where each item is
+     * {"type", "path", "status", "etag", "content"[, "metadata"]} or
+     * {"type", "path", "status", "error"}.
+     */
+    public static JsonObject handleBatchGet(RequestContext req, HttpServletResponse res, PathParams params) {
+        // Get GatewayContext from RequestContext
+        GatewayContext context = req.getGatewayContext();
+
+        String projectName = params.get("project");
+
+        requestLog.atInfo().sampled().with("project", projectName).log("POST /api/v1/projects/{name}/batch requested");
+
+        // Check authentication (once for the whole batch)
+        String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
+        if (user == null) {
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
+        }
+
+        // Validate project name
+        if (!SecurityUtil.isValidInput(projectName)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        }
+
+        List<BatchItem> items = new ArrayList<>();
+        try {
+            // Read request body with size limit
+            HttpServletRequest servletReq = req.getRequest();
+            BufferedReader reader = servletReq.getReader();
+            StringBuilder requestBody = new StringBuilder();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                requestBody.append(line);
+                if (requestBody.length() > MAX_BODY_SIZE) {
+                    res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                    return ErrorHandler.fixedError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                        "Request body too large (max 64 KB)");
+                }
+            }
+
+            JsonElement body = JsonParser.parseString(requestBody.toString());
+            if (!body.isJsonObject() || !body.getAsJsonObject().has("resources")
+                || !body.getAsJsonObject().get("resources").isJsonArray()) {
+                res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST,
+                    "Missing 'resources' array in request body");
+            }
+
+            JsonArray resources = body.getAsJsonObject().getAsJsonArray("resources");
+            if (resources.size() > MAX_ITEMS) {
+                res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                    "Too many resources (max " + MAX_ITEMS + ")");
+            }
+
+            for (JsonElement resource : resources) {
+                items.add(BatchItem.parse(resource));
+            }
+
+        } catch (Exception e) {
+            logger.error("Invalid batch request body", e);
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                "Invalid JSON in request body: " + e.getMessage());
+        }
+
+        // Start all reads, then stream results in request order
+        File dataDir = context.getSystemManager().getDataDir();
+        for (BatchItem item : items) {
+            if (item.error == null) {
+                item.result = readPool.submit(() -> read(dataDir, projectName, item));
+            }
+        }
+
+        res.setStatus(HttpServletResponse.SC_OK);
+        res.setContentType("application/json;charset=UTF-8");
+        res.addHeader("Vary", "Accept-Encoding");
+
+        int found = 0;
+        try {
+            OutputStream out = res.getOutputStream();
+            String encoding = CompressionUtil.negotiate(req.getRequest().getHeader("Accept-Encoding"));
+            if (encoding != null) {
+                res.setHeader("Content-Encoding", encoding);
+                out = CompressionUtil.wrap(out, encoding);
+            }
+
+            JsonSerializer.Format format = JsonSerializer.responseFormat();
+            try (JsonWriter writer = JsonSerializer.newWriter(new BufferedWriter(
+                    new OutputStreamWriter(out, StandardCharsets.UTF_8)), format)) {
+                writer.beginObject();
+                writer.name("project").value(projectName);
+                writer.name("items").beginArray();
+                for (BatchItem item : items) {
+                    JsonObject result = item.result != null ? await(item) : item.errorJson();
+                    if (result.get("status").getAsInt() == HttpServletResponse.SC_OK) {
+                        found++;
+                    }
+                    JsonSerializer.write(result, writer, format);
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+
+            requestLog.atInfo().sampled().with("found", found).with("requested", items.size())
+                .with("project", projectName).log("Returned batch resources");
+
+        } catch (Exception e) {
+            // Headers are committed; the client sees a truncated body
+            logger.error("Error streaming batch response for project '{}'", projectName, e);
+            for (BatchItem item : items) {
+                if (item.result != null) {
+                    item.result.cancel(true);
+                }
+            }
+        }
+
+        // Log audit event
+        SecurityUtil.logAudit(context, AUDIT_ACTION_BATCH_READ, user, req.getRequest().getRemoteAddr(),
+            "Project: " + projectName + ", Resources: " + items.size() + ", Found: " + found, true);
+
+        return null;
+    }
+
+    /**
+     * Read one resource (runs on the read pool).
+     */
+    private static JsonObject read(File dataDir, String projectName, BatchItem item) throws Exception {
+        Path dataFile;
+        try {
+            dataFile = ProjectResources.dataFile(dataDir, projectName, item.type, item.path);
+        } catch (IllegalArgumentException e) {
+            // Absolute or escaping path
+            return item.errorJson(HttpServletResponse.SC_BAD_REQUEST, "Invalid resource path");
+        }
+        if (!Files.exists(dataFile)) {
+            return item.errorJson(HttpServletResponse.SC_NOT_FOUND,
+                item.typeName + " not found: " + item.path + " in project: " + projectName);
+        }
+
+        // Read file content (fingerprint is cached for later If-Match checks)
+        FingerprintService.FileContent file = FingerprintService.read(dataFile);
+        String content = new String(file.bytes, StandardCharsets.UTF_8);
+
+        JsonObject json = item.baseJson(HttpServletResponse.SC_OK);
+        json.addProperty("etag", file.etag);
+
+        if (item.type == ProjectResources.Type.VIEW) {
+            JsonElement viewContent = JsonParser.parseString(content);
+            if (!viewContent.isJsonObject()) {
+                return item.errorJson(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Invalid view file format");
+            }
+            json.add("content", viewContent);
+        } else {
+            json.addProperty("content", content);
+
+            // Scripts and queries also return their resource.json, as the single-item endpoints do
+            Path resourceJsonPath = dataFile.getParent().resolve("resource.json");
+            if (Files.exists(resourceJsonPath)) {
+                try {
+                    String jsonContent = new String(Files.readAllBytes(resourceJsonPath), StandardCharsets.UTF_8);
+                    json.add("metadata", JsonParser.parseString(jsonContent).getAsJsonObject());
+                } catch (Exception parseEx) {
+                    logger.debug("Could not parse resource.json for {}: {}", item.typeName, item.path);
+                }
+            }
+        }
+        return json;
+    }
+
+    private static JsonObject await(BatchItem item) throws InterruptedException {
+        try {
+            return item.result.get();
+        } catch (ExecutionException e) {
+            logger.error("Error reading batch resource {} '{}'", item.typeName, item.path, e.getCause());
+            return item.errorJson(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                "Failed to read " + item.typeName + ": " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * One requested resource.
+     */
+    private static final class BatchItem {
+        String typeName;
+        String path;
+        ProjectResources.Type type;
+        String error;
+        Future<JsonObject> result;
+
+        static BatchItem parse(JsonElement element) {
+            BatchItem item = new BatchItem();
+            if (!element.isJsonObject()) {
+                item.error = "Resource must be an object with 'type' and 'path'";
+                return item;
+            }
+
+            JsonObject object = element.getAsJsonObject();
+            item.typeName = object.has("type") && object.get("type").isJsonPrimitive()
+                ? object.get("type").getAsString() : null;
+            item.path = object.has("path") && object.get("path").isJsonPrimitive()
+                ? object.get("path").getAsString() : null;
+
+            if (item.typeName != null) {
+                switch (item.typeName.toLowerCase(Locale.ROOT)) {
+                    case "view":
+                        item.type = ProjectResources.Type.VIEW;
+                        break;
+                    case "script":
+                        item.type = ProjectResources.Type.SCRIPT;
+                        break;
+                    case "query":
+                        item.type = ProjectResources.Type.QUERY;
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            if (item.type == null) {
+                item.error = "Invalid resource type (expected view, script or query)";
+            } else if (!SecurityUtil.isValidInput(item.path)) {
+                item.error = "Invalid resource path";
+            }
+            return item;
+        }
+
+        JsonObject baseJson(int status) {
+            JsonObject json = new JsonObject();
+            json.addProperty("type", typeName);
+            json.addProperty("path", path);
+            json.addProperty("status", status);
+            return json;
+        }
+
+        JsonObject errorJson() {
+            return errorJson(HttpServletResponse.SC_BAD_REQUEST, error);
+        }
+
+        JsonObject errorJson(int status, String message) {
+            JsonObject json = baseJson(status);
+            json.addProperty("error", message);
+            return json;
+        }
+    }
+}
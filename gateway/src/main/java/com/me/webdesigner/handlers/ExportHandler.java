@@ -0,0 +1,351 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.NamedThreadFactory;
+import com.me.webdesigner.util.PathFilter;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ProjectResources;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.SecurityUtil;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Handler for project export API endpoints.
+ *
+ * Handles:
+ * - GET /api/v1/projects/{name}/export?include=...&exclude=... - Download views, scripts and
+ *   named queries as a zip
+ *
+ * The zip is written straight to the response while the resource folders are walked;
+ * nothing is staged on disk or held in memory beyond a small read-ahead window. Files
+ * up to webdesigner.export.readAheadMaxFile bytes are read ahead on a shared pool while
+ * earlier entries are being compressed; larger files are streamed directly.
+ *
+ * Entry names use the archive prefixes from ProjectResources, e.g. "views/Main/view.json".
+ * include/exclude are comma-separated globs over entry names (see PathFilter).
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.export.readAheadThreads  - read-ahead pool size (default: 4)
+ * - webdesigner.export.readAheadFiles    - max files read ahead per export (default: 64)
+ * - webdesigner.export.readAheadBytes    - max bytes read ahead per export (default: 8 MB)
+ * - webdesigner.export.readAheadMaxFile  - larger files are streamed, not read ahead (default: 1 MB)
+ */
+public final class ExportHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportHandler.class);
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(ExportHandler.class);
+
+    // Audit event types
+    private static final String AUDIT_ACTION_EXPORT = "WebDesigner.Project.Export";
+
+    // Configuration
+    private static final int READ_AHEAD_THREADS = Integer.getInteger("webdesigner.export.readAheadThreads", 4);
+    private static final int READ_AHEAD_FILES = Integer.getInteger("webdesigner.export.readAheadFiles", 64);
+    private static final long READ_AHEAD_BYTES =
+        Long.getLong("webdesigner.export.readAheadBytes", 8L * 1024 * 1024);
+    private static final long READ_AHEAD_MAX_FILE =
+        Long.getLong("webdesigner.export.readAheadMaxFile", 1024L * 1024);
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    // Shared read-ahead pool (threads are created on first use)
+    private static final ExecutorService readAheadPool = Executors.newFixedThreadPool(READ_AHEAD_THREADS,
+        new NamedThreadFactory("webdesigner-export"));
+
+    // Private constructor - utility class
+    private ExportHandler() {
+    }
+
+    /**
+     * Stop the read-ahead pool (module shutdown).
+     */
+    public static void shutdown() {
+        readAheadPool.shutdownNow();
+    }
+
+    /**
+     * Handle GET /api/v1/projects/{name}/export endpoint.
+     *
+     * Streams a zip of the project's views, scripts and named queries. Returns an error
+     * object only if the export could not be started.
+     */
+    public static JsonObject handleExport(RequestContext req, HttpServletResponse res, PathParams params) {
+        // Get GatewayContext from RequestContext
+        GatewayContext context = req.getGatewayContext();
+
+        String projectName = params.get("project");
+        String include = req.getRequest().getParameter("include");
+        String exclude = req.getRequest().getParameter("exclude");
+
+        requestLog.atInfo().sampled().with("project", projectName).with("include", include)
+            .with("exclude", exclude).log("GET /api/v1/projects/{name}/export requested");
+
+        // Check authentication
+        String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
+        if (user == null) {
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
+        }
+
+        // Validate project name
+        if (!SecurityUtil.isValidInput(projectName)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        }
+
+        File dataDir = context.getSystemManager().getDataDir();
+        Path projectDir = ProjectResources.projectDir(dataDir, projectName);
+
+        if (!Files.isDirectory(projectDir)) {
+            res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_NOT_FOUND,
+                "Project not found: " + projectName);
+        }
+
+        PathFilter filter;
+        try {
+            filter = PathFilter.parse(include, exclude);
+        } catch (IllegalArgumentException e) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                "Invalid include/exclude filter: " + e.getMessage());
+        }
+
+        // From here on the response is the zip stream
+        res.setStatus(HttpServletResponse.SC_OK);
+        res.setContentType("application/zip");
+        res.setHeader("Content-Disposition",
+            "attachment; filename=\"" + projectName.replaceAll("[^A-Za-z0-9._-]", "_") + "-export.zip\"");
+
+        long start = System.currentTimeMillis();
+        boolean success = false;
+        int[] files = new int[1];
+        long[] bytes = new long[1];
+
+        try (EntryWalker entries = new EntryWalker(dataDir, projectName, filter);
+             ZipOutputStream zip = new ZipOutputStream(
+                 new BufferedOutputStream(res.getOutputStream(), OUTPUT_BUFFER_SIZE))) {
+
+            writeEntries(entries, zip, files, bytes);
+            zip.finish();
+            success = true;
+
+            requestLog.atInfo().sampled().with("count", files[0]).with("bytes", bytes[0])
+                .with("project", projectName).with("ms", System.currentTimeMillis() - start)
+                .log("Exported project files");
+
+        } catch (Exception e) {
+            // Headers are committed; the client sees a truncated zip
+            logger.error("Export of project '{}' failed after {} files", projectName, files[0], e);
+        }
+
+        // Log audit event
+        SecurityUtil.logAudit(context, AUDIT_ACTION_EXPORT, user, req.getRequest().getRemoteAddr(),
+            "Project: " + projectName + ", Files: " + files[0], success);
+
+        return null;
+    }
+
+    /**
+     * Copy entries into the zip in walk order, keeping a bounded window of reads in flight.
+     */
+    private static void writeEntries(Iterator<ExportEntry> entries, ZipOutputStream zip,
+                                     int[] files, long[] bytes) throws IOException {
+        ArrayDeque<ExportEntry> window = new ArrayDeque<>();
+        long inFlight = 0;
+        ExportEntry next = null;
+
+        try {
+            while (true) {
+                // Fill the read-ahead window
+                while (window.size() < READ_AHEAD_FILES) {
+                    if (next == null) {
+                        if (!entries.hasNext()) {
+                            break;
+                        }
+                        next = entries.next();
+                    }
+                    boolean direct = next.size > READ_AHEAD_MAX_FILE;
+                    if (!direct && !window.isEmpty() && inFlight + next.size > READ_AHEAD_BYTES) {
+                        break;
+                    }
+                    if (!direct) {
+                        Path file = next.file;
+                        next.content = readAheadPool.submit(() -> Files.readAllBytes(file));
+                        inFlight += next.size;
+                    }
+                    window.add(next);
+                    next = null;
+                }
+
+                ExportEntry head = window.poll();
+                if (head == null) {
+                    return;
+                }
+
+                ZipEntry zipEntry = new ZipEntry(head.name);
+                zipEntry.setLastModifiedTime(head.lastModified);
+                zip.putNextEntry(zipEntry);
+
+                if (head.content != null) {
+                    byte[] content = await(head.content);
+                    zip.write(content);
+                    inFlight -= head.size;
+                    bytes[0] += content.length;
+                } else {
+                    bytes[0] += Files.copy(head.file, zip);
+                }
+                zip.closeEntry();
+                files[0]++;
+            }
+        } finally {
+            for (ExportEntry pending : window) {
+                if (pending.content != null) {
+                    pending.content.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static byte[] await(Future<byte[]> content) throws IOException {
+        try {
+            return content.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * A file to export.
+     */
+    private static final class ExportEntry {
+        final String name;
+        final Path file;
+        final long size;
+        final FileTime lastModified;
+        Future<byte[]> content;
+
+        ExportEntry(String name, Path file, long size, FileTime lastModified) {
+            this.name = name;
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Lazily walks the resource folders of each type, yielding files that pass the filter.
+     */
+    private static final class EntryWalker implements Iterator<ExportEntry>, Closeable {
+        private final File dataDir;
+        private final String projectName;
+        private final PathFilter filter;
+        private final Iterator<ProjectResources.Type> types;
+
+        private ProjectResources.Type type;
+        private Path root;
+        private Stream<Path> stream;
+        private Iterator<Path> paths;
+        private ExportEntry next;
+
+        EntryWalker(File dataDir, String projectName, PathFilter filter) {
+            this.dataDir = dataDir;
+            this.projectName = projectName;
+            this.filter = filter;
+            this.types = Arrays.asList(ProjectResources.Type.values()).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    if (paths == null || !paths.hasNext()) {
+                        if (!openNextType()) {
+                            return false;
+                        }
+                        continue;
+                    }
+
+                    Path file = paths.next();
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (!attrs.isRegularFile()) {
+                        continue;
+                    }
+
+                    String name = type.getArchivePrefix() + "/" + root.relativize(file).toString().replace("\\", "/");
+                    if (filter.accepts(name)) {
+                        next = new ExportEntry(name, file, attrs.size(), attrs.lastModifiedTime());
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ExportEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ExportEntry entry = next;
+            next = null;
+            return entry;
+        }
+
+        private boolean openNextType() throws IOException {
+            close();
+            while (types.hasNext()) {
+                type = types.next();
+                root = ProjectResources.typeRoot(dataDir, projectName, type);
+                if (Files.isDirectory(root)) {
+                    stream = Files.walk(root);
+                    paths = stream.iterator();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close() {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+                paths = null;
+            }
+        }
+    }
+}
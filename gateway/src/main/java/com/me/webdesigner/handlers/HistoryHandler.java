@@ -0,0 +1,184 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.SecurityUtil;
+import com.me.webdesigner.util.ViewHistory;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Handler for view revision history API endpoints.
+ *
+ * Handles:
+ * - GET /api/v1/projects/{name}/view/revisions?path=... - List revisions of a view
+ * - GET /api/v1/projects/{name}/view/revision?path=...&rev=N - Get view content at a revision
+ *
+ * Revisions are recorded by ProjectHandler.handlePutView (see ViewHistory).
+ */
+public final class HistoryHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryHandler.class);
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(HistoryHandler.class);
+
+    // Audit event types
+    private static final String AUDIT_ACTION_REVISION_READ = "WebDesigner.View.RevisionRead";
+
+    // Private constructor - utility class
+    private HistoryHandler() {
+    }
+
+    /**
+     * Handle GET /api/v1/projects/{name}/view/revisions?path=... endpoint.
+     *
+     * Returns revision metadata (newest last) without content.
+     */
+    public static JsonObject handleGetRevisions(RequestContext req, HttpServletResponse res, PathParams params) {
+        // Get GatewayContext from RequestContext
+        GatewayContext context = req.getGatewayContext();
+
+        String projectName = params.get("project");
+        String viewPath = req.getRequest().getParameter("path");
+
+        requestLog.atInfo().sampled().with("project", projectName).with("path", viewPath)
+            .log("GET /api/v1/projects/{name}/view/revisions requested");
+
+        // Check authentication
+        String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
+        if (user == null) {
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
+        }
+
+        // Validate parameters
+        if (!SecurityUtil.isValidInput(projectName)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        }
+
+        if (!SecurityUtil.isValidInput(viewPath)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
+        }
+
+        try {
+            File dataDir = context.getSystemManager().getDataDir();
+            List<ViewHistory.Revision> revisions = ViewHistory.listRevisions(dataDir, projectName, viewPath);
+
+            JsonArray revisionsArray = new JsonArray();
+            for (ViewHistory.Revision revision : revisions) {
+                revisionsArray.add(revision.toJson());
+            }
+
+            // Build response
+            JsonObject response = new JsonObject();
+            response.addProperty("project", projectName);
+            response.addProperty("path", viewPath);
+            response.add("revisions", revisionsArray);
+
+            requestLog.atInfo().sampled().with("count", revisions.size()).with("path", viewPath)
+                .with("project", projectName).log("Found view revisions");
+
+            res.setStatus(HttpServletResponse.SC_OK);
+            return response;
+
+        } catch (IllegalArgumentException e) {
+            // View path leaves the history folder
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
+        } catch (Exception e) {
+            logger.error("Error handling get revisions request", e);
+            res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                "Failed to retrieve revisions: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /api/v1/projects/{name}/view/revision?path=...&rev=N endpoint.
+     *
+     * Returns the view content as it was at revision N.
+     */
+    public static JsonObject handleGetRevision(RequestContext req, HttpServletResponse res, PathParams params) {
+        // Get GatewayContext from RequestContext
+        GatewayContext context = req.getGatewayContext();
+
+        String projectName = params.get("project");
+        String viewPath = req.getRequest().getParameter("path");
+        String revParam = req.getRequest().getParameter("rev");
+
+        requestLog.atInfo().sampled().with("project", projectName).with("path", viewPath).with("rev", revParam)
+            .log("GET /api/v1/projects/{name}/view/revision requested");
+
+        // Check authentication
+        String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
+        if (user == null) {
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
+        }
+
+        // Validate parameters
+        if (!SecurityUtil.isValidInput(projectName)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        }
+
+        if (!SecurityUtil.isValidInput(viewPath)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
+        }
+
+        long rev;
+        try {
+            rev = Long.parseLong(revParam);
+        } catch (NumberFormatException e) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid revision number");
+        }
+
+        try {
+            File dataDir = context.getSystemManager().getDataDir();
+            JsonElement content = ViewHistory.materialize(dataDir, projectName, viewPath, rev);
+
+            if (content == null) {
+                res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_NOT_FOUND,
+                    "Revision " + rev + " not found for view: " + viewPath + " in project: " + projectName);
+            }
+
+            // Build response
+            JsonObject response = new JsonObject();
+            response.addProperty("project", projectName);
+            response.addProperty("path", viewPath);
+            response.addProperty("rev", rev);
+            response.add("content", content);
+
+            // Log audit event
+            SecurityUtil.logAudit(context, AUDIT_ACTION_REVISION_READ, user, req.getRequest().getRemoteAddr(),
+                "Project: " + projectName + ", View: " + viewPath + ", Revision: " + rev, true);
+
+            res.setStatus(HttpServletResponse.SC_OK);
+            return response;
+
+        } catch (IllegalArgumentException e) {
+            // View path leaves the history folder
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
+        } catch (Exception e) {
+            logger.error("Error materializing view revision", e);
+            res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                "Failed to retrieve revision: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.FingerprintService;
+import com.me.webdesigner.util.NamedThreadFactory;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ProjectResources;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.SecurityUtil;
+import com.me.webdesigner.util.ViewHistory;
+import com.me.webdesigner.util.ViewValidator;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Handler for project import API endpoints.
+ *
+ * Handles:
+ * - POST /api/v1/projects/{name}/import?dryRun=... - Apply a zip of views, scripts and named queries
+ *
+ * The request body is a zip in the layout produced by the export endpoint
+ * ("views/{path}/view.json", "scripts/{path}/code.py", ...). It is read as a stream:
+ * each entry is written to a staging folder under {dataDir}/webdesigner/staging/ while
+ * view.json entries are validated with ViewValidator on a small pool. Only if every
+ * resource is valid are the staged files moved into the project with atomic renames;
+ * if any move fails, the files already moved are restored, so the import is applied
+ * all-or-nothing. The response lists the outcome for every entry.
+ *
+ * Views replaced by an import go through ViewHistory like a save from the editor: a
+ * revision with the imported content is recorded before the file is replaced (anchored
+ * on the previous content if needed), and aborted again if the import is rolled back.
+ *
+ * Imports into the same project are serialized by a per-project ReentrantLock rather
+ * than a monitor, so a handler waiting on or holding it (zip I/O, validation, file
+ * moves) does not pin a virtual thread's carrier.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.import.validationThreads - validation pool size (default: 4)
+ * - webdesigner.import.maxEntrySize      - max uncompressed bytes per entry (default: 16 MB)
+ * - webdesigner.import.maxTotalSize      - max uncompressed bytes per import (default: 512 MB)
+ * - webdesigner.import.maxEntries        - max entries per import (default: 20000)
+ */
+public final class ImportHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportHandler.class);
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(ImportHandler.class);
+
+    // Audit event types
+    private static final String AUDIT_ACTION_IMPORT = "WebDesigner.Project.Import";
+
+    // Configuration
+    private static final int VALIDATION_THREADS = Integer.getInteger("webdesigner.import.validationThreads", 4);
+    private static final long MAX_ENTRY_SIZE = Long.getLong("webdesigner.import.maxEntrySize", 16L * 1024 * 1024);
+    private static final long MAX_TOTAL_SIZE = Long.getLong("webdesigner.import.maxTotalSize", 512L * 1024 * 1024);
+    private static final int MAX_ENTRIES = Integer.getInteger("webdesigner.import.maxEntries", 20000);
+
+    // Limits views held in memory while waiting for validation
+    private static final int MAX_PENDING_VALIDATIONS = VALIDATION_THREADS * 4;
+
+    // Result statuses
+    private static final String STATUS_CREATED = "created";
+    private static final String STATUS_UPDATED = "updated";
+    private static final String STATUS_VALID = "valid";
+    private static final String STATUS_INVALID = "invalid";
+    private static final String STATUS_SKIPPED = "skipped";
+
+    // Shared validation pool (threads are created on first use)
+    private static final ExecutorService validationPool = Executors.newFixedThreadPool(VALIDATION_THREADS,
+        new NamedThreadFactory("webdesigner-import"));
+
+    // One import at a time per project
+    private static final Map<String, ReentrantLock> projectLocks = new ConcurrentHashMap<>();
+
+    // Private constructor - utility class
+    private ImportHandler() {
+    }
+
+    /**
+     * Stop the validation pool (module shutdown).
+     */
+    public static void shutdown() {
+        validationPool.shutdownNow();
+    }
+
+    /**
+     * Handle POST /api/v1/projects/{name}/import endpoint.
+     *
+     * Body: zip archive. With dryRun=true the archive is validated but nothing is written.
+     */
+    public static JsonObject handleImport(RequestContext req, HttpServletResponse res, PathParams params) {
+        // Get GatewayContext from RequestContext
+        GatewayContext context = req.getGatewayContext();
+
+        String projectName = params.get("project");
+        boolean dryRun = Boolean.parseBoolean(req.getRequest().getParameter("dryRun"));
+
+        requestLog.atInfo().sampled().with("project", projectName).with("dryRun", dryRun)
+            .log("POST /api/v1/projects/{name}/import requested");
+
+        // Check authentication AND authorization (write requires Designer role)
+        String user = SecurityUtil.checkAuth(req.getRequest(), res, context, true);
+        if (user == null) {
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication/Authorization required");
+        }
+
+        // Validate project name
+        if (!SecurityUtil.isValidInput(projectName)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        }
+
+        File dataDir = context.getSystemManager().getDataDir();
+        if (!Files.isDirectory(ProjectResources.projectDir(dataDir, projectName))) {
+            res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_NOT_FOUND,
+                "Project not found: " + projectName);
+        }
+
+        long start = System.currentTimeMillis();
+        Path stagingDir = Paths.get(dataDir.getAbsolutePath(), "webdesigner", "staging", UUID.randomUUID().toString());
+        ReentrantLock lock = projectLocks.computeIfAbsent(projectName, k -> new ReentrantLock());
+
+        lock.lock();
+        try {
+            List<StagedResource> staged = new ArrayList<>();
+            try {
+                // Stage every entry and validate views
+                String error = stage(req.getRequest().getInputStream(), dataDir, projectName, stagingDir, staged);
+                if (error != null) {
+                    res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, error);
+                }
+
+                boolean valid = true;
+                int resources = 0;
+                for (StagedResource resource : staged) {
+                    if (STATUS_INVALID.equals(resource.status)) {
+                        valid = false;
+                    } else if (resource.stagedFile != null) {
+                        resources++;
+                    }
+                }
+
+                boolean committed = false;
+                if (valid && !dryRun) {
+                    commit(staged, stagingDir, dataDir, projectName, user);
+                    committed = true;
+                } else {
+                    for (StagedResource resource : staged) {
+                        if (resource.stagedFile != null && resource.status == null) {
+                            resource.status = STATUS_VALID;
+                        }
+                    }
+                }
+
+                // Build response
+                JsonObject response = new JsonObject();
+                response.addProperty("success", valid);
+                response.addProperty("project", projectName);
+                response.addProperty("dryRun", dryRun);
+                response.addProperty("committed", committed);
+                response.addProperty("files", resources);
+                JsonArray results = new JsonArray();
+                for (StagedResource resource : staged) {
+                    results.add(resource.toJson());
+                }
+                response.add("results", results);
+
+                if (!dryRun) {
+                    SecurityUtil.logAudit(context, AUDIT_ACTION_IMPORT, user, req.getRequest().getRemoteAddr(),
+                        "Project: " + projectName + ", Files: " + resources + ", Committed: " + committed, committed);
+                }
+
+                requestLog.atInfo().sampled().with("project", projectName)
+                    .with("result", committed ? "committed" : (valid ? "validated" : "rejected"))
+                    .with("count", resources).with("ms", System.currentTimeMillis() - start)
+                    .log("Import into project finished");
+
+                res.setStatus(valid ? HttpServletResponse.SC_OK : HttpServletResponse.SC_BAD_REQUEST);
+                return response;
+
+            } catch (Exception e) {
+                logger.error("Error handling import request", e);
+
+                // Log failed audit event
+                SecurityUtil.logAudit(context, AUDIT_ACTION_IMPORT, user, req.getRequest().getRemoteAddr(),
+                    "Project: " + projectName + ", Error: " + e.getMessage(), false);
+
+                res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Failed to import: " + e.getMessage());
+            } finally {
+                deleteRecursively(stagingDir);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the zip, staging files and validating views.
+     *
+     * @return An error message if the archive as a whole is unacceptable, otherwise null
+     */
+    private static String stage(InputStream body, File dataDir, String projectName, Path stagingDir,
+                                List<StagedResource> staged) throws IOException, InterruptedException {
+        Semaphore pendingValidations = new Semaphore(MAX_PENDING_VALIDATIONS);
+        List<Future<?>> validations = new ArrayList<>();
+        long totalSize = 0;
+        int entries = 0;
+
+        try (ZipInputStream zip = new ZipInputStream(body)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (++entries > MAX_ENTRIES) {
+                    return "Too many entries in archive (max " + MAX_ENTRIES + ")";
+                }
+
+                StagedResource resource = new StagedResource(entry.getName());
+                staged.add(resource);
+
+                ProjectResources.Type type = ProjectResources.Type.forArchiveEntry(resource.name);
+                if (type == null) {
+                    resource.status = STATUS_SKIPPED;
+                    resource.errors.add("Not under views/, scripts/ or queries/");
+                    continue;
+                }
+                resource.type = type;
+
+                Path target = resolveTarget(dataDir, projectName, type, resource.name);
+                if (target == null) {
+                    resource.status = STATUS_INVALID;
+                    resource.errors.add("Invalid entry path");
+                    continue;
+                }
+                resource.target = target;
+
+                Path stagedFile = stagingDir.resolve("new").resolve(String.valueOf(staged.size()));
+                Files.createDirectories(stagedFile.getParent());
+
+                // Only view content is kept in memory (for validation); other files are copied through
+                boolean isView = type == ProjectResources.Type.VIEW
+                    && target.getFileName().toString().equals(type.getDataFile());
+                if (isView) {
+                    // e.g. "views/Main/Header/view.json" -> "Main/Header"
+                    String relative = resource.name.substring(type.getArchivePrefix().length() + 1);
+                    int end = relative.length() - type.getDataFile().length() - 1;
+                    resource.viewPath = end > 0 ? relative.substring(0, end) : null;
+                }
+                byte[] content = null;
+                long size;
+                if (isView) {
+                    content = readEntry(zip);
+                    size = content != null ? content.length : -1;
+                    if (content != null) {
+                        Files.write(stagedFile, content);
+                    }
+                } else {
+                    size = copyEntry(zip, stagedFile);
+                }
+
+                if (size < 0) {
+                    resource.status = STATUS_INVALID;
+                    resource.errors.add("Entry too large (max " + MAX_ENTRY_SIZE + " bytes)");
+                    Files.deleteIfExists(stagedFile);
+                    continue;
+                }
+                totalSize += size;
+                if (totalSize > MAX_TOTAL_SIZE) {
+                    return "Archive too large (max " + MAX_TOTAL_SIZE + " bytes uncompressed)";
+                }
+                resource.stagedFile = stagedFile;
+
+                if (isView) {
+                    byte[] viewContent = content;
+                    pendingValidations.acquire();
+                    validations.add(validationPool.submit(() -> {
+                        try {
+                            validateView(resource, viewContent);
+                        } finally {
+                            pendingValidations.release();
+                        }
+                    }));
+                }
+            }
+        }
+
+        for (Future<?> validation : validations) {
+            try {
+                validation.get();
+            } catch (ExecutionException e) {
+                throw new IOException("View validation failed", e.getCause());
+            }
+        }
+        return null;
+    }
+
+    private static void validateView(StagedResource resource, byte[] content) {
+        // Unchanged views (e.g. re-importing an export) hit the validation cache
+        ViewValidator.ValidationResult result = ViewValidator.validateContent(content);
+        if (!result.isValid()) {
+            resource.status = STATUS_INVALID;
+            resource.errors.addAll(result.getErrors());
+        }
+        resource.warnings.addAll(result.getWarnings());
+    }
+
+    /**
+     * Move staged files into the project, restoring already moved files if any step fails.
+     *
+     * Updated views get a history revision before they are replaced, as in ProjectHandler.handlePutView.
+     */
+    private static void commit(List<StagedResource> staged, Path stagingDir, File dataDir, String projectName,
+                               String user) throws IOException {
+        Path backupDir = stagingDir.resolve("backup");
+        List<StagedResource> done = new ArrayList<>();
+
+        try {
+            for (StagedResource resource : staged) {
+                if (resource.stagedFile == null) {
+                    continue;
+                }
+                Files.createDirectories(resource.target.getParent());
+                if (Files.exists(resource.target)) {
+                    resource.backupFile = backupDir.resolve(String.valueOf(done.size()));
+                    if (resource.viewPath != null && ViewHistory.isEnabled()) {
+                        // Write-ahead: recorded before the current view.json is moved away
+                        resource.revision = recordRevision(resource, dataDir, projectName, user);
+                    }
+                    // Rolled back from here on (a backup that was never made is skipped)
+                    done.add(resource);
+                    Files.createDirectories(backupDir);
+                    move(resource.target, resource.backupFile);
+                    resource.status = STATUS_UPDATED;
+                } else {
+                    done.add(resource);
+                    resource.status = STATUS_CREATED;
+                }
+                move(resource.stagedFile, resource.target);
+                FingerprintService.invalidate(resource.target);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Anything failing part way (I/O, a history record, ...) undoes the moves made so far
+            logger.error("Import commit failed, rolling back {} files", done.size(), e);
+            rollback(done, dataDir, projectName);
+            throw e;
+        }
+    }
+
+    private static long recordRevision(StagedResource resource, File dataDir, String projectName, String user)
+            throws IOException {
+        byte[] content = Files.readAllBytes(resource.stagedFile);
+        JsonElement viewContent = JsonParser.parseString(new String(content, StandardCharsets.UTF_8));
+        return ViewHistory.recordRevision(dataDir, projectName, resource.viewPath, resource.target,
+            FingerprintService.fingerprintFile(resource.target), viewContent, FingerprintService.fingerprint(content),
+            content.length, user);
+    }
+
+    private static void rollback(List<StagedResource> done, File dataDir, String projectName) {
+        for (int i = done.size() - 1; i >= 0; i--) {
+            StagedResource resource = done.get(i);
+            try {
+                if (resource.backupFile != null) {
+                    if (Files.exists(resource.backupFile)) {
+                        move(resource.backupFile, resource.target);
+                    }
+                } else {
+                    Files.deleteIfExists(resource.target);
+                }
+                FingerprintService.invalidate(resource.target);
+            } catch (IOException e) {
+                logger.error("Failed to roll back {}", resource.target, e);
+            }
+            if (resource.revision > 0) {
+                ViewHistory.abortRevision(dataDir, projectName, resource.viewPath, resource.revision);
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Staging folder on another file store
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Map an archive entry to its file in the project, rejecting anything that escapes its type folder.
+     */
+    private static Path resolveTarget(File dataDir, String projectName, ProjectResources.Type type, String entryName) {
+        String relative = entryName.substring(type.getArchivePrefix().length() + 1);
+        if (relative.isEmpty() || relative.startsWith("/") || !SecurityUtil.isValidInput(relative)) {
+            return null;
+        }
+        Path root = ProjectResources.typeRoot(dataDir, projectName, type).normalize();
+        Path target = root.resolve(relative).normalize();
+        return target.startsWith(root) && !target.equals(root) ? target : null;
+    }
+
+    /**
+     * Read the current entry, or return null if it exceeds the entry size limit.
+     */
+    private static byte[] readEntry(ZipInputStream zip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = zip.read(buffer)) != -1) {
+            total += read;
+            if (total > MAX_ENTRY_SIZE) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Copy the current entry to a file, returning its size or -1 if it exceeds the entry size limit.
+     */
+    private static long copyEntry(ZipInputStream zip, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            while ((read = zip.read(buffer)) != -1) {
+                total += read;
+                if (total > MAX_ENTRY_SIZE) {
+                    return -1;
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return total;
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("Could not delete staging file {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not clean up staging folder {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * One archive entry and its outcome.
+     */
+    private static final class StagedResource {
+        final String name;
+        final List<String> errors = new ArrayList<>();
+        final List<String> warnings = new ArrayList<>();
+        ProjectResources.Type type;
+        // View path for view.json entries, otherwise null
+        String viewPath;
+        Path target;
+        Path stagedFile;
+        Path backupFile;
+        // History revision recorded for an updated view, 0 if none
+        long revision;
+        volatile String status;
+
+        StagedResource(String name) {
+            this.name = name;
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("entry", name);
+            if (type != null) {
+                json.addProperty("type", type.getArchivePrefix());
+            }
+            json.addProperty("status", status != null ? status : STATUS_INVALID);
+            if (!errors.isEmpty()) {
+                JsonArray errorArray = new JsonArray();
+                errors.forEach(errorArray::add);
+                json.add("errors", errorArray);
+            }
+            if (!warnings.isEmpty()) {
+                JsonArray warningArray = new JsonArray();
+                warnings.forEach(warningArray::add);
+                json.add("warnings", warningArray);
+            }
+            return json;
+        }
+    }
+}
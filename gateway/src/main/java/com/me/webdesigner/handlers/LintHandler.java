@@ -0,0 +1,339 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.stream.JsonWriter;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.CompressionUtil;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.FingerprintService;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ProjectResources;
+import com.me.webdesigner.util.ResponseUtil;
+import com.me.webdesigner.util.SecurityUtil;
+import com.me.webdesigner.util.ViewValidator;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Handler for project health scan API endpoints.
+ *
+ * Handles:
+ * - GET /api/v1/projects/{name}/lint - Validate every view in a project
+ *
+ * Every view.json in the project is validated with ViewValidator on a bounded fork-join
+ * pool shared by all scans. Results are streamed in completion order and flushed
+ * periodically, followed by totals, so clients can show progress on large projects.
+ *
+ * Results are cached until files change: file fingerprints are cached by mtime and size
+ * (FingerprintService) and validation results by fingerprint (ViewValidator), so views
+ * that were scanned, imported or saved through the Web Designer since their last change
+ * are neither read nor parsed again.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.lint.parallelism   - validation pool parallelism (default: available processors)
+ * - webdesigner.lint.flushInterval - ms between progress flushes (default: 250)
+ */
+public final class LintHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LintHandler.class);
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(LintHandler.class);
+
+    // Audit event types
+    private static final String AUDIT_ACTION_LINT = "WebDesigner.Project.Lint";
+
+    // Configuration
+    private static final int PARALLELISM = Integer.getInteger("webdesigner.lint.parallelism",
+        Runtime.getRuntime().availableProcessors());
+    private static final long FLUSH_INTERVAL_MS = Long.getLong("webdesigner.lint.flushInterval", 250L);
+
+    // View result statuses
+    private static final String STATUS_VALID = "valid";
+    private static final String STATUS_INVALID = "invalid";
+    private static final String STATUS_UNREADABLE = "unreadable";
+
+    // Shared validation pool (workers are started on demand and retire when idle)
+    private static final ForkJoinPool lintPool = new ForkJoinPool(PARALLELISM, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("webdesigner-lint-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    // Private constructor - utility class
+    private LintHandler() {
+    }
+
+    /**
+     * Stop the validation pool (module shutdown).
+     */
+    public static void shutdown() {
+        lintPool.shutdownNow();
+    }
+
+    /**
+     * Handle GET /api/v1/projects/{name}/lint endpoint.
+     *
+     * Streams {"project": ..., "total": n, "views": [...], "summary": {...}} where each view
+     * is {"path", "status"[, "errors"][, "warnings"]}. Returns an error object only if the
+     * scan could not be started.
+     */
+    public static JsonObject handleLint(RequestContext req, HttpServletResponse res, PathParams params) {
+        // Get GatewayContext from RequestContext
+        GatewayContext context = req.getGatewayContext();
+
+        String projectName = params.get("project");
+
+        requestLog.atInfo().sampled().with("project", projectName).log("GET /api/v1/projects/{name}/lint requested");
+
+        // Check authentication
+        String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
+        if (user == null) {
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
+        }
+
+        // Validate project name
+        if (!SecurityUtil.isValidInput(projectName)) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        }
+
+        File dataDir = context.getSystemManager().getDataDir();
+        if (!Files.isDirectory(ProjectResources.projectDir(dataDir, projectName))) {
+            res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_NOT_FOUND,
+                "Project not found: " + projectName);
+        }
+
+        long start = System.currentTimeMillis();
+
+        List<Path> viewFiles;
+        Path viewsRoot = ProjectResources.typeRoot(dataDir, projectName, ProjectResources.Type.VIEW);
+        try {
+            viewFiles = findViews(viewsRoot);
+        } catch (IOException e) {
+            logger.error("Error listing views of project '{}'", projectName, e);
+            res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                "Failed to list views: " + e.getMessage());
+        }
+
+        // Start all validations, then stream results as they complete
+        CompletionService<ViewResult> completion = new ExecutorCompletionService<>(lintPool);
+        List<Future<ViewResult>> pending = new ArrayList<>(viewFiles.size());
+        for (Path viewFile : viewFiles) {
+            String viewPath = viewsRoot.relativize(viewFile.getParent()).toString().replace("\\", "/");
+            pending.add(completion.submit(() -> lint(viewPath, viewFile)));
+        }
+
+        res.setStatus(HttpServletResponse.SC_OK);
+        res.setContentType("application/json;charset=UTF-8");
+        res.addHeader("Vary", "Accept-Encoding");
+
+        Summary summary = new Summary();
+        boolean success = false;
+        try {
+            OutputStream out = res.getOutputStream();
+            String encoding = CompressionUtil.negotiate(req.getRequest().getHeader("Accept-Encoding"));
+            if (encoding != null) {
+                res.setHeader("Content-Encoding", encoding);
+                out = CompressionUtil.wrap(out, encoding, true);
+            }
+
+            try (JsonWriter writer = new JsonWriter(new BufferedWriter(
+                    new OutputStreamWriter(out, StandardCharsets.UTF_8)))) {
+                writer.beginObject();
+                writer.name("project").value(projectName);
+                writer.name("total").value(viewFiles.size());
+                writer.name("views").beginArray();
+
+                long lastFlush = System.currentTimeMillis();
+                for (int i = 0; i < viewFiles.size(); i++) {
+                    ViewResult result = completion.take().get();
+                    summary.add(result);
+                    result.write(writer);
+
+                    long now = System.currentTimeMillis();
+                    if (now - lastFlush >= FLUSH_INTERVAL_MS) {
+                        writer.flush();
+                        lastFlush = now;
+                    }
+                }
+
+                writer.endArray();
+                summary.write(writer, System.currentTimeMillis() - start);
+                writer.endObject();
+            }
+            success = true;
+
+            requestLog.atInfo().sampled().with("count", viewFiles.size()).with("project", projectName)
+                .with("ms", System.currentTimeMillis() - start).with("invalid", summary.invalid)
+                .with("cached", summary.cached).log("Scanned project views");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Scan of project '{}' interrupted", projectName);
+        } catch (IOException | ExecutionException e) {
+            // Headers are committed; the client sees a truncated body
+            logger.error("Error streaming scan results for project '{}'", projectName, e);
+        } finally {
+            for (Future<ViewResult> future : pending) {
+                future.cancel(false);
+            }
+        }
+
+        // Log audit event
+        SecurityUtil.logAudit(context, AUDIT_ACTION_LINT, user, req.getRequest().getRemoteAddr(),
+            "Project: " + projectName + ", Views: " + viewFiles.size() + ", Invalid: " + summary.invalid, success);
+
+        return null;
+    }
+
+    private static List<Path> findViews(Path viewsRoot) throws IOException {
+        List<Path> viewFiles = new ArrayList<>();
+        if (!Files.isDirectory(viewsRoot)) {
+            return viewFiles;
+        }
+        // Not only regular files: a view.json that can't be read (e.g. a dangling link) is reported
+        try (Stream<Path> paths = Files.walk(viewsRoot)) {
+            paths.filter(path -> path.getFileName().toString().equals("view.json") && !Files.isDirectory(path))
+                .forEach(viewFiles::add);
+        }
+        return viewFiles;
+    }
+
+    /**
+     * Validate one view (runs on the lint pool).
+     */
+    private static ViewResult lint(String viewPath, Path viewFile) {
+        try {
+            // Unchanged since last validated: no read, no parse
+            String etag = FingerprintService.cachedFingerprint(viewFile);
+            if (etag != null) {
+                ViewValidator.ValidationResult cached = ViewValidator.getCachedResult(etag);
+                if (cached != null) {
+                    return new ViewResult(viewPath, cached, null, true);
+                }
+            }
+
+            FingerprintService.FileContent file = FingerprintService.read(viewFile);
+            return new ViewResult(viewPath, ViewValidator.validateContent(file.bytes, file.etag), null, false);
+
+        } catch (IOException e) {
+            logger.debug("Could not read view '{}': {}", viewPath, e.getMessage());
+            return new ViewResult(viewPath, null, e.getMessage(), false);
+        }
+    }
+
+    /**
+     * Outcome of validating one view.
+     */
+    private static final class ViewResult {
+        final String path;
+        final ViewValidator.ValidationResult validation;
+        final String readError;
+        final boolean cached;
+
+        ViewResult(String path, ViewValidator.ValidationResult validation, String readError, boolean cached) {
+            this.path = path;
+            this.validation = validation;
+            this.readError = readError;
+            this.cached = cached;
+        }
+
+        String status() {
+            if (validation == null) {
+                return STATUS_UNREADABLE;
+            }
+            return validation.isValid() ? STATUS_VALID : STATUS_INVALID;
+        }
+
+        void write(JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("path").value(path);
+            writer.name("status").value(status());
+            if (validation == null) {
+                writer.name("errors").beginArray().value("Could not read view: " + readError).endArray();
+            } else {
+                writeList(writer, "errors", validation.getErrors());
+                writeList(writer, "warnings", validation.getWarnings());
+            }
+            writer.endObject();
+        }
+
+        private static void writeList(JsonWriter writer, String name, List<String> values) throws IOException {
+            if (values.isEmpty()) {
+                return;
+            }
+            writer.name(name).beginArray();
+            for (String value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        }
+    }
+
+    /**
+     * Totals over all views of a scan.
+     */
+    private static final class Summary {
+        int views;
+        int valid;
+        int invalid;
+        int unreadable;
+        int errors;
+        int warnings;
+        int cached;
+
+        void add(ViewResult result) {
+            views++;
+            if (result.cached) {
+                cached++;
+            }
+            if (result.validation == null) {
+                unreadable++;
+                return;
+            }
+            if (result.validation.isValid()) {
+                valid++;
+            } else {
+                invalid++;
+            }
+            errors += result.validation.getErrors().size();
+            warnings += result.validation.getWarnings().size();
+        }
+
+        void write(JsonWriter writer, long durationMs) throws IOException {
+            writer.name("summary").beginObject();
+            writer.name("views").value(views);
+            writer.name("valid").value(valid);
+            writer.name("invalid").value(invalid);
+            writer.name("unreadable").value(unreadable);
+            writer.name("errors").value(errors);
+            writer.name("warnings").value(warnings);
+            writer.name("cached").value(cached);
+            writer.name("durationMs").value(durationMs);
+            writer.endObject();
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.me.webdesigner.handlers;
 
 import com.inductiveautomation.ignition.common.gson.*;
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import com.inductiveautomation.ignition.common.gson.stream.JsonToken;
 import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
 import com.inductiveautomation.ignition.gateway.model.GatewayContext;
 import com.inductiveautomation.ignition.gateway.project.ProjectManager;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.FingerprintService;
+import com.me.webdesigner.util.JsonSerializer;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.ProjectResources;
 import com.me.webdesigner.util.ResponseUtil;
 import com.me.webdesigner.util.SecurityUtil;
-import jakarta.servlet.http.HttpServletRequest;
+import com.me.webdesigner.util.SingleFlight;
+import com.me.webdesigner.util.StreamingViewValidator;
+import com.me.webdesigner.util.ViewDependencies;
+import com.me.webdesigner.util.ViewHistory;
+import com.me.webdesigner.util.ViewValidator;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.File;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handler for project and view-related API endpoints.
@@ -27,18 +39,17 @@ import java.util.regex.Pattern;
  * Handles:
  * - GET /api/v1/projects - List all projects
  * - GET /api/v1/projects/{name}/views - List views in a project
- * - GET /api/v1/projects/{name}/view?path=... - Get specific view
+ * - GET /api/v1/projects/{name}/view?path=...[&include=dependencies] - Get specific view
  * - PUT /api/v1/projects/{name}/view?path=... - Save view
  */
 public final class ProjectHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectHandler.class);
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(ProjectHandler.class);
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
-    // Route patterns for path parameter extraction
-    private static final Pattern VIEWS_PATTERN = Pattern.compile("^/api/v1/projects/([^/]+)/views$");
-    private static final Pattern VIEW_PATTERN = Pattern.compile("^/api/v1/projects/([^/]+)/view$");
-
     // Audit event types
     private static final String AUDIT_ACTION_VIEW_READ = "WebDesigner.View.Read";
     private static final String AUDIT_ACTION_VIEW_WRITE = "WebDesigner.View.Write";
@@ -57,7 +68,7 @@ public final class ProjectHandler {
      * Filters to only include projects with Perspective views (excludes Vision-only projects).
      */
     public static JsonObject handleGetProjects(RequestContext req, HttpServletResponse res) {
-        logger.info("GET /api/v1/projects requested");
+        requestLog.atInfo().sampled().log("GET /api/v1/projects requested");
 
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
@@ -65,7 +76,7 @@ public final class ProjectHandler {
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         try {
@@ -98,7 +109,8 @@ public final class ProjectHandler {
                         });
                 }
 
-                logger.info("Found {} Perspective projects via filesystem scan for user {}", projectsArray.size(), user);
+                requestLog.atInfo().sampled().with("count", projectsArray.size()).with("user", user)
+                    .log("Found Perspective projects via filesystem scan");
             } else {
                 logger.warn("Projects directory not found: {}", projectsBasePath);
                 response.addProperty("error", "Projects directory not found on Gateway");
@@ -121,32 +133,23 @@ public final class ProjectHandler {
      *
      * Returns a list of all Perspective views in the specified project.
      */
-    public static JsonObject handleGetProjectViews(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleGetProjectViews(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String path = req.getRequest().getRequestURI();
-        Matcher matcher = VIEWS_PATTERN.matcher(path);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
-        logger.info("GET /api/v1/projects/{}/views requested", projectName);
+        String projectName = params.get("project");
+        requestLog.atInfo().sampled().with("project", projectName).log("GET /api/v1/projects/{name}/views requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate project name
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         try {
@@ -169,54 +172,13 @@ public final class ProjectHandler {
 
             // Check if project/views directory exists
             if (Files.exists(viewsBasePath) && Files.isDirectory(viewsBasePath)) {
-                // Recursively find all view.json files
-                try {
-                    java.util.stream.Stream<Path> paths = Files.walk(viewsBasePath);
-                    paths
-                        .filter(Files::isRegularFile)
-                        .filter(filePath -> filePath.getFileName().toString().equals("view.json"))
-                        .forEach(viewJsonPath -> {
-                            try {
-                                // Get parent directory (the view directory)
-                                Path viewDir = viewJsonPath.getParent();
-                                // Calculate relative path from views base
-                                Path relativView = viewsBasePath.relativize(viewDir);
-                                String viewPath = relativView.toString().replace("\\", "/");
-
-                                // Create view object with metadata
-                                JsonObject viewObj = new JsonObject();
-                                viewObj.addProperty("path", viewPath);
-                                viewObj.addProperty("name", viewDir.getFileName().toString());
-
-                                // Try to read view title from view.json if possible
-                                try {
-                                    byte[] viewBytes = Files.readAllBytes(viewJsonPath);
-                                    String viewContent = new String(viewBytes, StandardCharsets.UTF_8);
-                                    JsonObject viewJson = JsonParser.parseString(viewContent).getAsJsonObject();
-
-                                    // Try to extract title from params or meta
-                                    if (viewJson.has("params") && viewJson.get("params").isJsonObject()) {
-                                        JsonObject params = viewJson.getAsJsonObject("params");
-                                        if (params.has("title")) {
-                                            viewObj.addProperty("title", params.get("title").getAsString());
-                                        }
-                                    }
-                                } catch (Exception parseEx) {
-                                    // Ignore parsing errors, just add basic info
-                                    logger.debug("Could not parse view.json for metadata: {}", viewJsonPath);
-                                }
+                // Concurrent listings of the same project share one walk
+                String validator = String.valueOf(Files.getLastModifiedTime(viewsBasePath).toMillis());
+                viewsArray = SingleFlight.execute("views", projectName, "", validator,
+                    () -> listViews(viewsBasePath));
 
-                                viewsArray.add(viewObj);
-                            } catch (Exception e) {
-                                logger.warn("Error processing view at {}: {}", viewJsonPath, e.getMessage());
-                            }
-                        });
-                    paths.close();
-                } catch (Exception walkEx) {
-                    logger.error("Error walking views directory", walkEx);
-                }
-
-                logger.info("Found {} views in project '{}'", viewsArray.size(), projectName);
+                requestLog.atInfo().sampled().with("count", viewsArray.size()).with("project", projectName)
+                    .log("Found views in project");
             } else {
                 logger.warn("Views directory not found: {}", viewsBasePath);
                 response.addProperty("note", "Project does not exist or has no Perspective views");
@@ -235,44 +197,94 @@ public final class ProjectHandler {
         }
     }
 
+    /**
+     * Walk a project's views directory and list each view's path, name and title.
+     *
+     * The returned array may be shared between concurrent requests (SingleFlight).
+     */
+    private static JsonArray listViews(Path viewsBasePath) {
+        JsonArray viewsArray = new JsonArray();
+
+        // Recursively find all view.json files
+        try {
+            java.util.stream.Stream<Path> paths = Files.walk(viewsBasePath);
+            paths
+                .filter(Files::isRegularFile)
+                .filter(filePath -> filePath.getFileName().toString().equals("view.json"))
+                .forEach(viewJsonPath -> {
+                    try {
+                        // Get parent directory (the view directory)
+                        Path viewDir = viewJsonPath.getParent();
+                        // Calculate relative path from views base
+                        Path relativView = viewsBasePath.relativize(viewDir);
+                        String viewPath = relativView.toString().replace("\\", "/");
+
+                        // Create view object with metadata
+                        JsonObject viewObj = new JsonObject();
+                        viewObj.addProperty("path", viewPath);
+                        viewObj.addProperty("name", viewDir.getFileName().toString());
+
+                        // Try to read view title from view.json if possible
+                        try {
+                            byte[] viewBytes = Files.readAllBytes(viewJsonPath);
+                            String viewContent = new String(viewBytes, StandardCharsets.UTF_8);
+                            JsonObject viewJson = JsonParser.parseString(viewContent).getAsJsonObject();
+
+                            // Try to extract title from params or meta
+                            if (viewJson.has("params") && viewJson.get("params").isJsonObject()) {
+                                JsonObject params = viewJson.getAsJsonObject("params");
+                                if (params.has("title")) {
+                                    viewObj.addProperty("title", params.get("title").getAsString());
+                                }
+                            }
+                        } catch (Exception parseEx) {
+                            // Ignore parsing errors, just add basic info
+                            logger.debug("Could not parse view.json for metadata: {}", viewJsonPath);
+                        }
+
+                        viewsArray.add(viewObj);
+                    } catch (Exception e) {
+                        logger.warn("Error processing view at {}: {}", viewJsonPath, e.getMessage());
+                    }
+                });
+            paths.close();
+        } catch (Exception walkEx) {
+            logger.error("Error walking views directory", walkEx);
+        }
+
+        return viewsArray;
+    }
+
     /**
      * Handle GET /api/v1/projects/{name}/view?path=... endpoint.
      *
      * Returns the content of a specific view.json file with ETag header.
      */
-    public static JsonObject handleGetView(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleGetView(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = VIEW_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
+        String projectName = params.get("project");
         String viewPath = req.getRequest().getParameter("path");
 
-        logger.info("GET /api/v1/projects/{}/view?path={} requested", projectName, viewPath);
+        requestLog.atInfo().sampled().with("project", projectName).with("path", viewPath)
+            .log("GET /api/v1/projects/{name}/view requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate parameters
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         if (!SecurityUtil.isValidInput(viewPath)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
         }
 
         try {
@@ -295,26 +307,27 @@ public final class ProjectHandler {
                     "View not found: " + viewPath + " in project: " + projectName);
             }
 
-            // Read file content
-            byte[] fileBytes = Files.readAllBytes(viewFilePath);
-            String contentStr = new String(fileBytes, StandardCharsets.UTF_8);
-
-            // Parse JSON to validate and extract content
-            JsonParser parser = new JsonParser();
-            JsonElement contentElement = parser.parse(contentStr);
+            // Read and parse file content (fingerprint is cached for later If-Match checks);
+            // concurrent requests for the same version of the file share one read and parse
+            BasicFileAttributes attributes = Files.readAttributes(viewFilePath, BasicFileAttributes.class);
+            String validator = attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+            ParsedView parsed = SingleFlight.execute("view", projectName, viewPath, validator,
+                () -> readView(viewFilePath));
+            FingerprintService.FileContent file = parsed.file;
+            JsonElement contentElement = parsed.content;
 
             // View file should contain a JSON object
             if (!contentElement.isJsonObject()) {
                 logger.error("View file is not a valid JSON object: {}", viewFilePath);
                 res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                return ErrorHandler.fixedError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                     "Invalid view file format");
             }
 
             JsonObject viewContent = contentElement.getAsJsonObject();
 
-            // Calculate ETag for optimistic concurrency control
-            String etag = ResponseUtil.calculateHash(contentStr);
+            // ETag for optimistic concurrency control
+            String etag = file.etag;
 
             // Build response
             JsonObject response = new JsonObject();
@@ -322,6 +335,15 @@ public final class ProjectHandler {
             response.addProperty("path", viewPath);
             response.add("content", viewContent);
 
+            // Embedded views, transitively (?include=dependencies)
+            if ("dependencies".equals(req.getRequest().getParameter("include"))) {
+                ViewDependencies.update(dataDir, projectName, viewPath, viewContent, file.bytes.length);
+                addDependencies(response, dataDir, projectName, viewPath);
+
+                // Body also depends on the embedded views, not just this view's ETag
+                ResponseUtil.disableBodyCache(req.getRequest());
+            }
+
             // Set ETag header for optimistic concurrency
             res.setHeader("ETag", "\"" + etag + "\"");
 
@@ -329,7 +351,8 @@ public final class ProjectHandler {
             SecurityUtil.logAudit(context, AUDIT_ACTION_VIEW_READ, user, req.getRequest().getRemoteAddr(),
                 "Project: " + projectName + ", View: " + viewPath, true);
 
-            logger.info("Successfully loaded view '{}' from project '{}'", viewPath, projectName);
+            requestLog.atInfo().sampled().with("path", viewPath).with("project", projectName)
+                .log("Successfully loaded view");
 
             res.setStatus(HttpServletResponse.SC_OK);
             return response;
@@ -342,77 +365,113 @@ public final class ProjectHandler {
         }
     }
 
+    /**
+     * A view file as read and parsed for GET /view, shared between concurrent requests.
+     */
+    private static final class ParsedView {
+        final FingerprintService.FileContent file;
+        final JsonElement content;
+
+        ParsedView(FingerprintService.FileContent file, JsonElement content) {
+            this.file = file;
+            this.content = content;
+        }
+    }
+
+    private static ParsedView readView(Path viewFilePath) throws IOException {
+        FingerprintService.FileContent file = FingerprintService.read(viewFilePath);
+        String contentStr = new String(file.bytes, StandardCharsets.UTF_8);
+
+        // Parse JSON to validate and extract content
+        return new ParsedView(file, JsonParser.parseString(contentStr));
+    }
+
     /**
      * Handle PUT /api/v1/projects/{name}/view?path=... endpoint.
      *
      * Saves the content of a specific view.json file with optimistic concurrency control.
+     * The view is validated in a streaming pass over the body (StreamingViewValidator) and
+     * only parsed into a JsonObject once it passes.
      */
-    public static JsonObject handlePutView(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handlePutView(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = VIEW_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
+        String projectName = params.get("project");
         String viewPath = req.getRequest().getParameter("path");
 
-        logger.info("PUT /api/v1/projects/{}/view?path={} requested", projectName, viewPath);
+        requestLog.atInfo().sampled().with("project", projectName).with("path", viewPath)
+            .log("PUT /api/v1/projects/{name}/view requested");
 
         // Check authentication AND authorization (write requires Designer role)
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, true);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication/Authorization required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication/Authorization required");
         }
 
         // Validate parameters
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         if (!SecurityUtil.isValidInput(viewPath)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid view path");
         }
 
         try {
-            // Read request body with size limit
-            HttpServletRequest servletReq = req.getRequest();
-            BufferedReader reader = servletReq.getReader();
-            StringBuilder requestBody = new StringBuilder();
-            String line;
-            int totalChars = 0;
-
-            while ((line = reader.readLine()) != null) {
-                totalChars += line.length();
-                if (totalChars > MAX_BODY_SIZE) {
-                    res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
-                    return ResponseUtil.createErrorResponse(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
-                        "Request body too large (max 2 MB)");
+            // Validate the view while the body is read; nothing is materialized until it passes
+            CapturingReader body = new CapturingReader(req.getRequest().getReader(), MAX_BODY_SIZE);
+            JsonReader jsonReader = new JsonReader(body);
+            // Same leniency as JsonParser.parseString
+            jsonReader.setLenient(true);
+
+            ViewValidator.ValidationResult validation;
+            try {
+                if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                    res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                    return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST,
+                        "Request body must be a JSON object");
                 }
-                requestBody.append(line);
-            }
 
-            if (requestBody.length() == 0) {
+                validation = StreamingViewValidator.validateMember(jsonReader, "content");
+                if (validation != null && validation.isValid()) {
+                    // Read any remainder so the captured text is the whole body
+                    body.drain();
+                }
+            } catch (BodyTooLargeException e) {
+                res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return ErrorHandler.fixedError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Request body too large (max 2 MB)");
+            } catch (IOException | IllegalStateException e) {
                 res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
+                if (body.captured().trim().isEmpty()) {
+                    return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
+                }
+                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                    "Invalid JSON in request body: " + e.getMessage());
             }
 
-            // Parse JSON body
-            JsonObject requestJson = JsonParser.parseString(requestBody.toString()).getAsJsonObject();
-            if (!requestJson.has("content")) {
+            if (validation == null) {
                 res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST,
                     "Missing 'content' field in request body");
             }
 
+            if (!validation.isValid()) {
+                logger.warn("Rejected invalid view '{}' in project '{}': {}",
+                    viewPath, projectName, validation.getErrors());
+                res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                JsonObject invalidResponse = ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                    "View validation failed");
+                invalidResponse.add("errors", gson.toJsonTree(validation.getErrors()));
+                invalidResponse.add("warnings", gson.toJsonTree(validation.getWarnings()));
+                return invalidResponse;
+            }
+
+            // Parse JSON body (already validated)
+            JsonObject requestJson = JsonParser.parseString(body.captured()).getAsJsonObject();
             JsonElement viewContent = requestJson.get("content");
 
             // Get Gateway data directory
@@ -433,10 +492,8 @@ public final class ProjectHandler {
                     "View not found: " + viewPath + " in project: " + projectName);
             }
 
-            // Read current file content for ETag validation
-            byte[] currentFileBytes = Files.readAllBytes(viewFilePath);
-            String currentContentStr = new String(currentFileBytes, StandardCharsets.UTF_8);
-            String currentEtag = ResponseUtil.calculateHash(currentContentStr);
+            // Current ETag for validation (cached by path, mtime and size - no re-read if unchanged)
+            String currentEtag = FingerprintService.fingerprintFile(viewFilePath);
 
             // Check If-Match header for optimistic concurrency control
             String ifMatch = req.getRequest().getHeader("If-Match");
@@ -455,15 +512,36 @@ public final class ProjectHandler {
                 }
             }
 
-            // Serialize new content
-            String newContentStr = gson.toJson(viewContent);
-            byte[] newContentBytes = newContentStr.getBytes(StandardCharsets.UTF_8);
+            // Serialize new content (pretty-printed like the Designer, unless the project saves compact)
+            byte[] newContentBytes = JsonSerializer.toBytes(viewContent, JsonSerializer.viewFormat(projectName));
+
+            String newEtag = FingerprintService.fingerprint(newContentBytes);
+
+            // Record the revision before overwriting (write-ahead history)
+            long revision = 0;
+            if (ViewHistory.isEnabled()) {
+                revision = ViewHistory.recordRevision(dataDir, projectName, viewPath, viewFilePath,
+                    currentEtag, viewContent, newEtag, newContentBytes.length, user);
+            }
 
             // Write to file
-            Files.write(viewFilePath, newContentBytes);
+            try {
+                Files.write(viewFilePath, newContentBytes);
+            } catch (Exception writeEx) {
+                if (revision > 0) {
+                    ViewHistory.abortRevision(dataDir, projectName, viewPath, revision);
+                }
+                throw writeEx;
+            }
+
+            // Cache the new ETag for the next save's If-Match check
+            FingerprintService.recordWritten(viewFilePath, newContentBytes.length, newEtag);
 
-            // Calculate new ETag
-            String newEtag = ResponseUtil.calculateHash(newContentStr);
+            // The saved content is known valid - project scans and imports can reuse the result
+            ViewValidator.cacheResult(newEtag, validation);
+
+            // Keep the embedded-view graph current without re-reading the file
+            ViewDependencies.update(dataDir, projectName, viewPath, viewContent, newContentBytes.length);
 
             // Log audit event
             SecurityUtil.logAudit(context, AUDIT_ACTION_VIEW_WRITE, user, req.getRequest().getRemoteAddr(),
@@ -479,6 +557,12 @@ public final class ProjectHandler {
             response.addProperty("path", viewPath);
             response.addProperty("message", "View saved successfully");
             response.addProperty("size", newContentBytes.length);
+            if (revision > 0) {
+                response.addProperty("revision", revision);
+            }
+            if (validation.hasWarnings()) {
+                response.add("warnings", gson.toJsonTree(validation.getWarnings()));
+            }
 
             // Set new ETag header
             res.setHeader("ETag", "\"" + newEtag + "\"");
@@ -506,6 +590,39 @@ public final class ProjectHandler {
         }
     }
 
+    /**
+     * Add the transitive closure of embedded views to a view response.
+     *
+     * Adds "dependencies" ([{path, etag, content}]) and "missing" (referenced paths
+     * that don't exist or can't be read).
+     */
+    private static void addDependencies(JsonObject response, File dataDir, String projectName, String viewPath) {
+        JsonArray dependencies = new JsonArray();
+        JsonArray missing = new JsonArray();
+
+        for (String dependencyPath : ViewDependencies.closure(dataDir, projectName, viewPath)) {
+            Path dependencyFile = ProjectResources.dataFile(dataDir, projectName, ProjectResources.Type.VIEW,
+                dependencyPath);
+            try {
+                FingerprintService.FileContent file = FingerprintService.read(dependencyFile);
+                JsonElement content = JsonParser.parseString(new String(file.bytes, StandardCharsets.UTF_8));
+
+                JsonObject dependency = new JsonObject();
+                dependency.addProperty("path", dependencyPath);
+                dependency.addProperty("etag", file.etag);
+                dependency.add("content", content);
+                dependencies.add(dependency);
+            } catch (Exception e) {
+                logger.debug("Embedded view '{}' of '{}' not available: {}", dependencyPath, viewPath, e.getMessage());
+                missing.add(dependencyPath);
+            }
+        }
+
+        response.add("dependencies", dependencies);
+        response.add("missing", missing);
+        logger.debug("Resolved {} embedded views for '{}' ({} missing)", dependencies.size(), viewPath, missing.size());
+    }
+
     /**
      * Check if a project has Perspective enabled.
      *
@@ -622,4 +739,67 @@ public final class ProjectHandler {
         int lastSlash = resourcePath.lastIndexOf('/');
         return lastSlash >= 0 ? resourcePath.substring(lastSlash + 1) : resourcePath;
     }
+
+    /**
+     * Reader that keeps a copy of everything read through it, up to a size limit.
+     */
+    private static final class CapturingReader extends FilterReader {
+        private final int maxChars;
+        private final StringBuilder captured = new StringBuilder();
+
+        CapturingReader(Reader in, int maxChars) {
+            super(in);
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public int read() throws IOException {
+            char[] one = new char[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0];
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            int n = in.read(cbuf, off, len);
+            if (n > 0) {
+                if (captured.length() + n > maxChars) {
+                    throw new BodyTooLargeException();
+                }
+                captured.append(cbuf, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            char[] skipped = new char[(int) Math.min(n, 8192)];
+            int read = read(skipped, 0, skipped.length);
+            return Math.max(read, 0);
+        }
+
+        /**
+         * Read to the end of the underlying reader.
+         */
+        void drain() throws IOException {
+            char[] buffer = new char[8192];
+            while (read(buffer, 0, buffer.length) != -1) {
+                // Captured as a side effect
+            }
+        }
+
+        String captured() {
+            return captured.toString();
+        }
+    }
+
+    /**
+     * Thrown by CapturingReader when the request body exceeds its limit.
+     */
+    private static final class BodyTooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BodyTooLargeException() {
+            super("Request body too large");
+        }
+    }
 }
@@ -5,6 +5,8 @@ import com.inductiveautomation.ignition.common.gson.JsonObject;
 import com.inductiveautomation.ignition.common.gson.JsonParser;
 import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
 import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.PathParams;
 import com.me.webdesigner.util.ResponseUtil;
 import com.me.webdesigner.util.SecurityUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,8 +20,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handler for named query management API endpoints.
@@ -32,10 +32,9 @@ import java.util.regex.Pattern;
 public final class QueryHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(QueryHandler.class);
-
-    // Route patterns for path parameter extraction
-    private static final Pattern QUERIES_PATTERN = Pattern.compile("^/api/v1/projects/([^/]+)/queries$");
-    private static final Pattern QUERY_PATTERN = Pattern.compile("^/api/v1/projects/([^/]+)/query$");
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(QueryHandler.class);
 
     // Max request body size (2 MB)
     private static final int MAX_BODY_SIZE = 2 * 1024 * 1024;
@@ -49,33 +48,24 @@ public final class QueryHandler {
      *
      * Returns a list of all named queries in the project.
      */
-    public static JsonObject handleGetQueries(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleGetQueries(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = QUERIES_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
+        String projectName = params.get("project");
 
-        String projectName = matcher.group(1);
-
-        logger.info("GET /api/v1/projects/{}/queries requested", projectName);
+        requestLog.atInfo().sampled().with("project", projectName).log("GET /api/v1/projects/{name}/queries requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate project name
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         try {
@@ -148,7 +138,8 @@ public final class QueryHandler {
                     logger.error("Error walking queries directory", walkEx);
                 }
 
-                logger.info("Found {} queries in project '{}'", queriesArray.size(), projectName);
+                requestLog.atInfo().sampled().with("count", queriesArray.size()).with("project", projectName)
+                    .log("Found queries in project");
             } else {
                 logger.warn("Queries directory not found: {}", queriesBasePath);
                 response.addProperty("note", "Project does not exist or has no named queries");
@@ -172,39 +163,31 @@ public final class QueryHandler {
      *
      * Returns the content of a specific named query.
      */
-    public static JsonObject handleGetQuery(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleGetQuery(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = QUERY_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
+        String projectName = params.get("project");
         String queryPath = req.getRequest().getParameter("path");
 
-        logger.info("GET /api/v1/projects/{}/query?path={} requested", projectName, queryPath);
+        requestLog.atInfo().sampled().with("project", projectName).with("path", queryPath)
+            .log("GET /api/v1/projects/{name}/query requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate parameters
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         if (!SecurityUtil.isValidInput(queryPath)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid query path");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid query path");
         }
 
         try {
@@ -250,7 +233,8 @@ public final class QueryHandler {
                 }
             }
 
-            logger.info("Returned query content for project '{}', path '{}'", projectName, queryPath);
+            requestLog.atInfo().sampled().with("project", projectName).with("path", queryPath)
+                .log("Returned query content");
 
             res.setStatus(HttpServletResponse.SC_OK);
             return response;
@@ -268,39 +252,31 @@ public final class QueryHandler {
      *
      * Saves the content of a specific named query.
      */
-    public static JsonObject handlePutQuery(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handlePutQuery(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = QUERY_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
+        String projectName = params.get("project");
         String queryPath = req.getRequest().getParameter("path");
 
-        logger.info("PUT /api/v1/projects/{}/query?path={} requested", projectName, queryPath);
+        requestLog.atInfo().sampled().with("project", projectName).with("path", queryPath)
+            .log("PUT /api/v1/projects/{name}/query requested");
 
         // Check authentication AND authorization (write requires Designer role)
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, true);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication/Authorization required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication/Authorization required");
         }
 
         // Validate parameters
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         if (!SecurityUtil.isValidInput(queryPath)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid query path");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid query path");
         }
 
         try {
@@ -315,7 +291,7 @@ public final class QueryHandler {
                 totalChars += line.length();
                 if (totalChars > MAX_BODY_SIZE) {
                     res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
-                    return ResponseUtil.createErrorResponse(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    return ErrorHandler.fixedError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
                         "Request body too large (max 2 MB)");
                 }
                 requestBody.append(line);
@@ -323,14 +299,14 @@ public final class QueryHandler {
 
             if (requestBody.length() == 0) {
                 res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
+                return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
             }
 
             // Parse JSON body
             JsonObject requestJson = JsonParser.parseString(requestBody.toString()).getAsJsonObject();
             if (!requestJson.has("content")) {
                 res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST,
                     "Missing 'content' field in request body");
             }
 
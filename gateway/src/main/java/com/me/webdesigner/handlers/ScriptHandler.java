@@ -5,6 +5,8 @@ import com.inductiveautomation.ignition.common.gson.JsonObject;
 import com.inductiveautomation.ignition.common.gson.JsonParser;
 import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
 import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.PathParams;
 import com.me.webdesigner.util.ResponseUtil;
 import com.me.webdesigner.util.SecurityUtil;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,8 +20,6 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handler for script management API endpoints.
@@ -32,10 +32,9 @@ import java.util.regex.Pattern;
 public final class ScriptHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(ScriptHandler.class);
-
-    // Route patterns for path parameter extraction
-    private static final Pattern SCRIPTS_PATTERN = Pattern.compile("^/api/v1/projects/([^/]+)/scripts$");
-    private static final Pattern SCRIPT_PATTERN = Pattern.compile("^/api/v1/projects/([^/]+)/script$");
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(ScriptHandler.class);
 
     // Max request body size (2 MB)
     private static final int MAX_BODY_SIZE = 2 * 1024 * 1024;
@@ -49,33 +48,24 @@ public final class ScriptHandler {
      *
      * Returns a list of all scripts in the project.
      */
-    public static JsonObject handleGetScripts(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleGetScripts(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = SCRIPTS_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
+        String projectName = params.get("project");
 
-        String projectName = matcher.group(1);
-
-        logger.info("GET /api/v1/projects/{}/scripts requested", projectName);
+        requestLog.atInfo().sampled().with("project", projectName).log("GET /api/v1/projects/{name}/scripts requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate project name
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         try {
@@ -148,7 +138,8 @@ public final class ScriptHandler {
                     logger.error("Error walking scripts directory", walkEx);
                 }
 
-                logger.info("Found {} scripts in project '{}'", scriptsArray.size(), projectName);
+                requestLog.atInfo().sampled().with("count", scriptsArray.size()).with("project", projectName)
+                    .log("Found scripts in project");
             } else {
                 logger.warn("Scripts directory not found: {}", scriptsBasePath);
                 response.addProperty("note", "Project does not exist or has no scripts");
@@ -172,39 +163,31 @@ public final class ScriptHandler {
      *
      * Returns the content of a specific script.
      */
-    public static JsonObject handleGetScript(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleGetScript(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = SCRIPT_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
+        String projectName = params.get("project");
         String scriptPath = req.getRequest().getParameter("path");
 
-        logger.info("GET /api/v1/projects/{}/script?path={} requested", projectName, scriptPath);
+        requestLog.atInfo().sampled().with("project", projectName).with("path", scriptPath)
+            .log("GET /api/v1/projects/{name}/script requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate parameters
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         if (!SecurityUtil.isValidInput(scriptPath)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid script path");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid script path");
         }
 
         try {
@@ -250,7 +233,8 @@ public final class ScriptHandler {
                 }
             }
 
-            logger.info("Returned script content for project '{}', path '{}'", projectName, scriptPath);
+            requestLog.atInfo().sampled().with("project", projectName).with("path", scriptPath)
+                .log("Returned script content");
 
             res.setStatus(HttpServletResponse.SC_OK);
             return response;
@@ -268,39 +252,31 @@ public final class ScriptHandler {
      *
      * Saves the content of a specific script.
      */
-    public static JsonObject handlePutScript(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handlePutScript(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract project name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = SCRIPT_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String projectName = matcher.group(1);
+        String projectName = params.get("project");
         String scriptPath = req.getRequest().getParameter("path");
 
-        logger.info("PUT /api/v1/projects/{}/script?path={} requested", projectName, scriptPath);
+        requestLog.atInfo().sampled().with("project", projectName).with("path", scriptPath)
+            .log("PUT /api/v1/projects/{name}/script requested");
 
         // Check authentication AND authorization (write requires Designer role)
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, true);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication/Authorization required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication/Authorization required");
         }
 
         // Validate parameters
         if (!SecurityUtil.isValidInput(projectName)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
         }
 
         if (!SecurityUtil.isValidInput(scriptPath)) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid script path");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid script path");
         }
 
         try {
@@ -315,7 +291,7 @@ public final class ScriptHandler {
                 totalChars += line.length();
                 if (totalChars > MAX_BODY_SIZE) {
                     res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
-                    return ResponseUtil.createErrorResponse(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    return ErrorHandler.fixedError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
                         "Request body too large (max 2 MB)");
                 }
                 requestBody.append(line);
@@ -323,14 +299,14 @@ public final class ScriptHandler {
 
             if (requestBody.length() == 0) {
                 res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
+                return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Request body is required");
             }
 
             // Parse JSON body
             JsonObject requestJson = JsonParser.parseString(requestBody.toString()).getAsJsonObject();
             if (!requestJson.has("content")) {
                 res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST,
+                return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST,
                     "Missing 'content' field in request body");
             }
 
@@ -9,6 +9,8 @@ import com.inductiveautomation.ignition.common.tags.model.TagPath;
 import com.inductiveautomation.ignition.common.tags.paths.parser.TagPathParser;
 import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
 import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.ErrorHandler;
+import com.me.webdesigner.util.PathParams;
 import com.me.webdesigner.util.ResponseUtil;
 import com.me.webdesigner.util.SecurityUtil;
 import jakarta.servlet.http.HttpServletResponse;
@@ -18,8 +20,6 @@ import org.slf4j.LoggerFactory;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handler for tag browsing API endpoints.
@@ -31,9 +31,9 @@ import java.util.regex.Pattern;
 public final class TagHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(TagHandler.class);
-
-    // Route patterns for path parameter extraction
-    private static final Pattern TAGS_PROVIDER_PATTERN = Pattern.compile("^/api/v1/tags/([^/]+)$");
+    // Per-request lines: sampled, formatted and written off the request thread
+    private static final com.me.webdesigner.util.Logger requestLog =
+        com.me.webdesigner.util.Logger.get(TagHandler.class);
 
     // Private constructor - utility class
     private TagHandler() {
@@ -45,7 +45,7 @@ public final class TagHandler {
      * Returns a list of all tag providers.
      */
     public static JsonObject handleGetTagProviders(RequestContext req, HttpServletResponse res) {
-        logger.info("GET /api/v1/tags requested");
+        requestLog.atInfo().sampled().log("GET /api/v1/tags requested");
 
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
@@ -53,7 +53,7 @@ public final class TagHandler {
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         try {
@@ -72,7 +72,7 @@ public final class TagHandler {
 
             response.add("providers", providersArray);
 
-            logger.info("Returned {} tag providers", tagProviders.size());
+            requestLog.atInfo().sampled().with("count", tagProviders.size()).log("Returned tag providers");
 
             res.setStatus(HttpServletResponse.SC_OK);
             return response;
@@ -90,37 +90,29 @@ public final class TagHandler {
      *
      * Browse tags in a specific provider.
      */
-    public static JsonObject handleBrowseTags(RequestContext req, HttpServletResponse res) {
+    public static JsonObject handleBrowseTags(RequestContext req, HttpServletResponse res, PathParams params) {
         // Get GatewayContext from RequestContext
         GatewayContext context = req.getGatewayContext();
 
-        // Extract provider name from path
-        String requestPath = req.getRequest().getRequestURI();
-        Matcher matcher = TAGS_PROVIDER_PATTERN.matcher(requestPath);
-
-        if (!matcher.matches()) {
-            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid path format");
-        }
-
-        String providerName = matcher.group(1);
+        String providerName = params.get("provider");
         String tagPath = req.getRequest().getParameter("path");
         if (tagPath == null || tagPath.trim().isEmpty()) {
             tagPath = ""; // Browse root
         }
 
-        logger.info("GET /api/v1/tags/{}?path={} requested", providerName, tagPath);
+        requestLog.atInfo().sampled().with("provider", providerName).with("path", tagPath)
+            .log("GET /api/v1/tags/{provider} requested");
 
         // Check authentication
         String user = SecurityUtil.checkAuth(req.getRequest(), res, context, false);
         if (user == null) {
-            return ResponseUtil.createErrorResponse(res.getStatus(), "Authentication required");
+            return ErrorHandler.fixedError(res.getStatus(), "Authentication required");
         }
 
         // Validate provider name
         if (!SecurityUtil.isValidInput(providerName) && !providerName.equals("[System]")) {
             res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid provider name");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_BAD_REQUEST, "Invalid provider name");
         }
 
         try {
@@ -188,8 +180,8 @@ public final class TagHandler {
 
             response.add("tags", tagsArray);
 
-            logger.info("Returned {} tags for provider '{}', path '{}'",
-                tagsArray.size(), providerName, tagPath);
+            requestLog.atInfo().sampled().with("count", tagsArray.size()).with("provider", providerName)
+                .with("path", tagPath).log("Returned tags");
 
             res.setStatus(HttpServletResponse.SC_OK);
             return response;
@@ -0,0 +1,22 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * API route handler that receives the path parameters extracted by the route table
+ * (see WebDesignerApiRoutes and RouteTemplate).
+ */
+@FunctionalInterface
+public interface ApiHandler {
+
+    /**
+     * Handle a request.
+     *
+     * @param req The request context
+     * @param res The HTTP response
+     * @param params Path parameters of the matched route (only valid during the call)
+     * @return The JSON response, or null if the handler wrote the response itself
+     */
+    Object handle(RequestContext req, HttpServletResponse res, PathParams params) throws Exception;
+}
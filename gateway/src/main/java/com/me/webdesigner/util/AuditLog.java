@@ -0,0 +1,350 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.stream.JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit pipeline behind SecurityUtil.logAudit.
+ *
+ * Request threads only enqueue a record on a bounded lock-free queue; a single writer
+ * thread ("webdesigner-audit-1") drains it in batches, formats the records and writes
+ * them to the audit log and, once started with a data directory, to an append-only
+ * JSON-lines file. Nothing is formatted or written on the request thread.
+ *
+ * Layout: {dataDir}/webdesigner/audit/audit.log
+ * {"time":...,"action":"...","user":"...","remoteAddr":"...","details":"...","success":true}
+ *
+ * When the queue is full, the "block" policy makes the caller wait up to the block
+ * timeout for the writer to make room (backpressure) and drops the record after that;
+ * the "drop" policy drops it immediately. Dropped records are counted and reported
+ * by the writer, and queue depth and counters are available from getStats().
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.audit.queueCapacity - maximum queued records (default: 10000)
+ * - webdesigner.audit.batchSize     - records written per batch (default: 256)
+ * - webdesigner.audit.policy        - block/drop when the queue is full (default: block)
+ * - webdesigner.audit.blockTimeout  - ms to wait for room under "block" (default: 1000)
+ * - webdesigner.audit.file          - true/false, write the audit file (default: true)
+ */
+public final class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    // Configuration
+    private static final int QUEUE_CAPACITY = Math.max(1, Integer.getInteger("webdesigner.audit.queueCapacity", 10000));
+    private static final int BATCH_SIZE = Math.max(1, Integer.getInteger("webdesigner.audit.batchSize", 256));
+    private static final boolean BLOCK_WHEN_FULL =
+        !"drop".equals(System.getProperty("webdesigner.audit.policy", "block").toLowerCase(Locale.ROOT));
+    private static final long BLOCK_TIMEOUT_MS = Long.getLong("webdesigner.audit.blockTimeout", 1000L);
+    private static final boolean FILE_ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.audit.file", "true"));
+
+    private static final String AUDIT_DIR = "audit";
+    private static final String AUDIT_FILE = "audit.log";
+
+    // Writer wake-up while idle, so a missed unpark only delays a batch
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    // Producer wait between checks for room under the "block" policy
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static final ConcurrentLinkedQueue<Record> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger depth = new AtomicInteger();
+
+    private static final AtomicLong enqueued = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong blocked = new AtomicLong();
+
+    private static final Object lifecycleLock = new Object();
+    private static volatile Thread writerThread;
+    private static volatile boolean idle;
+    private static volatile boolean stopping;
+    private static volatile Path auditFile;
+
+    // Private constructor - utility class
+    private AuditLog() {}
+
+    /**
+     * One audit event, formatted on the writer thread.
+     */
+    static final class Record {
+        final long time;
+        final String action;
+        final String username;
+        final String remoteAddr;
+        final String details;
+        final boolean success;
+
+        Record(long time, String action, String username, String remoteAddr, String details, boolean success) {
+            this.time = time;
+            this.action = action;
+            this.username = username;
+            this.remoteAddr = remoteAddr;
+            this.details = details;
+            this.success = success;
+        }
+
+        String toJson() throws IOException {
+            StringWriter out = new StringWriter(128);
+            try (JsonWriter writer = new JsonWriter(out)) {
+                writer.beginObject();
+                writer.name("time").value(time);
+                writer.name("action").value(action);
+                writer.name("user").value(username);
+                writer.name("remoteAddr").value(remoteAddr);
+                writer.name("details").value(details);
+                writer.name("success").value(success);
+                writer.endObject();
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * Start writing the audit file under the Gateway data directory (module setup).
+     *
+     * Records submitted before this are only written to the log.
+     */
+    public static void start(File dataDir) {
+        if (!FILE_ENABLED) {
+            return;
+        }
+        Path dir = dataDir.toPath().resolve("webdesigner").resolve(AUDIT_DIR);
+        try {
+            Files.createDirectories(dir);
+            auditFile = dir.resolve(AUDIT_FILE);
+            logger.info("Audit records are written to {}", auditFile);
+        } catch (IOException e) {
+            logger.error("Could not create audit directory {}, audit records are only logged", dir, e);
+        }
+    }
+
+    /**
+     * Queue an audit record. Never blocks longer than the configured block timeout.
+     *
+     * @return true if queued, false if dropped because the queue was full
+     */
+    public static boolean submit(String action, String username, String remoteAddr, String details, boolean success) {
+        Record record = new Record(System.currentTimeMillis(), action, username, remoteAddr, details, success);
+
+        // Writer already stopped (module shutting down): write directly
+        if (stopping) {
+            write(Collections.singletonList(record));
+            return true;
+        }
+
+        if (!reserve()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.offer(record);
+        enqueued.incrementAndGet();
+
+        Thread writer = writerThread;
+        if (writer == null) {
+            writer = startWriter();
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * Claim a queue slot, waiting for room under the "block" policy.
+     */
+    private static boolean reserve() {
+        if (tryReserve()) {
+            return true;
+        }
+        if (!BLOCK_WHEN_FULL) {
+            return false;
+        }
+
+        blocked.incrementAndGet();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BLOCK_TIMEOUT_MS);
+        Thread writer = writerThread;
+        while (System.nanoTime() < deadline) {
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            if (tryReserve()) {
+                return true;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean tryReserve() {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= QUEUE_CAPACITY) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static Thread startWriter() {
+        synchronized (lifecycleLock) {
+            if (writerThread == null) {
+                Thread thread = new NamedThreadFactory("webdesigner-audit").newThread(AuditLog::runWriter);
+                thread.start();
+                writerThread = thread;
+            }
+            return writerThread;
+        }
+    }
+
+    private static void runWriter() {
+        List<Record> batch = new ArrayList<>(BATCH_SIZE);
+        long reportedDrops = 0;
+
+        while (true) {
+            drain(batch);
+            if (batch.isEmpty()) {
+                if (stopping) {
+                    break;
+                }
+                idle = true;
+                // Re-check after publishing idle so a concurrent submit can't be missed
+                if (queue.isEmpty() && !stopping) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+
+            write(batch);
+            batch.clear();
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                logger.warn("Audit queue full: {} records dropped so far (depth {}, capacity {})",
+                    drops, depth.get(), QUEUE_CAPACITY);
+                reportedDrops = drops;
+            }
+        }
+    }
+
+    private static void drain(List<Record> batch) {
+        Record record;
+        while (batch.size() < BATCH_SIZE && (record = queue.poll()) != null) {
+            batch.add(record);
+        }
+        depth.addAndGet(-batch.size());
+    }
+
+    private static void write(List<Record> batch) {
+        for (Record record : batch) {
+            logger.info("AUDIT: {} by {} from {} - {} (success: {})",
+                record.action, record.username, record.remoteAddr, record.details, record.success);
+        }
+
+        // TODO: Forward to the Gateway audit manager when tested on live Gateway
+        // Expected: context.getAuditManager().audit(auditRecord)
+        Path file = auditFile;
+        if (file != null) {
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Record record : batch) {
+                    out.write(record.toJson());
+                    out.write('\n');
+                }
+            } catch (IOException e) {
+                logger.error("Error writing {} audit records to {}", batch.size(), file, e);
+            }
+        }
+
+        written.addAndGet(batch.size());
+    }
+
+    /**
+     * Flush queued records and stop the writer (module shutdown).
+     */
+    public static void shutdown() {
+        Thread writer;
+        synchronized (lifecycleLock) {
+            stopping = true;
+            writer = writerThread;
+        }
+        if (writer == null) {
+            return;
+        }
+
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("Audit writer did not finish, {} records not written", depth.get());
+        } else {
+            // Records queued while the writer was exiting
+            List<Record> rest = new ArrayList<>();
+            for (drain(rest); !rest.isEmpty(); drain(rest)) {
+                write(rest);
+                rest.clear();
+            }
+        }
+        logger.info("Audit log stopped: {} written, {} dropped", written.get(), dropped.get());
+    }
+
+    /**
+     * Records waiting to be written.
+     */
+    public static int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Records dropped because the queue was full.
+     */
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Pipeline statistics.
+     *
+     * @return Map of stat name to value
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("queueDepth", depth.get());
+        result.put("queueCapacity", QUEUE_CAPACITY);
+        result.put("policy", BLOCK_WHEN_FULL ? "block" : "drop");
+        result.put("enqueued", enqueued.get());
+        result.put("written", written.get());
+        result.put("dropped", dropped.get());
+        result.put("blocked", blocked.get());
+        return result;
+    }
+}
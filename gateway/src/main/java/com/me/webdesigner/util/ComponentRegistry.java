@@ -0,0 +1,184 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Perspective component schema registry.
+ *
+ * Single source of component types for both the component catalog endpoint and
+ * ViewValidator. The schema (component-schema.json next to this module's classes) is
+ * loaded once at class initialization and compiled into a type -> ComponentSchema map,
+ * so validation needs one hash lookup per component.
+ *
+ * Per-category rules are declared under "categories" in the schema file; currently
+ * whether components of the category may have children (only containers can).
+ * Components flagged "embedsView" take the path of the view they render in props.path.
+ *
+ * Usage:
+ * ```java
+ * ComponentRegistry.ComponentSchema schema = ComponentRegistry.lookup("ia.display.label");
+ * if (schema != null && !schema.allowsChildren()) { ... }
+ * ```
+ */
+public final class ComponentRegistry {
+
+    private static final String SCHEMA_RESOURCE = "/com/me/webdesigner/component-schema.json";
+
+    // Type -> schema (read-only after class init)
+    private static final Map<String, ComponentSchema> schemas;
+
+    // Catalog response (read-only, shared between requests)
+    private static final JsonObject catalog;
+
+    static {
+        JsonObject schemaFile = load();
+        catalog = buildCatalog(schemaFile);
+        schemas = compile(schemaFile);
+    }
+
+    // Private constructor - utility class
+    private ComponentRegistry() {}
+
+    /**
+     * Compiled schema of one component type.
+     */
+    public static final class ComponentSchema {
+        private final String type;
+        private final String category;
+        private final boolean allowsChildren;
+        private final boolean embedsView;
+
+        ComponentSchema(String type, String category, boolean allowsChildren, boolean embedsView) {
+            this.type = type;
+            this.category = category;
+            this.allowsChildren = allowsChildren;
+            this.embedsView = embedsView;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public boolean allowsChildren() {
+            return allowsChildren;
+        }
+
+        /**
+         * Whether props.path of this component is the path of an embedded view.
+         */
+        public boolean embedsView() {
+            return embedsView;
+        }
+    }
+
+    /**
+     * Look up a component type.
+     *
+     * @return The schema, or null for types not in the registry (e.g. third-party modules)
+     */
+    public static ComponentSchema lookup(String type) {
+        return type == null ? null : schemas.get(type);
+    }
+
+    /**
+     * Get the component catalog ({"components": [...], "note": ..., "version": ...}).
+     *
+     * The returned object is shared between requests and must not be modified.
+     */
+    public static JsonObject getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Component types of a category, in catalog order (e.g. "container", "display").
+     *
+     * @return The types, empty for unknown categories
+     */
+    public static List<String> getTypes(String category) {
+        List<String> types = new ArrayList<>();
+        for (ComponentSchema schema : schemas.values()) {
+            if (schema.getCategory().equals(category)) {
+                types.add(schema.getType());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Number of registered component types.
+     */
+    public static int size() {
+        return schemas.size();
+    }
+
+    private static JsonObject load() {
+        try (InputStream in = ComponentRegistry.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Component schema not found: " + SCHEMA_RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return JsonParser.parseReader(reader).getAsJsonObject();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read component schema: " + SCHEMA_RESOURCE, e);
+        }
+    }
+
+    private static JsonObject buildCatalog(JsonObject schemaFile) {
+        JsonArray components = new JsonArray();
+        for (JsonElement element : schemaFile.getAsJsonArray("components")) {
+            JsonObject source = element.getAsJsonObject();
+            JsonObject component = new JsonObject();
+            component.addProperty("type", source.get("type").getAsString());
+            component.addProperty("name", source.get("name").getAsString());
+            component.addProperty("category", source.get("category").getAsString());
+            component.addProperty("description", source.get("description").getAsString());
+            components.add(component);
+        }
+
+        JsonObject result = new JsonObject();
+        result.add("components", components);
+        result.addProperty("note", schemaFile.get("note").getAsString());
+        result.addProperty("version", schemaFile.get("version").getAsString());
+        return result;
+    }
+
+    private static Map<String, ComponentSchema> compile(JsonObject schemaFile) {
+        JsonObject categories = schemaFile.has("categories")
+            ? schemaFile.getAsJsonObject("categories") : new JsonObject();
+
+        Map<String, ComponentSchema> compiled = new LinkedHashMap<>();
+        for (JsonElement element : schemaFile.getAsJsonArray("components")) {
+            JsonObject component = element.getAsJsonObject();
+            String type = component.get("type").getAsString();
+            String category = component.get("category").getAsString();
+
+            JsonObject rules = categories.has(category) ? categories.getAsJsonObject(category) : null;
+            boolean allowsChildren = rules != null && rules.has("children") && rules.get("children").getAsBoolean();
+            boolean embedsView = component.has("embedsView") && component.get("embedsView").getAsBoolean();
+
+            if (compiled.put(type, new ComponentSchema(type, category, allowsChildren, embedsView)) != null) {
+                throw new IllegalStateException("Duplicate component type in schema: " + type);
+            }
+        }
+        return Collections.unmodifiableMap(compiled);
+    }
+}
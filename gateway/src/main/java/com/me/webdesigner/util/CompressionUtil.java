@@ -0,0 +1,238 @@
+package com.me.webdesigner.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response compression utility.
+ *
+ * Negotiates a content encoding from the client's Accept-Encoding header and
+ * compresses response bodies above a size threshold. Compressed bodies of
+ * cacheable responses (component catalog, views keyed by ETag) are kept in a
+ * small LRU cache so repeated hits don't recompress the same bytes.
+ *
+ * Configuration (JVM system properties, e.g. via ignition.conf):
+ * - webdesigner.compression.enabled  - true/false (default: true)
+ * - webdesigner.compression.minSize  - minimum body size in bytes (default: 1024)
+ * - webdesigner.compression.level    - deflate level 1-9 (default: 6)
+ * - webdesigner.compression.cacheEntries - precompressed cache size (default: 256)
+ *
+ * Brotli is not available in the JDK, so gzip and deflate are supported.
+ */
+public final class CompressionUtil {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompressionUtil.class);
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    // Configuration
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.compression.enabled", "true"));
+    private static final int MIN_SIZE = Integer.getInteger("webdesigner.compression.minSize", 1024);
+    private static final int LEVEL =
+        Math.max(1, Math.min(9, Integer.getInteger("webdesigner.compression.level", 6)));
+    private static final int CACHE_ENTRIES = Integer.getInteger("webdesigner.compression.cacheEntries", 256);
+
+    // Precompressed bodies keyed by "{encoding}:{cacheKey}" (access-ordered LRU)
+    private static final Map<String, byte[]> cache = Collections.synchronizedMap(
+        new LinkedHashMap<String, byte[]>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > CACHE_ENTRIES;
+            }
+        });
+
+    // Private constructor - utility class
+    private CompressionUtil() {
+    }
+
+    /**
+     * Choose a content encoding from an Accept-Encoding header.
+     *
+     * Honors q-values (an encoding with q=0 is refused) and prefers gzip over
+     * deflate when both are equally acceptable.
+     *
+     * @param acceptEncoding The Accept-Encoding header value (may be null)
+     * @return GZIP, DEFLATE, or null if the response should be sent uncompressed
+     */
+    public static String negotiate(String acceptEncoding) {
+        if (!ENABLED || acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+
+        float gzipQ = -1f;
+        float deflateQ = -1f;
+        float wildcardQ = -1f;
+
+        for (String part : acceptEncoding.split(",")) {
+            String token = part.trim();
+            float q = 1f;
+            int semi = token.indexOf(';');
+            if (semi >= 0) {
+                q = parseQuality(token.substring(semi + 1));
+                token = token.substring(0, semi).trim();
+            }
+            token = token.toLowerCase(Locale.ROOT);
+
+            if (token.equals(GZIP) || token.equals("x-gzip")) {
+                gzipQ = Math.max(gzipQ, q);
+            } else if (token.equals(DEFLATE)) {
+                deflateQ = Math.max(deflateQ, q);
+            } else if (token.equals("*")) {
+                wildcardQ = q;
+            }
+        }
+
+        // Encodings not listed explicitly inherit the wildcard quality
+        if (gzipQ < 0) {
+            gzipQ = wildcardQ;
+        }
+        if (deflateQ < 0) {
+            deflateQ = wildcardQ;
+        }
+
+        if (gzipQ > 0 && gzipQ >= deflateQ) {
+            return GZIP;
+        }
+        if (deflateQ > 0) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Whether a body of the given size is worth compressing.
+     */
+    public static boolean shouldCompress(int length) {
+        return ENABLED && length >= MIN_SIZE;
+    }
+
+    /**
+     * Compress a body with the given encoding at the configured level.
+     */
+    public static byte[] compress(byte[] data, String encoding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+
+        if (GZIP.equals(encoding)) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+                {
+                    def.setLevel(LEVEL);
+                }
+            }) {
+                gzip.write(data);
+            }
+        } else if (DEFLATE.equals(encoding)) {
+            Deflater deflater = new Deflater(LEVEL);
+            try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, 8192)) {
+                deflate.write(data);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported encoding: " + encoding);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Wrap a stream so everything written to it is compressed with the given encoding.
+     *
+     * Used for streamed responses whose size is not known up front. Closing the
+     * returned stream finishes the compressed data and closes out.
+     */
+    public static OutputStream wrap(OutputStream out, String encoding) throws IOException {
+        return wrap(out, encoding, false);
+    }
+
+    /**
+     * Wrap a stream for compression.
+     *
+     * @param syncFlush If true, flush() pushes everything written so far to out (at some
+     *                  cost in ratio), so a client can process a streamed body as it arrives
+     */
+    public static OutputStream wrap(OutputStream out, String encoding, boolean syncFlush) throws IOException {
+        if (GZIP.equals(encoding)) {
+            return new GZIPOutputStream(out, 8192, syncFlush) {
+                {
+                    def.setLevel(LEVEL);
+                }
+            };
+        }
+        if (DEFLATE.equals(encoding)) {
+            Deflater deflater = new Deflater(LEVEL);
+            return new DeflaterOutputStream(out, deflater, 8192, syncFlush) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deflater.end();
+                    }
+                }
+            };
+        }
+        throw new IllegalArgumentException("Unsupported encoding: " + encoding);
+    }
+
+    /**
+     * Compress a body, reusing previously compressed bytes for the same cache key.
+     *
+     * The cache key must identify the exact body (e.g. request URI plus ETag),
+     * otherwise stale bytes could be served.
+     *
+     * @param cacheKey Key identifying the body, or null to skip the cache
+     */
+    public static byte[] compressCached(String cacheKey, byte[] data, String encoding) throws IOException {
+        if (cacheKey == null) {
+            return compress(data, encoding);
+        }
+
+        String key = encoding + ":" + cacheKey;
+        byte[] compressed = cache.get(key);
+        if (compressed == null) {
+            compressed = compress(data, encoding);
+            cache.put(key, compressed);
+            logger.debug("Cached {} body for {} ({} -> {} bytes)", encoding, cacheKey, data.length, compressed.length);
+        }
+        return compressed;
+    }
+
+    /**
+     * Clear the precompressed body cache.
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Parse a "q=0.5" parameter, defaulting to 1.0 if absent or malformed and
+     * clamping to 0.0-1.0.
+     */
+    private static float parseQuality(String params) {
+        for (String param : params.split(";")) {
+            String p = param.trim();
+            if (p.startsWith("q=") || p.startsWith("Q=")) {
+                try {
+                    float q = Float.parseFloat(p.substring(2).trim());
+                    return Float.isNaN(q) ? 1f : Math.max(0f, Math.min(1f, q));
+                } catch (NumberFormatException e) {
+                    return 1f;
+                }
+            }
+        }
+        return 1f;
+    }
+}
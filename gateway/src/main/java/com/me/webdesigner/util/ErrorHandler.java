@@ -1,5 +1,6 @@
 package com.me.webdesigner.util;
 
+import com.inductiveautomation.ignition.common.gson.JsonElement;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -8,6 +9,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Centralized Error Handling Utility
@@ -21,6 +27,16 @@ import java.nio.file.NoSuchFileException;
  * - User-friendly error messages
  * - Development vs Production mode support
  *
+ * Exceptions are mapped to responses through a table keyed by exception class,
+ * resolved once per concrete class (ClassValue) by walking up to the nearest mapped
+ * superclass, instead of an instanceof chain per error.
+ *
+ * Error responses with a fixed message ("Authentication required", "Invalid path
+ * format", 413 body too large, ...) come from fixedError(), which returns one shared
+ * body per status and message with its serialized bytes prepared, so ResponseUtil
+ * writes them without building or serializing JSON. Under a retry storm (e.g. a
+ * client looping on a stale ETag) the error path then costs a map lookup.
+ *
  * Usage:
  * ```java
  * try {
@@ -32,9 +48,138 @@ import java.nio.file.NoSuchFileException;
  */
 public final class ErrorHandler {
 
+    // Shared fixed-message bodies are kept for at most this many messages
+    private static final int MAX_FIXED_MESSAGES = 256;
+    private static final int MIN_ERROR_STATUS = 400;
+    private static final int MAX_ERROR_STATUS = 599;
+
+    /**
+     * Response for one exception class.
+     */
+    private static final class Mapping {
+        final int status;
+        final String error;
+        // Message prefix for the exception message, or the whole message if fixed
+        final String message;
+        final boolean fixed;
+
+        Mapping(int status, String error, String message, boolean fixed) {
+            this.status = status;
+            this.error = error;
+            this.message = message;
+            this.fixed = fixed;
+        }
+    }
+
+    // Exception class -> response; subclasses use their nearest mapped superclass
+    private static final Map<Class<?>, Mapping> MAPPINGS = new HashMap<>();
+    private static final Mapping DEFAULT_MAPPING = new Mapping(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+        "Internal Server Error", "An unexpected error occurred: ", false);
+
+    static {
+        // File system errors
+        map(FileNotFoundException.class, HttpServletResponse.SC_NOT_FOUND, "Not Found", "Resource not found: ", false);
+        map(NoSuchFileException.class, HttpServletResponse.SC_NOT_FOUND, "Not Found", "Resource not found: ", false);
+        map(AccessDeniedException.class, HttpServletResponse.SC_FORBIDDEN, "Access Denied",
+            "Access denied to resource: ", false);
+        map(IOException.class, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "I/O Error",
+            "Failed to read or write resource: ", false);
+
+        // JSON parsing errors
+        map(com.google.gson.JsonSyntaxException.class, HttpServletResponse.SC_BAD_REQUEST, "Invalid JSON",
+            "Invalid JSON syntax: ", false);
+        map(com.google.gson.JsonParseException.class, HttpServletResponse.SC_BAD_REQUEST, "JSON Parse Error",
+            "Could not parse JSON: ", false);
+
+        // Validation errors
+        map(IllegalArgumentException.class, HttpServletResponse.SC_BAD_REQUEST, "Invalid Argument",
+            "Invalid request parameter: ", false);
+        map(IllegalStateException.class, HttpServletResponse.SC_CONFLICT, "Invalid State",
+            "Operation cannot be performed: ", false);
+
+        // Security errors
+        map(SecurityException.class, HttpServletResponse.SC_FORBIDDEN, "Security Violation",
+            "Security check failed: ", false);
+
+        // Null pointer and reflection errors (internal server errors)
+        map(NullPointerException.class, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal Error",
+            "An unexpected error occurred. Please check Gateway logs.", true);
+        map(ReflectiveOperationException.class, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "API Error",
+            "Gateway API method not available. Check Ignition version compatibility.", true);
+    }
+
+    private static final ClassValue<Mapping> mappingByClass = new ClassValue<Mapping>() {
+        @Override
+        protected Mapping computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                Mapping mapping = MAPPINGS.get(c);
+                if (mapping != null) {
+                    return mapping;
+                }
+            }
+            return DEFAULT_MAPPING;
+        }
+    };
+
+    // Message -> shared body per status (index status - MIN_ERROR_STATUS)
+    private static final Map<String, AtomicReferenceArray<JsonObject>> fixedErrors = new ConcurrentHashMap<>();
+    // Shared body -> serialized bytes; copy-on-write, replaced only when a body is first created
+    private static volatile Map<JsonObject, byte[]> fixedBodies = new IdentityHashMap<>();
+
     // Private constructor - utility class
     private ErrorHandler() {}
 
+    private static void map(Class<? extends Throwable> type, int status, String error, String message,
+                            boolean fixed) {
+        MAPPINGS.put(type, new Mapping(status, error, message, fixed));
+    }
+
+    /**
+     * Shared error body {"error": message, "status": status} for a fixed message.
+     *
+     * Same content as ResponseUtil.createErrorResponse, but built and serialized once
+     * per status and message. The caller still sets the response status. The body is
+     * shared between requests and must not be modified; only pass constant messages
+     * (past MAX_FIXED_MESSAGES distinct messages, a new body is built every time).
+     */
+    public static JsonObject fixedError(int status, String message) {
+        if (status < MIN_ERROR_STATUS || status > MAX_ERROR_STATUS) {
+            return ResponseUtil.createErrorResponse(status, message);
+        }
+
+        AtomicReferenceArray<JsonObject> bodies = fixedErrors.get(message);
+        if (bodies == null) {
+            if (fixedErrors.size() >= MAX_FIXED_MESSAGES) {
+                return ResponseUtil.createErrorResponse(status, message);
+            }
+            bodies = fixedErrors.computeIfAbsent(message,
+                m -> new AtomicReferenceArray<>(MAX_ERROR_STATUS - MIN_ERROR_STATUS + 1));
+        }
+
+        JsonObject body = bodies.get(status - MIN_ERROR_STATUS);
+        return body != null ? body : registerFixedError(bodies, status, message);
+    }
+
+    private static synchronized JsonObject registerFixedError(AtomicReferenceArray<JsonObject> bodies, int status,
+                                                              String message) {
+        JsonObject body = bodies.get(status - MIN_ERROR_STATUS);
+        if (body == null) {
+            body = ResponseUtil.createErrorResponse(status, message);
+            Map<JsonObject, byte[]> updated = new IdentityHashMap<>(fixedBodies);
+            updated.put(body, JsonSerializer.toBytes(body, JsonSerializer.responseFormat()));
+            fixedBodies = updated;
+            bodies.set(status - MIN_ERROR_STATUS, body);
+        }
+        return body;
+    }
+
+    /**
+     * Serialized bytes of a body returned by fixedError, or null for any other body.
+     */
+    static byte[] serializedFixedError(JsonElement body) {
+        return body instanceof JsonObject ? fixedBodies.get(body) : null;
+    }
+
     /**
      * Standard error response format
      */
@@ -122,108 +267,9 @@ public final class ErrorHandler {
      * Determine appropriate HTTP status and error message from exception type
      */
     private static ErrorResponse determineErrorResponse(Exception e, String context) {
-        // File system errors
-        if (e instanceof FileNotFoundException || e instanceof NoSuchFileException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_NOT_FOUND,
-                "Not Found",
-                "Resource not found: " + e.getMessage(),
-                context
-            );
-        }
-
-        if (e instanceof AccessDeniedException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_FORBIDDEN,
-                "Access Denied",
-                "Access denied to resource: " + e.getMessage(),
-                context
-            );
-        }
-
-        if (e instanceof IOException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                "I/O Error",
-                "Failed to read or write resource: " + e.getMessage(),
-                context
-            );
-        }
-
-        // JSON parsing errors
-        if (e instanceof com.google.gson.JsonSyntaxException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_BAD_REQUEST,
-                "Invalid JSON",
-                "Invalid JSON syntax: " + e.getMessage(),
-                context
-            );
-        }
-
-        if (e instanceof com.google.gson.JsonParseException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_BAD_REQUEST,
-                "JSON Parse Error",
-                "Could not parse JSON: " + e.getMessage(),
-                context
-            );
-        }
-
-        // Validation errors
-        if (e instanceof IllegalArgumentException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_BAD_REQUEST,
-                "Invalid Argument",
-                "Invalid request parameter: " + e.getMessage(),
-                context
-            );
-        }
-
-        if (e instanceof IllegalStateException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_CONFLICT,
-                "Invalid State",
-                "Operation cannot be performed: " + e.getMessage(),
-                context
-            );
-        }
-
-        // Security errors
-        if (e instanceof SecurityException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_FORBIDDEN,
-                "Security Violation",
-                "Security check failed: " + e.getMessage(),
-                context
-            );
-        }
-
-        // Null pointer and reflection errors (internal server errors)
-        if (e instanceof NullPointerException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                "Internal Error",
-                "An unexpected error occurred. Please check Gateway logs.",
-                context
-            );
-        }
-
-        if (e instanceof NoSuchMethodException || e instanceof ReflectiveOperationException) {
-            return new ErrorResponse(
-                HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                "API Error",
-                "Gateway API method not available. Check Ignition version compatibility.",
-                context
-            );
-        }
-
-        // Default: Internal Server Error
-        return new ErrorResponse(
-            HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-            "Internal Server Error",
-            "An unexpected error occurred: " + e.getMessage(),
-            context
-        );
+        Mapping mapping = mappingByClass.get(e.getClass());
+        String message = mapping.fixed ? mapping.message : mapping.message + e.getMessage();
+        return new ErrorResponse(mapping.status, mapping.error, message, context);
     }
 
     /**
@@ -0,0 +1,391 @@
+package com.me.webdesigner.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content fingerprinting for ETags.
+ *
+ * Digests raw bytes (or a stream) directly, without a String round trip, using
+ * pooled digest instances and read buffers. File fingerprints are cached by
+ * (path, last-modified time, size) so optimistic concurrency checks on save don't
+ * re-read and re-hash an unchanged file.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.etag.algorithm - "sha256" (default) or "murmur3" (fast 128-bit
+ *   non-cryptographic hash; ETags only need change detection)
+ * - webdesigner.etag.cacheEntries - max cached file fingerprints (default: 10000)
+ *
+ * Usage:
+ * ```java
+ * String etag = FingerprintService.fingerprintFile(viewFilePath);
+ * ```
+ */
+public final class FingerprintService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FingerprintService.class);
+
+    public static final String SHA256 = "sha256";
+    public static final String MURMUR3 = "murmur3";
+
+    // Configuration
+    private static final String ALGORITHM =
+        System.getProperty("webdesigner.etag.algorithm", SHA256).toLowerCase(Locale.ROOT);
+    private static final int CACHE_ENTRIES = Integer.getInteger("webdesigner.etag.cacheEntries", 10000);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    // Pooled digests and read buffers (MessageDigest is not thread-safe)
+    private static final ObjectPool<MessageDigest> sha256 = new ObjectPool<>(64, () -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    private static final ObjectPool<byte[]> buffers = new ObjectPool<>(64, () -> new byte[BUFFER_SIZE]);
+
+    // File fingerprints keyed by absolute path
+    private static final Map<Path, FileFingerprint> fileCache = new ConcurrentHashMap<>();
+
+    // Private constructor - utility class
+    private FingerprintService() {
+    }
+
+    /**
+     * Cached fingerprint of a file at a specific modification time and size.
+     */
+    private static final class FileFingerprint {
+        final long lastModified;
+        final long size;
+        final String etag;
+
+        FileFingerprint(long lastModified, long size, String etag) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * File bytes together with their fingerprint.
+     */
+    public static final class FileContent {
+        public final byte[] bytes;
+        public final String etag;
+
+        FileContent(byte[] bytes, String etag) {
+            this.bytes = bytes;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * Fingerprint a byte array.
+     */
+    public static String fingerprint(byte[] data) {
+        return fingerprint(data, 0, data.length);
+    }
+
+    /**
+     * Fingerprint a range of a byte array.
+     */
+    public static String fingerprint(byte[] data, int offset, int length) {
+        if (MURMUR3.equals(ALGORITHM)) {
+            Murmur3 hash = new Murmur3();
+            hash.update(data, offset, length);
+            return encode(hash.digest());
+        }
+
+        MessageDigest digest = sha256.acquire();
+        try {
+            digest.reset();
+            digest.update(data, offset, length);
+            return encode(digest.digest());
+        } finally {
+            sha256.release(digest);
+        }
+    }
+
+    /**
+     * Fingerprint a stream by digesting it in fixed-size chunks.
+     *
+     * The stream is read to the end but not closed.
+     */
+    public static String fingerprint(InputStream in) throws IOException {
+        byte[] buffer = buffers.acquire();
+        try {
+            int read;
+
+            if (MURMUR3.equals(ALGORITHM)) {
+                Murmur3 hash = new Murmur3();
+                while ((read = in.read(buffer)) != -1) {
+                    hash.update(buffer, 0, read);
+                }
+                return encode(hash.digest());
+            }
+
+            MessageDigest digest = sha256.acquire();
+            try {
+                digest.reset();
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                return encode(digest.digest());
+            } finally {
+                sha256.release(digest);
+            }
+        } finally {
+            buffers.release(buffer);
+        }
+    }
+
+    /**
+     * Fingerprint a file, reusing the cached value if its mtime and size are unchanged.
+     */
+    public static String fingerprintFile(Path file) throws IOException {
+        Path key = file.toAbsolutePath();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        long lastModified = attrs.lastModifiedTime().toMillis();
+
+        FileFingerprint cached = fileCache.get(key);
+        if (cached != null && cached.lastModified == lastModified && cached.size == attrs.size()) {
+            return cached.etag;
+        }
+
+        String etag;
+        try (InputStream in = Files.newInputStream(key)) {
+            etag = fingerprint(in);
+        }
+        put(key, new FileFingerprint(lastModified, attrs.size(), etag));
+        logger.trace("Fingerprinted {} ({} bytes)", key, attrs.size());
+        return etag;
+    }
+
+    /**
+     * Get a file's cached fingerprint without reading it.
+     *
+     * @return The fingerprint, or null if none is cached for the file's current mtime and size
+     */
+    public static String cachedFingerprint(Path file) throws IOException {
+        Path key = file.toAbsolutePath();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+
+        FileFingerprint cached = fileCache.get(key);
+        if (cached != null && cached.lastModified == attrs.lastModifiedTime().toMillis()
+            && cached.size == attrs.size()) {
+            return cached.etag;
+        }
+        return null;
+    }
+
+    /**
+     * Read a file and fingerprint its content, caching the result.
+     *
+     * The result is only cached if the file's mtime and size are the same before
+     * and after the read, so a concurrent modification can't poison the cache.
+     */
+    public static FileContent read(Path file) throws IOException {
+        Path key = file.toAbsolutePath();
+        BasicFileAttributes before = Files.readAttributes(key, BasicFileAttributes.class);
+        byte[] bytes = Files.readAllBytes(key);
+        String etag = fingerprint(bytes);
+
+        BasicFileAttributes after = Files.readAttributes(key, BasicFileAttributes.class);
+        long lastModified = after.lastModifiedTime().toMillis();
+        if (lastModified == before.lastModifiedTime().toMillis() && after.size() == bytes.length) {
+            put(key, new FileFingerprint(lastModified, bytes.length, etag));
+        }
+        return new FileContent(bytes, etag);
+    }
+
+    /**
+     * Fingerprint content the caller has just written to a file, and cache it.
+     *
+     * @param file The file the content was written to
+     * @param content The bytes that were written
+     * @return The fingerprint of content
+     */
+    public static String fingerprintWritten(Path file, byte[] content) throws IOException {
+        String etag = fingerprint(content);
+        recordWritten(file, content.length, etag);
+        return etag;
+    }
+
+    /**
+     * Cache an already computed fingerprint for content the caller has just written.
+     *
+     * @param file The file the content was written to
+     * @param size Number of bytes written
+     * @param etag Fingerprint of the written bytes
+     */
+    public static void recordWritten(Path file, long size, String etag) throws IOException {
+        Path key = file.toAbsolutePath();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        if (attrs.size() == size) {
+            put(key, new FileFingerprint(attrs.lastModifiedTime().toMillis(), size, etag));
+        }
+    }
+
+    /**
+     * Drop the cached fingerprint for a file.
+     */
+    public static void invalidate(Path file) {
+        fileCache.remove(file.toAbsolutePath());
+    }
+
+    /**
+     * Get the configured ETag algorithm name.
+     */
+    public static String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    private static void put(Path key, FileFingerprint fingerprint) {
+        // Bounded without LRU bookkeeping: entries are cheap to recompute
+        if (fileCache.size() >= CACHE_ENTRIES && !fileCache.containsKey(key)) {
+            fileCache.clear();
+        }
+        fileCache.put(key, fingerprint);
+    }
+
+    private static String encode(byte[] hash) {
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    /**
+     * Incremental MurmurHash3 (x64, 128-bit).
+     *
+     * Non-cryptographic; used only when webdesigner.etag.algorithm=murmur3.
+     */
+    static final class Murmur3 {
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1;
+        private long h2;
+        private long length;
+        private final byte[] tail = new byte[16];
+        private int tailLength;
+
+        void update(byte[] data, int offset, int len) {
+            int pos = offset;
+            int end = offset + len;
+            length += len;
+
+            // Complete a partially filled block first
+            if (tailLength > 0) {
+                int take = Math.min(16 - tailLength, len);
+                System.arraycopy(data, pos, tail, tailLength, take);
+                tailLength += take;
+                pos += take;
+                if (tailLength < 16) {
+                    return;
+                }
+                mixBlock(getLong(tail, 0), getLong(tail, 8));
+                tailLength = 0;
+            }
+
+            while (end - pos >= 16) {
+                mixBlock(getLong(data, pos), getLong(data, pos + 8));
+                pos += 16;
+            }
+
+            tailLength = end - pos;
+            System.arraycopy(data, pos, tail, 0, tailLength);
+        }
+
+        byte[] digest() {
+            long k1 = 0;
+            long k2 = 0;
+            for (int i = tailLength - 1; i >= 8; i--) {
+                k2 = (k2 << 8) | (tail[i] & 0xffL);
+            }
+            for (int i = Math.min(tailLength, 8) - 1; i >= 0; i--) {
+                k1 = (k1 << 8) | (tail[i] & 0xffL);
+            }
+            if (tailLength > 8) {
+                k2 *= C2;
+                k2 = Long.rotateLeft(k2, 33);
+                k2 *= C1;
+                h2 ^= k2;
+            }
+            if (tailLength > 0) {
+                k1 *= C1;
+                k1 = Long.rotateLeft(k1, 31);
+                k1 *= C2;
+                h1 ^= k1;
+            }
+
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+
+            byte[] out = new byte[16];
+            putLong(out, 0, h1);
+            putLong(out, 8, h2);
+            return out;
+        }
+
+        private void mixBlock(long k1, long k2) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+
+        private static long getLong(byte[] b, int i) {
+            return (b[i] & 0xffL)
+                | (b[i + 1] & 0xffL) << 8
+                | (b[i + 2] & 0xffL) << 16
+                | (b[i + 3] & 0xffL) << 24
+                | (b[i + 4] & 0xffL) << 32
+                | (b[i + 5] & 0xffL) << 40
+                | (b[i + 6] & 0xffL) << 48
+                | (b[i + 7] & 0xffL) << 56;
+        }
+
+        private static void putLong(byte[] b, int i, long v) {
+            for (int j = 0; j < 8; j++) {
+                b[i + j] = (byte) (v >>> (8 * j));
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.dataroutes.RouteHandler;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs API handlers off the Gateway's HTTP threads.
+ *
+ * Handlers block on the filesystem (Files.walk, readAllBytes) and on tag futures. Run
+ * on Jetty's shared pool, a burst of slow requests (e.g. 200 concurrent view loads)
+ * would hold every HTTP thread and stall the whole Gateway web server. Instead, each
+ * admitted request is put in servlet async mode and its handler runs on a worker; the
+ * HTTP thread returns to the pool immediately and the worker completes the response.
+ *
+ * Workers are virtual threads when the runtime has them (Java 21+, looked up at run
+ * time since the module targets Java 17), otherwise a bounded elastic pool per
+ * category whose threads time out when idle. Either way, concurrency is limited per
+ * handler category, which is the route's rate limiting budget (read, scan, stream,
+ * tags, write), so a burst of project scans can't starve view loads. Requests beyond
+ * the concurrency limit wait in line; once the line is full they get 503 with
+ * Retry-After.
+ *
+ * Routes that stream their response (export, batch, lint) hold their worker until
+ * the client has received the last byte, which over a slow link can take minutes.
+ * They have their own category, so a few slow downloads don't hold the permits the
+ * view, script and query listings need.
+ *
+ * A virtual thread runs one task and ends, so ThreadLocal caches would start empty for
+ * every request. Scratch objects reused between requests (digests, serialization
+ * buffers, path parameters, log events) are kept in shared ObjectPools instead, which
+ * costs a queue poll and offer per use rather than a thread-local lookup.
+ *
+ * If the request doesn't support async mode (or async is disabled), the HTTP thread
+ * waits for the worker, which still bounds concurrency per category.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.executor.enabled                - true/false, run handlers on workers (default: true)
+ * - webdesigner.executor.async                  - true/false, use servlet async mode (default: true)
+ * - webdesigner.executor.virtualThreads         - true/false, use virtual threads if available (default: true)
+ * - webdesigner.executor.{category}.concurrency - handlers running at once per category
+ * - webdesigner.executor.queueCapacity          - waiting requests per category (default: 1000)
+ *
+ * Categories (default concurrency):
+ * - read   - single resource reads, component catalog (64)
+ * - scan   - view, script and query listings (4)
+ * - stream - export, batch, lint (8)
+ * - tags   - tag provider and tag browses (32)
+ * - write  - saves and imports (8)
+ */
+public final class HandlerExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandlerExecutor.class);
+
+    // Configuration
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.executor.enabled", "true"));
+    private static final boolean ASYNC =
+        Boolean.parseBoolean(System.getProperty("webdesigner.executor.async", "true"));
+    private static final boolean VIRTUAL_THREADS =
+        Boolean.parseBoolean(System.getProperty("webdesigner.executor.virtualThreads", "true"));
+    private static final int QUEUE_CAPACITY = Math.max(0, Integer.getInteger("webdesigner.executor.queueCapacity", 1000));
+
+    private static final String THREAD_PREFIX = "webdesigner-handler";
+
+    // Shared virtual-thread-per-task executor, or null when running on platform pools
+    private static final ExecutorService virtualExecutor = VIRTUAL_THREADS ? newVirtualThreadExecutor() : null;
+
+    private static final Map<RateLimiter.Budget, Lane> lanes = new EnumMap<>(RateLimiter.Budget.class);
+
+    static {
+        for (RateLimiter.Budget category : RateLimiter.Budget.values()) {
+            String name = category.name().toLowerCase(Locale.ROOT);
+            int concurrency = Math.max(1, Integer.getInteger("webdesigner.executor." + name + ".concurrency",
+                defaultConcurrency(category)));
+            lanes.put(category, new Lane(name, concurrency));
+        }
+        logger.info("Handler executor: {}, async {}", virtualExecutor != null ? "virtual threads" : "platform threads",
+            ASYNC);
+    }
+
+    // Private constructor - utility class
+    private HandlerExecutor() {}
+
+    private static int defaultConcurrency(RateLimiter.Budget category) {
+        switch (category) {
+            case READ:
+                return 64;
+            case SCAN:
+                return 4;
+            case STREAM:
+                // Mostly waiting on the client; lint bounds its own CPU use
+                return 8;
+            case TAGS:
+                return 32;
+            default:
+                return 8;
+        }
+    }
+
+    /**
+     * Workers and counters of one handler category.
+     */
+    private static final class Lane {
+        final int concurrency;
+        // Limits running handlers on virtual threads (platform pools are sized instead)
+        final Semaphore permits;
+        final ExecutorService executor;
+        // Requests admitted and not yet finished (running + waiting)
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+
+        Lane(String name, int concurrency) {
+            this.concurrency = concurrency;
+            if (virtualExecutor != null) {
+                this.permits = new Semaphore(concurrency, true);
+                this.executor = virtualExecutor;
+            } else {
+                this.permits = null;
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new NamedThreadFactory(THREAD_PREFIX + "-" + name));
+                pool.allowCoreThreadTimeOut(true);
+                this.executor = pool;
+            }
+        }
+    }
+
+    /**
+     * Run a handler for its category on a worker.
+     *
+     * In async mode this returns null right away and the handler's result (which should
+     * be null, i.e. the handler wrote the response itself) is ignored; otherwise it
+     * returns the handler's result. Requests over the category's queue capacity get a
+     * 503 error response.
+     *
+     * @param category The handler category (the route's rate limiting budget)
+     * @param req The request context
+     * @param res The HTTP response
+     * @param handler The handler, writing its own response
+     */
+    public static Object execute(RateLimiter.Budget category, RequestContext req, HttpServletResponse res,
+                                 RouteHandler handler) throws Exception {
+        if (!ENABLED) {
+            return handler.handle(req, res);
+        }
+
+        Lane lane = lanes.get(category);
+        if (lane.inFlight.incrementAndGet() > lane.concurrency + QUEUE_CAPACITY) {
+            lane.inFlight.decrementAndGet();
+            lane.rejected.incrementAndGet();
+            logger.warn("Too many {} requests in flight, rejecting {}", category, req.getRequest().getRequestURI());
+            res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            res.setHeader("Retry-After", "1");
+            return ErrorHandler.fixedError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, please retry");
+        }
+
+        HttpServletRequest servletRequest = req.getRequest();
+        try {
+            if (ASYNC && servletRequest.isAsyncSupported()) {
+                AsyncContext async = servletRequest.startAsync();
+                // Handlers apply their own timeouts
+                async.setTimeout(0);
+                lane.executor.execute(() -> runAsync(lane, req, res, handler, async));
+                return null;
+            }
+
+            Future<Object> result = lane.executor.submit(() -> run(lane, req, res, handler));
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        } catch (RejectedExecutionException e) {
+            // Executor shut down (module stopping)
+            lane.inFlight.decrementAndGet();
+            res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return ErrorHandler.fixedError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Module is shutting down");
+        }
+    }
+
+    private static Object run(Lane lane, RequestContext req, HttpServletResponse res, RouteHandler handler)
+            throws Exception {
+        boolean acquired = false;
+        try {
+            if (lane.permits != null) {
+                lane.permits.acquire();
+                acquired = true;
+            }
+            lane.running.incrementAndGet();
+            try {
+                return handler.handle(req, res);
+            } finally {
+                lane.running.decrementAndGet();
+                lane.completed.incrementAndGet();
+            }
+        } finally {
+            if (acquired) {
+                lane.permits.release();
+            }
+            lane.inFlight.decrementAndGet();
+        }
+    }
+
+    private static void runAsync(Lane lane, RequestContext req, HttpServletResponse res, RouteHandler handler,
+                                 AsyncContext async) {
+        try {
+            run(lane, req, res, handler);
+        } catch (Exception e) {
+            logger.error("Error handling {}", req.getRequest().getRequestURI(), e);
+            if (!res.isCommitted()) {
+                try {
+                    res.reset();
+                    res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    ResponseUtil.writeJson(req.getRequest(), res, ErrorHandler.fixedError(
+                        HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error"), false);
+                } catch (Exception writeError) {
+                    logger.debug("Could not write error response", writeError);
+                }
+            }
+        } finally {
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Already completed (client went away)
+                logger.debug("Async request already completed", e);
+            }
+        }
+    }
+
+    /**
+     * Executors.newThreadPerTaskExecutor with a virtual thread factory, via reflection.
+     *
+     * @return The executor, or null if the runtime has no virtual threads (before Java 21)
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_PREFIX + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class
+                .getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            logger.debug("Virtual threads not available: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Stop the workers, letting running handlers finish (module shutdown).
+     */
+    public static void shutdown() {
+        for (Lane lane : lanes.values()) {
+            if (lane.executor != virtualExecutor) {
+                lane.executor.shutdown();
+            }
+        }
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        }
+        try {
+            for (Lane lane : lanes.values()) {
+                lane.executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Executor statistics per category.
+     *
+     * @return Map of category to stats (concurrency, running, waiting, completed, rejected)
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", virtualExecutor != null ? "virtual" : "platform");
+        for (Map.Entry<RateLimiter.Budget, Lane> entry : lanes.entrySet()) {
+            Lane lane = entry.getValue();
+            int running = lane.running.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("concurrency", lane.concurrency);
+            stats.put("running", running);
+            stats.put("waiting", Math.max(0, lane.inFlight.get() - running));
+            stats.put("completed", lane.completed.get());
+            stats.put("rejected", lane.rejected.get());
+            result.put(entry.getKey().name().toLowerCase(Locale.ROOT), stats);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,238 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonNull;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonPrimitive;
+
+import java.util.Map;
+
+/**
+ * Structural JSON diff and patch.
+ *
+ * Produces a compact list of operations that turns one JSON tree into another.
+ * Paths are JSON arrays of object keys (strings) and array indices (numbers),
+ * so no JSON Pointer escaping is needed.
+ *
+ * Operations:
+ * - {"op":"set","path":[...],"value":...}     - add or replace a value
+ * - {"op":"remove","path":[...]}              - remove an object member
+ * - {"op":"splice","path":[...],"index":i,"remove":n,"values":[...]}
+ *                                             - replace a run of array elements
+ *
+ * Arrays are diffed by trimming the common prefix and suffix, so inserting or
+ * deleting a child component produces a single splice rather than rewriting
+ * every following sibling.
+ *
+ * Usage:
+ * ```java
+ * JsonArray ops = JsonDiff.diff(previousView, newView);
+ * JsonElement restored = JsonDiff.apply(previousView, ops);
+ * ```
+ */
+public final class JsonDiff {
+
+    // Private constructor - utility class
+    private JsonDiff() {}
+
+    /**
+     * Compute the operations that transform source into target.
+     */
+    public static JsonArray diff(JsonElement source, JsonElement target) {
+        JsonArray ops = new JsonArray();
+        diff(normalize(source), normalize(target), new JsonArray(), ops);
+        return ops;
+    }
+
+    /**
+     * Apply operations to a copy of source and return the result.
+     *
+     * @throws IllegalArgumentException if an operation does not fit the document
+     */
+    public static JsonElement apply(JsonElement source, JsonArray ops) {
+        JsonElement root = normalize(source).deepCopy();
+
+        for (JsonElement opElement : ops) {
+            JsonObject op = opElement.getAsJsonObject();
+            String kind = op.get("op").getAsString();
+            JsonArray path = op.getAsJsonArray("path");
+
+            switch (kind) {
+                case "set":
+                    if (path.size() == 0) {
+                        root = op.get("value").deepCopy();
+                    } else {
+                        set(resolve(root, path, path.size() - 1), path.get(path.size() - 1),
+                            op.get("value").deepCopy());
+                    }
+                    break;
+                case "remove":
+                    JsonElement parent = resolve(root, path, path.size() - 1);
+                    if (!parent.isJsonObject()) {
+                        throw new IllegalArgumentException("remove target is not an object member: " + path);
+                    }
+                    parent.getAsJsonObject().remove(path.get(path.size() - 1).getAsString());
+                    break;
+                case "splice":
+                    JsonElement array = resolve(root, path, path.size());
+                    if (!array.isJsonArray()) {
+                        throw new IllegalArgumentException("splice target is not an array: " + path);
+                    }
+                    splice(array.getAsJsonArray(), op.get("index").getAsInt(), op.get("remove").getAsInt(),
+                        op.getAsJsonArray("values"));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown diff operation: " + kind);
+            }
+        }
+
+        return root;
+    }
+
+    private static void diff(JsonElement source, JsonElement target, JsonArray path, JsonArray ops) {
+        if (source.equals(target)) {
+            return;
+        }
+
+        if (source.isJsonObject() && target.isJsonObject()) {
+            JsonObject from = source.getAsJsonObject();
+            JsonObject to = target.getAsJsonObject();
+
+            for (Map.Entry<String, JsonElement> entry : from.entrySet()) {
+                if (!to.has(entry.getKey())) {
+                    JsonObject op = new JsonObject();
+                    op.addProperty("op", "remove");
+                    op.add("path", child(path, new JsonPrimitive(entry.getKey())));
+                    ops.add(op);
+                }
+            }
+            for (Map.Entry<String, JsonElement> entry : to.entrySet()) {
+                JsonArray childPath = child(path, new JsonPrimitive(entry.getKey()));
+                JsonElement previous = from.get(entry.getKey());
+                if (previous == null) {
+                    addSet(ops, childPath, entry.getValue());
+                } else {
+                    diff(normalize(previous), normalize(entry.getValue()), childPath, ops);
+                }
+            }
+            return;
+        }
+
+        if (source.isJsonArray() && target.isJsonArray()) {
+            diffArrays(source.getAsJsonArray(), target.getAsJsonArray(), path, ops);
+            return;
+        }
+
+        addSet(ops, path, target);
+    }
+
+    private static void diffArrays(JsonArray from, JsonArray to, JsonArray path, JsonArray ops) {
+        int fromSize = from.size();
+        int toSize = to.size();
+
+        int prefix = 0;
+        while (prefix < fromSize && prefix < toSize && from.get(prefix).equals(to.get(prefix))) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < fromSize - prefix && suffix < toSize - prefix
+            && from.get(fromSize - 1 - suffix).equals(to.get(toSize - 1 - suffix))) {
+            suffix++;
+        }
+
+        int fromMiddle = fromSize - prefix - suffix;
+        int toMiddle = toSize - prefix - suffix;
+
+        if (fromMiddle == toMiddle) {
+            // Same shape: element-wise diff keeps edits inside a child compact
+            for (int i = prefix; i < prefix + fromMiddle; i++) {
+                diff(normalize(from.get(i)), normalize(to.get(i)), child(path, new JsonPrimitive(i)), ops);
+            }
+            return;
+        }
+
+        JsonArray values = new JsonArray();
+        for (int i = prefix; i < prefix + toMiddle; i++) {
+            values.add(to.get(i));
+        }
+
+        JsonObject op = new JsonObject();
+        op.addProperty("op", "splice");
+        op.add("path", path.deepCopy());
+        op.addProperty("index", prefix);
+        op.addProperty("remove", fromMiddle);
+        op.add("values", values);
+        ops.add(op);
+    }
+
+    private static void addSet(JsonArray ops, JsonArray path, JsonElement value) {
+        JsonObject op = new JsonObject();
+        op.addProperty("op", "set");
+        op.add("path", path.deepCopy());
+        op.add("value", value);
+        ops.add(op);
+    }
+
+    private static JsonArray child(JsonArray path, JsonPrimitive segment) {
+        JsonArray childPath = path.deepCopy();
+        childPath.add(segment);
+        return childPath;
+    }
+
+    /**
+     * Walk the first count segments of path from root.
+     */
+    private static JsonElement resolve(JsonElement root, JsonArray path, int count) {
+        JsonElement current = root;
+        for (int i = 0; i < count; i++) {
+            JsonElement segment = path.get(i);
+            if (current.isJsonObject()) {
+                current = current.getAsJsonObject().get(segment.getAsString());
+            } else if (current.isJsonArray()) {
+                int index = segment.getAsInt();
+                JsonArray array = current.getAsJsonArray();
+                current = index < array.size() ? array.get(index) : null;
+            } else {
+                current = null;
+            }
+            if (current == null) {
+                throw new IllegalArgumentException("Diff path does not exist: " + path);
+            }
+        }
+        return current;
+    }
+
+    private static void set(JsonElement parent, JsonElement segment, JsonElement value) {
+        if (parent.isJsonObject()) {
+            parent.getAsJsonObject().add(segment.getAsString(), value);
+        } else if (parent.isJsonArray()) {
+            parent.getAsJsonArray().set(segment.getAsInt(), value);
+        } else {
+            throw new IllegalArgumentException("Cannot set a member of a primitive value");
+        }
+    }
+
+    private static void splice(JsonArray array, int index, int remove, JsonArray values) {
+        JsonArray result = new JsonArray();
+        for (int i = 0; i < index; i++) {
+            result.add(array.get(i));
+        }
+        for (JsonElement value : values) {
+            result.add(value.deepCopy());
+        }
+        for (int i = index + remove; i < array.size(); i++) {
+            result.add(array.get(i));
+        }
+
+        while (array.size() > 0) {
+            array.remove(array.size() - 1);
+        }
+        array.addAll(result);
+    }
+
+    private static JsonElement normalize(JsonElement element) {
+        return element == null ? JsonNull.INSTANCE : element;
+    }
+}
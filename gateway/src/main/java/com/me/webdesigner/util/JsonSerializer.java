@@ -0,0 +1,167 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.Gson;
+import com.inductiveautomation.ignition.common.gson.GsonBuilder;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.stream.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shared JSON serialization for API responses and files written by the module.
+ *
+ * Two formats: COMPACT (no whitespace) and PRETTY (two-space indent, as Ignition writes
+ * view.json). Both are produced by a single shared Gson instance each, so for a given
+ * tree the output is always byte-identical to what the module wrote before; ETags,
+ * fingerprint caches and revision diffs don't change just because of serialization.
+ *
+ * Serialization goes straight into a pooled UTF-8 byte buffer reused between calls,
+ * instead of building a String and encoding it again. Buffers that grew beyond
+ * MAX_RETAINED_BUFFER for one large view are not returned to the pool.
+ *
+ * API responses are compact by default. Views are saved pretty-printed (the format
+ * the Designer writes) unless the project is listed in webdesigner.json.compactProjects,
+ * in which case they are saved compact: smaller files and less CPU per save, but a
+ * one-time format change for each view saved afterwards.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.json.responses       - compact/pretty, API response format (default: compact)
+ * - webdesigner.json.compactProjects - comma-separated projects whose views are saved
+ *                                      compact, or * for all (default: none)
+ *
+ * Usage:
+ * ```java
+ * byte[] bytes = JsonSerializer.toBytes(viewContent, JsonSerializer.viewFormat(projectName));
+ * ```
+ */
+public final class JsonSerializer {
+
+    /**
+     * Output format.
+     */
+    public enum Format {
+        COMPACT,
+        PRETTY
+    }
+
+    // Buffers above this size are dropped after use rather than pooled
+    private static final int MAX_RETAINED_BUFFER = 1024 * 1024;
+    private static final int INITIAL_BUFFER = 8 * 1024;
+
+    // Thread-safe, shared by all callers
+    private static final Gson compact = new Gson();
+    private static final Gson pretty = new GsonBuilder().setPrettyPrinting().create();
+
+    // Configuration
+    private static final Format RESPONSE_FORMAT =
+        "pretty".equals(System.getProperty("webdesigner.json.responses", "compact").toLowerCase(Locale.ROOT))
+            ? Format.PRETTY : Format.COMPACT;
+    private static final Set<String> COMPACT_PROJECTS =
+        parseProjects(System.getProperty("webdesigner.json.compactProjects", ""));
+
+    // Shared by all threads: handlers run on a new virtual thread per request
+    private static final ObjectPool<Buffer> buffers = new ObjectPool<>(32, Buffer::new);
+
+    // Private constructor - utility class
+    private JsonSerializer() {}
+
+    /**
+     * Growable byte buffer with a UTF-8 writer in front of it.
+     */
+    private static final class Buffer extends ByteArrayOutputStream {
+        final Writer writer = new OutputStreamWriter(this, StandardCharsets.UTF_8);
+
+        Buffer() {
+            super(INITIAL_BUFFER);
+        }
+
+        byte[] toByteArray(int length) {
+            return Arrays.copyOf(buf, length);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+
+    /**
+     * Format of API responses.
+     */
+    public static Format responseFormat() {
+        return RESPONSE_FORMAT;
+    }
+
+    /**
+     * Format in which a project's views are saved.
+     */
+    public static Format viewFormat(String projectName) {
+        return COMPACT_PROJECTS.contains("*") || COMPACT_PROJECTS.contains(projectName)
+            ? Format.COMPACT : Format.PRETTY;
+    }
+
+    /**
+     * Serialize a tree to UTF-8 bytes.
+     */
+    public static byte[] toBytes(JsonElement element, Format format) {
+        Buffer buffer = buffers.acquire();
+        boolean complete = false;
+        try {
+            (format == Format.PRETTY ? pretty : compact).toJson(element, buffer.writer);
+            buffer.writer.flush();
+            byte[] bytes = buffer.toByteArray(buffer.size());
+            complete = true;
+            return bytes;
+        } catch (IOException e) {
+            // Only writes to memory
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.reset();
+            // The writer may hold unflushed characters after a failure
+            if (complete && buffer.capacity() <= MAX_RETAINED_BUFFER) {
+                buffers.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Serialize a tree to a String.
+     */
+    public static String toString(JsonElement element, Format format) {
+        return (format == Format.PRETTY ? pretty : compact).toJson(element);
+    }
+
+    /**
+     * Create a streaming writer for a response built incrementally (e.g. one item at a
+     * time), indented according to the format.
+     */
+    public static JsonWriter newWriter(Writer out, Format format) throws IOException {
+        return (format == Format.PRETTY ? pretty : compact).newJsonWriter(out);
+    }
+
+    /**
+     * Write a tree to a streaming writer, with the same escaping as toBytes.
+     */
+    public static void write(JsonElement element, JsonWriter writer, Format format) {
+        (format == Format.PRETTY ? pretty : compact).toJson(element, writer);
+    }
+
+    private static Set<String> parseProjects(String value) {
+        Set<String> projects = new HashSet<>();
+        for (String project : value.split(",")) {
+            if (!project.trim().isEmpty()) {
+                projects.add(project.trim());
+            }
+        }
+        return Collections.unmodifiableSet(projects);
+    }
+}
@@ -2,8 +2,13 @@ package com.me.webdesigner.util;
 
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Enhanced Logging Utility
@@ -19,18 +24,93 @@ import java.util.Map;
  * - User action logging
  * - Consistent log format
  *
+ * Hot paths use the event builder: atInfo() etc. return a pooled event that
+ * records fields as references and primitives (no varargs array, no boxing), or a
+ * no-op event when the level is disabled, so a disabled line costs a level check.
+ *
+ * Enabled events are copied into a preallocated ring buffer and formatted and written
+ * to SLF4J by a single background thread ("webdesigner-log-1"); request threads never
+ * format or wait on the appender. When the ring is full, events are dropped and
+ * counted rather than blocking. Since formatting happens later, field values should be
+ * immutable (strings, numbers). Written lines don't carry the request thread's name.
+ *
+ * Repetitive per-request lines can be marked sampled(): each message is then logged
+ * at most webdesigner.log.sampleRate times per second, and the next line logged
+ * reports how many were suppressed in between.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.log.async      - true/false, write on the background thread (default: true)
+ * - webdesigner.log.bufferSize - events in the ring buffer, rounded up to a power of two (default: 8192)
+ * - webdesigner.log.sampleRate - sampled lines per message per second, 0 for all (default: 10)
+ *
  * Usage:
  * ```java
  * Logger logger = Logger.get(MyClass.class);
+ * logger.atInfo().sampled().with("project", projectName).with("count", views).log("Found views");
  * logger.info("User action", "username", user, "action", "save_view");
  * logger.performance("Save view operation", startTime);
  * ```
  */
 public class Logger {
 
+    private enum Level {
+        TRACE,
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR
+    }
+
+    // Fields per event beyond this are ignored
+    private static final int MAX_FIELDS = 8;
+
+    private static final byte OBJECT = 0;
+    private static final byte LONG = 1;
+    private static final byte BOOLEAN = 2;
+
+    // Configuration
+    private static final boolean ASYNC =
+        Boolean.parseBoolean(System.getProperty("webdesigner.log.async", "true"));
+    private static final int BUFFER_SIZE =
+        Integer.highestOneBit(Math.max(2, Integer.getInteger("webdesigner.log.bufferSize", 8192)) * 2 - 1);
+    private static final int SAMPLE_RATE = Math.max(0, Integer.getInteger("webdesigner.log.sampleRate", 10));
+
+    private static final long SAMPLE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Writer wake-up while idle, so a missed unpark only delays a line
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private static final org.slf4j.Logger internal = LoggerFactory.getLogger(Logger.class);
+
+    // Ring buffer: producers claim sequence numbers from next, the writer follows with consumed
+    private static final Slot[] ring = new Slot[BUFFER_SIZE];
+    private static final AtomicLong next = new AtomicLong();
+    private static volatile long consumed;
+
+    static {
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new Slot();
+        }
+    }
+
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong suppressed = new AtomicLong();
+
+    // Message -> sampling state of sampled() lines
+    private static final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    // Shared by all threads: handlers run on a new virtual thread per request
+    private static final ObjectPool<Event> events = new ObjectPool<>(256, Event::new);
+    private static final Event NOOP = new NoopEvent();
+
+    private static final Object lifecycleLock = new Object();
+    private static volatile Thread writerThread;
+    private static volatile boolean idle;
+    private static volatile boolean stopping;
+
     private final org.slf4j.Logger slf4jLogger;
 
-    private Logger(org.slf4j.Logger slf4jLogger) {
+    Logger(org.slf4j.Logger slf4jLogger) {
         this.slf4jLogger = slf4jLogger;
     }
 
@@ -41,82 +121,313 @@ public class Logger {
         return new Logger(LoggerFactory.getLogger(clazz));
     }
 
+    /**
+     * Structured log line under construction.
+     *
+     * Obtained from atInfo() etc. and only valid until log() is called; the instance then
+     * goes back to the pool for another line.
+     */
+    public static class Event {
+        private Logger logger;
+        private Level level;
+        private boolean sampled;
+        private Throwable thrown;
+        private int fieldCount;
+        private final String[] keys = new String[MAX_FIELDS];
+        private final byte[] kinds = new byte[MAX_FIELDS];
+        private final Object[] objects = new Object[MAX_FIELDS];
+        private final long[] longs = new long[MAX_FIELDS];
+
+        private Event start(Logger logger, Level level) {
+            this.logger = logger;
+            this.level = level;
+            this.sampled = false;
+            this.thrown = null;
+            this.fieldCount = 0;
+            return this;
+        }
+
+        /**
+         * Rate limit this line per message (see webdesigner.log.sampleRate).
+         */
+        public Event sampled() {
+            sampled = true;
+            return this;
+        }
+
+        public Event with(String key, Object value) {
+            return add(key, OBJECT, value, 0);
+        }
+
+        public Event with(String key, long value) {
+            return add(key, LONG, null, value);
+        }
+
+        public Event with(String key, boolean value) {
+            return add(key, BOOLEAN, null, value ? 1 : 0);
+        }
+
+        /**
+         * Attach an exception, logged with its stack trace.
+         */
+        public Event withError(Throwable throwable) {
+            thrown = throwable;
+            return this;
+        }
+
+        private Event add(String key, byte kind, Object object, long value) {
+            if (fieldCount < MAX_FIELDS) {
+                keys[fieldCount] = key;
+                kinds[fieldCount] = kind;
+                objects[fieldCount] = object;
+                longs[fieldCount] = value;
+                fieldCount++;
+            }
+            return this;
+        }
+
+        /**
+         * Log the line with the given message.
+         */
+        public void log(String message) {
+            try {
+                if (sampled && SAMPLE_RATE > 0) {
+                    long skipped = samplers.computeIfAbsent(message, m -> new Sampler()).acquire();
+                    if (skipped < 0) {
+                        return;
+                    }
+                    if (skipped > 0) {
+                        with("suppressed", skipped);
+                    }
+                }
+                publish(this, message);
+            } finally {
+                // Don't keep references to request objects in pooled events
+                for (int i = 0; i < fieldCount; i++) {
+                    objects[i] = null;
+                }
+                thrown = null;
+                logger = null;
+                events.release(this);
+            }
+        }
+    }
+
+    /**
+     * Event returned for disabled levels: ignores everything.
+     */
+    private static final class NoopEvent extends Event {
+        @Override
+        public Event sampled() {
+            return this;
+        }
+
+        @Override
+        public Event with(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        public Event with(String key, long value) {
+            return this;
+        }
+
+        @Override
+        public Event with(String key, boolean value) {
+            return this;
+        }
+
+        @Override
+        public Event withError(Throwable throwable) {
+            return this;
+        }
+
+        @Override
+        public void log(String message) {
+        }
+    }
+
+    /**
+     * One ring buffer entry; written by the producer that claimed it, then read by the writer.
+     */
+    private static final class Slot {
+        // Sequence number this slot was last published for
+        volatile long published = -1;
+        org.slf4j.Logger target;
+        Level level;
+        String message;
+        Throwable thrown;
+        int fieldCount;
+        final String[] keys = new String[MAX_FIELDS];
+        final byte[] kinds = new byte[MAX_FIELDS];
+        final Object[] objects = new Object[MAX_FIELDS];
+        final long[] longs = new long[MAX_FIELDS];
+
+        void copyFrom(Event event, String message) {
+            target = event.logger.slf4jLogger;
+            level = event.level;
+            this.message = message;
+            thrown = event.thrown;
+            fieldCount = event.fieldCount;
+            System.arraycopy(event.keys, 0, keys, 0, fieldCount);
+            System.arraycopy(event.kinds, 0, kinds, 0, fieldCount);
+            System.arraycopy(event.objects, 0, objects, 0, fieldCount);
+            System.arraycopy(event.longs, 0, longs, 0, fieldCount);
+        }
+
+        void clear() {
+            target = null;
+            message = null;
+            thrown = null;
+            for (int i = 0; i < fieldCount; i++) {
+                keys[i] = null;
+                objects[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Per-message rate limit for sampled() lines.
+     */
+    private static final class Sampler {
+        private volatile long window = Long.MIN_VALUE;
+        private final AtomicInteger passed = new AtomicInteger();
+        private final AtomicLong skipped = new AtomicLong();
+
+        /**
+         * @return Lines suppressed since the last one logged, or -1 to suppress this one
+         */
+        long acquire() {
+            long current = System.nanoTime() / SAMPLE_WINDOW_NANOS;
+            if (current != window) {
+                synchronized (this) {
+                    if (current != window) {
+                        window = current;
+                        passed.set(0);
+                    }
+                }
+            }
+            if (passed.incrementAndGet() <= SAMPLE_RATE) {
+                return skipped.getAndSet(0);
+            }
+            skipped.incrementAndGet();
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+
+    /**
+     * Start an INFO line, or get a no-op event if INFO is disabled.
+     */
+    public Event atInfo() {
+        return slf4jLogger.isInfoEnabled() ? event(Level.INFO) : NOOP;
+    }
+
+    /**
+     * Start a WARN line, or get a no-op event if WARN is disabled.
+     */
+    public Event atWarn() {
+        return slf4jLogger.isWarnEnabled() ? event(Level.WARN) : NOOP;
+    }
+
+    /**
+     * Start an ERROR line, or get a no-op event if ERROR is disabled.
+     */
+    public Event atError() {
+        return slf4jLogger.isErrorEnabled() ? event(Level.ERROR) : NOOP;
+    }
+
+    /**
+     * Start a DEBUG line, or get a no-op event if DEBUG is disabled.
+     */
+    public Event atDebug() {
+        return slf4jLogger.isDebugEnabled() ? event(Level.DEBUG) : NOOP;
+    }
+
+    /**
+     * Start a TRACE line, or get a no-op event if TRACE is disabled.
+     */
+    public Event atTrace() {
+        return slf4jLogger.isTraceEnabled() ? event(Level.TRACE) : NOOP;
+    }
+
+    private Event event(Level level) {
+        return events.acquire().start(this, level);
+    }
+
     /**
      * Log info message with context
      */
     public void info(String message, Object... context) {
-        if (slf4jLogger.isInfoEnabled()) {
-            slf4jLogger.info(formatMessage(message, context));
-        }
+        withContext(atInfo(), context).log(message);
     }
 
     /**
      * Log warning message with context
      */
     public void warn(String message, Object... context) {
-        if (slf4jLogger.isWarnEnabled()) {
-            slf4jLogger.warn(formatMessage(message, context));
-        }
+        withContext(atWarn(), context).log(message);
     }
 
     /**
      * Log error message with context
      */
     public void error(String message, Object... context) {
-        if (slf4jLogger.isErrorEnabled()) {
-            slf4jLogger.error(formatMessage(message, context));
-        }
+        withContext(atError(), context).log(message);
     }
 
     /**
      * Log error with exception
      */
     public void error(String message, Throwable throwable, Object... context) {
-        if (slf4jLogger.isErrorEnabled()) {
-            slf4jLogger.error(formatMessage(message, context), throwable);
-        }
+        withContext(atError(), context).withError(throwable).log(message);
     }
 
     /**
      * Log debug message with context
      */
     public void debug(String message, Object... context) {
-        if (slf4jLogger.isDebugEnabled()) {
-            slf4jLogger.debug(formatMessage(message, context));
-        }
+        withContext(atDebug(), context).log(message);
     }
 
     /**
      * Log trace message with context
      */
     public void trace(String message, Object... context) {
-        if (slf4jLogger.isTraceEnabled()) {
-            slf4jLogger.trace(formatMessage(message, context));
+        withContext(atTrace(), context).log(message);
+    }
+
+    private static Event withContext(Event event, Object... context) {
+        if (event != NOOP && context != null) {
+            for (int i = 0; i < context.length; i += 2) {
+                event.with(String.valueOf(context[i]), i + 1 < context.length ? context[i + 1] : null);
+            }
         }
+        return event;
     }
 
     /**
      * Log API request
      */
     public void apiRequest(String method, String path, String username, String ip) {
-        info("API Request",
-            "method", method,
-            "path", path,
-            "username", username,
-            "ip", ip
-        );
+        atInfo()
+            .with("method", method)
+            .with("path", path)
+            .with("username", username)
+            .with("ip", ip)
+            .log("API Request");
     }
 
     /**
      * Log API response
      */
     public void apiResponse(String method, String path, int statusCode, long durationMs) {
-        info("API Response",
-            "method", method,
-            "path", path,
-            "status", statusCode,
-            "duration_ms", durationMs
-        );
+        atInfo()
+            .with("method", method)
+            .with("path", path)
+            .with("status", statusCode)
+            .with("duration_ms", durationMs)
+            .log("API Response");
     }
 
     /**
@@ -124,10 +435,10 @@ public class Logger {
      */
     public void performance(String operation, long startTimeMs) {
         long duration = System.currentTimeMillis() - startTimeMs;
-        info("Performance",
-            "operation", operation,
-            "duration_ms", duration
-        );
+        atInfo()
+            .with("operation", operation)
+            .with("duration_ms", duration)
+            .log("Performance");
     }
 
     /**
@@ -136,16 +447,16 @@ public class Logger {
     public void performance(String operation, long startTimeMs, long warningThresholdMs) {
         long duration = System.currentTimeMillis() - startTimeMs;
         if (duration > warningThresholdMs) {
-            warn("Slow operation detected",
-                "operation", operation,
-                "duration_ms", duration,
-                "threshold_ms", warningThresholdMs
-            );
+            atWarn()
+                .with("operation", operation)
+                .with("duration_ms", duration)
+                .with("threshold_ms", warningThresholdMs)
+                .log("Slow operation detected");
         } else {
-            debug("Performance",
-                "operation", operation,
-                "duration_ms", duration
-            );
+            atDebug()
+                .with("operation", operation)
+                .with("duration_ms", duration)
+                .log("Performance");
         }
     }
 
@@ -153,53 +464,173 @@ public class Logger {
      * Log user action for audit
      */
     public void userAction(String username, String action, String resource, boolean success) {
-        info("User Action",
-            "username", username,
-            "action", action,
-            "resource", resource,
-            "success", success
-        );
+        atInfo()
+            .with("username", username)
+            .with("action", action)
+            .with("resource", resource)
+            .with("success", success)
+            .log("User Action");
     }
 
     /**
      * Log security event
      */
     public void security(String event, String username, String details, boolean allowed) {
-        String level = allowed ? "INFO" : "WARN";
-        String message = formatMessage("Security Event",
-            "event", event,
-            "username", username,
-            "details", details,
-            "allowed", allowed
-        );
-
-        if (allowed) {
-            info(message);
-        } else {
-            warn(message);
+        (allowed ? atInfo() : atWarn())
+            .with("event", event)
+            .with("username", username)
+            .with("details", details)
+            .with("allowed", allowed)
+            .log("Security Event");
+    }
+
+    /**
+     * Hand an event to the writer thread, or write it here if async logging is off.
+     */
+    private static void publish(Event event, String message) {
+        if (!ASYNC || stopping) {
+            write(event.logger.slf4jLogger, event.level, format(message, event.fieldCount, event.keys,
+                event.kinds, event.objects, event.longs), event.thrown);
+            written.incrementAndGet();
+            return;
+        }
+
+        long sequence;
+        do {
+            sequence = next.get();
+            if (sequence - consumed >= BUFFER_SIZE) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!next.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = ring[(int) (sequence & (BUFFER_SIZE - 1))];
+        slot.copyFrom(event, message);
+        slot.published = sequence;
+
+        Thread writer = writerThread;
+        if (writer == null) {
+            writer = startWriter();
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private static Thread startWriter() {
+        synchronized (lifecycleLock) {
+            if (writerThread == null) {
+                Thread thread = new NamedThreadFactory("webdesigner-log").newThread(Logger::runWriter);
+                thread.start();
+                writerThread = thread;
+            }
+            return writerThread;
+        }
+    }
+
+    private static void runWriter() {
+        long reportedDrops = 0;
+
+        while (true) {
+            if (!drainAvailable()) {
+                if (stopping && consumed == next.get()) {
+                    break;
+                }
+                idle = true;
+                // Re-check after publishing idle so a concurrent publish can't be missed
+                if (consumed == next.get() && !stopping) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else {
+                    // A producer has claimed a slot and is still filling it
+                    Thread.onSpinWait();
+                }
+                idle = false;
+                continue;
+            }
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                internal.warn("Log buffer full: {} lines dropped so far (capacity {})", drops, BUFFER_SIZE);
+                reportedDrops = drops;
+            }
+        }
+    }
+
+    /**
+     * Write the published events in sequence order.
+     *
+     * @return Whether any event was written
+     */
+    private static boolean drainAvailable() {
+        long sequence = consumed;
+        long start = sequence;
+        while (true) {
+            Slot slot = ring[(int) (sequence & (BUFFER_SIZE - 1))];
+            if (slot.published != sequence) {
+                break;
+            }
+            try {
+                write(slot.target, slot.level, format(slot.message, slot.fieldCount, slot.keys, slot.kinds,
+                    slot.objects, slot.longs), slot.thrown);
+            } catch (RuntimeException e) {
+                internal.debug("Could not write log line", e);
+            }
+            slot.clear();
+            sequence++;
+            consumed = sequence;
+        }
+        written.addAndGet(sequence - start);
+        return sequence != start;
+    }
+
+    private static void write(org.slf4j.Logger target, Level level, String text, Throwable thrown) {
+        switch (level) {
+            case TRACE:
+                target.trace(text, thrown);
+                break;
+            case DEBUG:
+                target.debug(text, thrown);
+                break;
+            case INFO:
+                target.info(text, thrown);
+                break;
+            case WARN:
+                target.warn(text, thrown);
+                break;
+            default:
+                target.error(text, thrown);
+                break;
         }
     }
 
     /**
      * Format message with context key-value pairs
      */
-    private String formatMessage(String message, Object... context) {
-        if (context == null || context.length == 0) {
+    private static String format(String message, int fieldCount, String[] keys, byte[] kinds, Object[] objects,
+                                 long[] longs) {
+        if (fieldCount == 0) {
             return message;
         }
 
-        StringBuilder sb = new StringBuilder(message);
-        sb.append(" [");
+        StringBuilder sb = new StringBuilder(message.length() + 16 * fieldCount);
+        sb.append(message).append(" [");
 
-        for (int i = 0; i < context.length; i += 2) {
+        for (int i = 0; i < fieldCount; i++) {
             if (i > 0) {
                 sb.append(", ");
             }
-
-            String key = String.valueOf(context[i]);
-            Object value = (i + 1 < context.length) ? context[i + 1] : null;
-
-            sb.append(key).append("=").append(formatValue(value));
+            sb.append(keys[i]).append('=');
+            switch (kinds[i]) {
+                case LONG:
+                    sb.append(longs[i]);
+                    break;
+                case BOOLEAN:
+                    sb.append(longs[i] != 0);
+                    break;
+                default:
+                    appendValue(sb, objects[i]);
+                    break;
+            }
         }
 
         sb.append("]");
@@ -209,16 +640,12 @@ public class Logger {
     /**
      * Format value for logging
      */
-    private String formatValue(Object value) {
-        if (value == null) {
-            return "null";
-        }
-
+    private static void appendValue(StringBuilder sb, Object value) {
         if (value instanceof String) {
-            return "\"" + value + "\"";
+            sb.append('"').append((String) value).append('"');
+        } else {
+            sb.append(value);
         }
-
-        return String.valueOf(value);
     }
 
     /**
@@ -249,6 +676,53 @@ public class Logger {
         return slf4jLogger;
     }
 
+    /**
+     * Write buffered lines and stop the writer thread (module shutdown).
+     *
+     * Lines logged afterwards are written on the calling thread.
+     */
+    public static void shutdown() {
+        Thread writer;
+        synchronized (lifecycleLock) {
+            stopping = true;
+            writer = writerThread;
+        }
+        if (writer == null) {
+            return;
+        }
+
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            internal.warn("Log writer did not finish, {} lines not written", next.get() - consumed);
+        } else {
+            // Lines published while the writer was exiting
+            drainAvailable();
+        }
+        internal.info("Log writer stopped: {} written, {} dropped, {} suppressed by sampling",
+            written.get(), dropped.get(), suppressed.get());
+    }
+
+    /**
+     * Logging statistics.
+     *
+     * @return Map of stat name to value
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("async", ASYNC);
+        result.put("buffered", Math.max(0, next.get() - consumed));
+        result.put("capacity", BUFFER_SIZE);
+        result.put("written", written.get());
+        result.put("dropped", dropped.get());
+        result.put("suppressed", suppressed.get());
+        return result;
+    }
+
     /**
      * Performance timer for convenient timing
      */
@@ -261,7 +735,7 @@ public class Logger {
             this.logger = logger;
             this.operation = operation;
             this.startTime = System.currentTimeMillis();
-            logger.debug("Starting operation", "operation", operation);
+            logger.atDebug().with("operation", operation).log("Starting operation");
         }
 
         public void stop() {
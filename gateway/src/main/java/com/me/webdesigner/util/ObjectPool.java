@@ -0,0 +1,49 @@
+package com.me.webdesigner.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable scratch objects (digests, buffers, log events).
+ *
+ * Handlers run on a new virtual thread per request (see HandlerExecutor), so objects
+ * kept in a ThreadLocal would be created again for every request and never reused.
+ * A pool is shared by all threads instead: acquire() takes an idle object or creates
+ * one, and release() puts it back unless capacity objects are already idle. Objects
+ * that are never released (e.g. after an exception) are simply garbage collected.
+ *
+ * Usage:
+ * ```java
+ * MessageDigest digest = digests.acquire();
+ * try { ... } finally { digests.release(digest); }
+ * ```
+ */
+public final class ObjectPool<T> {
+
+    private final ArrayBlockingQueue<T> idle;
+    private final Supplier<T> factory;
+
+    /**
+     * @param capacity Max idle objects kept
+     * @param factory Creates an object when none is idle
+     */
+    public ObjectPool(int capacity, Supplier<T> factory) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+    }
+
+    /**
+     * Take an idle object, or create one. The caller has exclusive use until release().
+     */
+    public T acquire() {
+        T object = idle.poll();
+        return object != null ? object : factory.get();
+    }
+
+    /**
+     * Return an object for reuse. The caller must not use it afterwards.
+     */
+    public void release(T object) {
+        idle.offer(object);
+    }
+}
@@ -0,0 +1,164 @@
+package com.me.webdesigner.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Include/exclude filter over slash-separated resource paths.
+ *
+ * Patterns are comma-separated globs:
+ * - ** matches any characters including '/'
+ * - *  matches any characters except '/'
+ * - ?  matches one character except '/'
+ *
+ * A pattern also matches everything below a matching folder, so "views/Main"
+ * selects "views/Main/view.json". A path is accepted if it matches at least one
+ * include pattern (or there are none) and no exclude pattern.
+ *
+ * Patterns come from request parameters, so they are not turned into regular
+ * expressions (a pattern such as "**a**a**a**b" backtracks exponentially). Matching
+ * tracks the set of path positions each pattern prefix can end at, which takes
+ * O(pattern length x path length) per pattern whatever the wildcards. Pattern count
+ * and length are capped as well.
+ *
+ * Usage:
+ * ```java
+ * PathFilter filter = PathFilter.parse("views,scripts/util", "views/Legacy");
+ * if (filter.accepts("views/Main/view.json")) { ... }
+ * ```
+ */
+public final class PathFilter {
+
+    // Limits per include or exclude parameter
+    static final int MAX_PATTERNS = 32;
+    static final int MAX_PATTERN_LENGTH = 256;
+
+    private static final PathFilter ALL = new PathFilter(new ArrayList<>(), new ArrayList<>());
+
+    private final List<String> includes;
+    private final List<String> excludes;
+
+    private PathFilter(List<String> includes, List<String> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * Build a filter from comma-separated include and exclude globs (either may be null).
+     *
+     * @throws IllegalArgumentException if there are more than MAX_PATTERNS patterns or
+     *                                  one is longer than MAX_PATTERN_LENGTH
+     */
+    public static PathFilter parse(String include, String exclude) {
+        List<String> includes = split(include);
+        List<String> excludes = split(exclude);
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return ALL;
+        }
+        return new PathFilter(includes, excludes);
+    }
+
+    /**
+     * Whether a path passes the filter.
+     */
+    public boolean accepts(String path) {
+        if (!includes.isEmpty() && !matchesAny(includes, path)) {
+            return false;
+        }
+        return !matchesAny(excludes, path);
+    }
+
+    private static boolean matchesAny(List<String> globs, String path) {
+        for (String glob : globs) {
+            if (matches(glob, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Match a glob against a path or one of its parent folders.
+     */
+    static boolean matches(String glob, String path) {
+        int n = path.length();
+        // reachable[i]: the glob prefix read so far can match path[0, i)
+        boolean[] reachable = new boolean[n + 1];
+        boolean[] next = new boolean[n + 1];
+        reachable[0] = true;
+
+        int g = 0;
+        while (g < glob.length()) {
+            char c = glob.charAt(g);
+            boolean any = false;
+            if (c == '*' && g + 1 < glob.length() && glob.charAt(g + 1) == '*') {
+                // **: extend each reachable position to every later one
+                boolean open = false;
+                for (int i = 0; i <= n; i++) {
+                    open |= reachable[i];
+                    next[i] = open;
+                    any |= open;
+                }
+                g += 2;
+            } else if (c == '*') {
+                // *: extend each reachable position up to the next '/'
+                next[0] = reachable[0];
+                any = next[0];
+                for (int i = 1; i <= n; i++) {
+                    next[i] = reachable[i] || (next[i - 1] && path.charAt(i - 1) != '/');
+                    any |= next[i];
+                }
+                g++;
+            } else {
+                next[0] = false;
+                for (int i = 1; i <= n; i++) {
+                    char p = path.charAt(i - 1);
+                    next[i] = reachable[i - 1] && (c == '?' ? p != '/' : p == c);
+                    any |= next[i];
+                }
+                g++;
+            }
+            if (!any) {
+                return false;
+            }
+            boolean[] swap = reachable;
+            reachable = next;
+            next = swap;
+        }
+
+        if (reachable[n]) {
+            return true;
+        }
+        // Matching a folder matches its contents
+        for (int i = 1; i < n; i++) {
+            if (reachable[i] && path.charAt(i) == '/') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> split(String globs) {
+        List<String> patterns = new ArrayList<>();
+        if (globs == null) {
+            return patterns;
+        }
+        for (String glob : globs.split(",")) {
+            String trimmed = glob.trim();
+            if (trimmed.endsWith("/")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.length() > MAX_PATTERN_LENGTH) {
+                throw new IllegalArgumentException("Pattern too long (max " + MAX_PATTERN_LENGTH + " characters)");
+            }
+            if (patterns.size() == MAX_PATTERNS) {
+                throw new IllegalArgumentException("Too many patterns (max " + MAX_PATTERNS + ")");
+            }
+            patterns.add(trimmed);
+        }
+        return patterns;
+    }
+}
@@ -0,0 +1,63 @@
+package com.me.webdesigner.util;
+
+import java.util.Arrays;
+
+/**
+ * Path parameter values of a request, as extracted by RouteTemplate.match.
+ *
+ * Instances are pooled and reused across requests (see acquire()); handlers must read
+ * the values they need during the call and not keep the object.
+ */
+public final class PathParams {
+
+    // Shared by all threads: handlers run on a new virtual thread per request
+    private static final ObjectPool<PathParams> pool = new ObjectPool<>(256, PathParams::new);
+
+    private RouteTemplate template;
+    private String[] values = new String[2];
+
+    public PathParams() {
+    }
+
+    /**
+     * Take an instance from the pool; give it back with release() once the handler returns.
+     */
+    public static PathParams acquire() {
+        return pool.acquire();
+    }
+
+    /**
+     * Return an instance to the pool.
+     */
+    public static void release(PathParams params) {
+        params.template = null;
+        Arrays.fill(params.values, null);
+        pool.release(params);
+    }
+
+    void reset(RouteTemplate template) {
+        this.template = template;
+        if (values.length < template.getParamCount()) {
+            values = new String[template.getParamCount()];
+        } else {
+            Arrays.fill(values, null);
+        }
+    }
+
+    void set(int index, String value) {
+        values[index] = value;
+    }
+
+    /**
+     * Value of a named parameter of the matched template.
+     *
+     * @throws IllegalArgumentException If the template has no such parameter
+     */
+    public String get(String name) {
+        int index = template != null ? template.indexOf(name) : -1;
+        if (index < 0) {
+            throw new IllegalArgumentException("Route " + template + " has no parameter '" + name + "'");
+        }
+        return values[index];
+    }
+}
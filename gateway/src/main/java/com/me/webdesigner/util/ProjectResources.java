@@ -0,0 +1,119 @@
+package com.me.webdesigner.util;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * On-disk layout of the project resources the Web Designer works with.
+ *
+ * Resources live under {dataDir}/projects/{projectName}/{module}/{type}/{resourcePath}/,
+ * one folder per resource holding its data file and resource.json.
+ *
+ * Archive entries (export/import) use a short prefix per resource type instead of
+ * the module folder, e.g. "views/Main/view.json" or "scripts/util/code.py".
+ */
+public final class ProjectResources {
+
+    // Private constructor - utility class
+    private ProjectResources() {
+    }
+
+    /**
+     * Resource types, with their archive prefix, folder and data file.
+     */
+    public enum Type {
+        VIEW("views", "com.inductiveautomation.perspective/views", "view.json"),
+        SCRIPT("scripts", "com.inductiveautomation.ignition/script-python", "code.py"),
+        QUERY("queries", "com.inductiveautomation.ignition/named-query", "query.props");
+
+        private final String archivePrefix;
+        private final String folder;
+        private final String dataFile;
+
+        Type(String archivePrefix, String folder, String dataFile) {
+            this.archivePrefix = archivePrefix;
+            this.folder = folder;
+            this.dataFile = dataFile;
+        }
+
+        /**
+         * Prefix of this type's entries in an export archive (e.g. "views").
+         */
+        public String getArchivePrefix() {
+            return archivePrefix;
+        }
+
+        /**
+         * Folder relative to the project directory.
+         */
+        public String getFolder() {
+            return folder;
+        }
+
+        /**
+         * Name of the file holding the resource's content (e.g. "view.json").
+         */
+        public String getDataFile() {
+            return dataFile;
+        }
+
+        /**
+         * Find the type for an archive entry name such as "views/Main/view.json".
+         *
+         * @return The type, or null if the entry is not under a known prefix
+         */
+        public static Type forArchiveEntry(String entryName) {
+            for (Type type : values()) {
+                if (entryName.startsWith(type.archivePrefix + "/")) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Get a project's directory.
+     */
+    public static Path projectDir(File dataDir, String projectName) {
+        return Paths.get(dataDir.getAbsolutePath(), "projects", projectName);
+    }
+
+    /**
+     * Get the root folder of a resource type within a project.
+     */
+    public static Path typeRoot(File dataDir, String projectName, Type type) {
+        return projectDir(dataDir, projectName).resolve(type.getFolder());
+    }
+
+    /**
+     * Get the data file of a resource (e.g. .../views/{resourcePath}/view.json).
+     *
+     * @throws IllegalArgumentException if the resource path is absolute or leaves the type folder
+     */
+    public static Path dataFile(File dataDir, String projectName, Type type, String resourcePath) {
+        return resolveWithin(typeRoot(dataDir, projectName, type), resourcePath).resolve(type.getDataFile());
+    }
+
+    /**
+     * Resolve a relative path below a root folder.
+     *
+     * Path.resolve returns an absolute argument unchanged, so absolute paths are rejected
+     * and the normalized result must stay strictly below the root.
+     *
+     * @throws IllegalArgumentException if the path is absolute, empty or leaves the root
+     */
+    public static Path resolveWithin(Path root, String relativePath) {
+        if (relativePath == null || relativePath.isEmpty() || relativePath.startsWith("/")
+            || relativePath.startsWith("\\") || Paths.get(relativePath).isAbsolute()) {
+            throw new IllegalArgumentException("Path must be relative: " + relativePath);
+        }
+        Path normalizedRoot = root.normalize();
+        Path resolved = normalizedRoot.resolve(relativePath).normalize();
+        if (!resolved.startsWith(normalizedRoot) || resolved.equals(normalizedRoot)) {
+            throw new IllegalArgumentException("Path escapes its folder: " + relativePath);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,150 @@
+package com.me.webdesigner.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.Principal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client admission control for API routes.
+ *
+ * Each route is assigned a budget in WebDesignerApiRoutes; every budget is a token
+ * bucket per client (user and remote address), with a sustained rate and a burst
+ * size. A request that finds its bucket empty is rejected with 429 before the
+ * handler touches the disk or the tag system, so one misbehaving client can't
+ * saturate the Gateway.
+ *
+ * Buckets are kept as a single "theoretical arrival time" per client (GCRA, which
+ * admits exactly what a token bucket admits) and updated with one CAS, so the hot
+ * path takes no locks; buckets live in a ConcurrentHashMap, which stripes updates
+ * across its bins. Buckets that have refilled completely are evicted when the map
+ * reaches its size limit.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.rateLimit.enabled          - true/false (default: true)
+ * - webdesigner.rateLimit.{budget}.rate    - requests per second per client
+ * - webdesigner.rateLimit.{budget}.burst   - requests allowed at once per client
+ * - webdesigner.rateLimit.maxClients       - tracked buckets before eviction (default: 10000)
+ *
+ * Budgets (defaults rate/burst):
+ * - read   - single resource reads, component catalog (50/100)
+ * - scan   - view, script and query listings (5/20)
+ * - stream - export, batch, lint: long-running streamed responses (5/20)
+ * - tags   - tag provider and tag browses (20/40)
+ * - write  - saves and imports (5/20)
+ */
+public final class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    // Configuration
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.rateLimit.enabled", "true"));
+    private static final int MAX_CLIENTS = Integer.getInteger("webdesigner.rateLimit.maxClients", 10000);
+
+    // Bucket state per budget and client: the time at which the bucket is full again (System.nanoTime)
+    private static final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private static final AtomicLong rejected = new AtomicLong();
+
+    // Private constructor - utility class
+    private RateLimiter() {}
+
+    /**
+     * Request budget of a route
+     */
+    public enum Budget {
+        READ(50, 100),
+        SCAN(5, 20),
+        STREAM(5, 20),
+        TAGS(20, 40),
+        WRITE(5, 20);
+
+        // Nanoseconds between requests at the sustained rate
+        final long intervalNanos;
+        // How far ahead of now a bucket's arrival time may run (burst - 1 intervals)
+        final long toleranceNanos;
+
+        Budget(double defaultRate, int defaultBurst) {
+            String prefix = "webdesigner.rateLimit." + name().toLowerCase(Locale.ROOT);
+            double rate = Double.parseDouble(System.getProperty(prefix + ".rate", String.valueOf(defaultRate)));
+            int burst = Math.max(1, Integer.getInteger(prefix + ".burst", defaultBurst));
+
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(rate, 0.001)));
+            this.toleranceNanos = intervalNanos * (burst - 1);
+        }
+    }
+
+    /**
+     * Admit a request or compute how long the client must wait.
+     *
+     * @return 0 if admitted, otherwise the number of seconds until a request would be admitted
+     */
+    public static long acquire(HttpServletRequest req, Budget budget) {
+        if (!ENABLED) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        String key = key(req, budget);
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= MAX_CLIENTS) {
+                evictIdle(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now < 0 ? now : arrival;
+            long wait = start - now - budget.toleranceNanos;
+            if (wait > 0) {
+                rejected.incrementAndGet();
+                logger.debug("Rate limit exceeded for {}", key);
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            }
+            if (bucket.compareAndSet(arrival, start + budget.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private static String key(HttpServletRequest req, Budget budget) {
+        Principal principal = req.getUserPrincipal();
+        String user = principal != null ? principal.getName() : "";
+        return budget.name() + '|' + user + '@' + req.getRemoteAddr();
+    }
+
+    /**
+     * Drop buckets that have refilled completely (equivalent to a fresh bucket), or all
+     * buckets if every client is active.
+     */
+    private static void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        if (buckets.size() >= MAX_CLIENTS) {
+            logger.warn("Rate limiter tracking {} active clients, resetting", buckets.size());
+            buckets.clear();
+        }
+    }
+
+    /**
+     * Number of requests rejected since startup.
+     */
+    public static long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Forget all buckets.
+     */
+    public static void reset() {
+        buckets.clear();
+    }
+}
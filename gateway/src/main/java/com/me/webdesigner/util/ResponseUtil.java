@@ -1,12 +1,15 @@
 package com.me.webdesigner.util;
 
+import com.inductiveautomation.ignition.common.gson.JsonElement;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.util.Base64;
 import java.util.UUID;
 
 /**
@@ -18,6 +21,9 @@ public final class ResponseUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(ResponseUtil.class);
 
+    // Request attribute that keeps a response out of the compressed body cache
+    private static final String NO_BODY_CACHE = ResponseUtil.class.getName() + ".noBodyCache";
+
     // Private constructor - utility class
     private ResponseUtil() {
     }
@@ -37,16 +43,68 @@ public final class ResponseUtil {
     }
 
     /**
-     * Calculate SHA-256 hash for ETag generation.
+     * Calculate hash for ETag generation.
+     *
+     * Prefer FingerprintService with the raw bytes when they are available;
+     * this overload has to re-encode the String.
      */
     public static String calculateHash(String content) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(content.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
+            return FingerprintService.fingerprint(content.getBytes(StandardCharsets.UTF_8));
         } catch (Exception e) {
             logger.error("Error calculating hash", e);
             return UUID.randomUUID().toString(); // Fallback to random UUID
         }
     }
+
+    /**
+     * Keep this request's response out of the compressed body cache, for responses
+     * whose body depends on more than the request URI and ETag.
+     */
+    public static void disableBodyCache(HttpServletRequest req) {
+        req.setAttribute(NO_BODY_CACHE, Boolean.TRUE);
+    }
+
+    /**
+     * Serialize a JSON response body and write it, compressed when the client accepts it.
+     *
+     * Bodies below the compression threshold are written as-is. When cacheable is true and
+     * the handler set an ETag on a 200 response, the compressed bytes are cached under the
+     * request URI and ETag so repeated hits skip recompression.
+     *
+     * @param req The servlet request (for Accept-Encoding and cache key)
+     * @param res The HTTP response (status and headers already set by the handler)
+     * @param body The JSON body to write
+     * @param cacheable Whether the compressed body may be reused for the same URI and ETag
+     */
+    public static void writeJson(HttpServletRequest req, HttpServletResponse res, JsonElement body,
+                                 boolean cacheable) throws IOException {
+        // Fixed-message errors are serialized once (see ErrorHandler.fixedError)
+        byte[] bytes = ErrorHandler.serializedFixedError(body);
+        if (bytes == null) {
+            bytes = JsonSerializer.toBytes(body, JsonSerializer.responseFormat());
+        }
+
+        res.setContentType("application/json;charset=UTF-8");
+        res.addHeader("Vary", "Accept-Encoding");
+
+        String encoding = CompressionUtil.negotiate(req.getHeader("Accept-Encoding"));
+        if (encoding != null && CompressionUtil.shouldCompress(bytes.length)) {
+            String cacheKey = null;
+            String etag = res.getHeader("ETag");
+            if (cacheable && etag != null && res.getStatus() == HttpServletResponse.SC_OK
+                && req.getAttribute(NO_BODY_CACHE) == null) {
+                String query = req.getQueryString();
+                cacheKey = req.getRequestURI() + (query != null ? "?" + query : "") + "#" + etag;
+            }
+
+            bytes = CompressionUtil.compressCached(cacheKey, bytes, encoding);
+            res.setHeader("Content-Encoding", encoding);
+        }
+
+        res.setContentLength(bytes.length);
+        OutputStream out = res.getOutputStream();
+        out.write(bytes);
+        out.flush();
+    }
 }
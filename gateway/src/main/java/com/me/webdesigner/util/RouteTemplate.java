@@ -0,0 +1,144 @@
+package com.me.webdesigner.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled API path template, e.g. "/api/v1/projects/{project}/view".
+ *
+ * Compiled once when routes are mounted. Matching walks the request URI segment by
+ * segment, comparing literal segments in place and copying out only the parameter
+ * values, so no regex or Matcher is involved per request. A URI matches if it has the
+ * same number of segments, every literal segment is equal and no parameter is empty
+ * (the same rule as the former per-handler "([^/]+)" patterns).
+ *
+ * Usage:
+ * ```java
+ * RouteTemplate template = RouteTemplate.compile("/api/v1/projects/{project}/view");
+ * routes.newRoute(template.getMountPath());   // "*" in place of {project}
+ * if (template.match(uri, params)) { params.get("project"); }
+ * ```
+ */
+public final class RouteTemplate {
+
+    private final String template;
+    // Literal text per segment, or null where the segment is a parameter
+    private final String[] literals;
+    // Parameter names in order of appearance
+    private final String[] names;
+
+    private RouteTemplate(String template, String[] literals, String[] names) {
+        this.template = template;
+        this.literals = literals;
+        this.names = names;
+    }
+
+    /**
+     * Compile a template of literal segments and "{name}" parameter segments.
+     *
+     * @throws IllegalArgumentException If the template is malformed
+     */
+    public static RouteTemplate compile(String template) {
+        if (!template.startsWith("/")) {
+            throw new IllegalArgumentException("Route template must start with '/': " + template);
+        }
+
+        String[] segments = template.substring(1).split("/", -1);
+        String[] literals = new String[segments.length];
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.length() > 2 && segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+                if (names.contains(name)) {
+                    throw new IllegalArgumentException("Duplicate parameter '" + name + "' in " + template);
+                }
+                names.add(name);
+            } else if (segment.isEmpty() || segment.contains("{") || segment.contains("}")
+                    || segment.contains("*")) {
+                throw new IllegalArgumentException("Invalid segment '" + segment + "' in " + template);
+            } else {
+                literals[i] = segment;
+            }
+        }
+        return new RouteTemplate(template, literals, names.toArray(new String[0]));
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Path for RouteGroup.newRoute, with "*" in place of each parameter.
+     */
+    public String getMountPath() {
+        StringBuilder path = new StringBuilder();
+        for (String literal : literals) {
+            path.append('/').append(literal != null ? literal : "*");
+        }
+        return path.toString();
+    }
+
+    public int getParamCount() {
+        return names.length;
+    }
+
+    /**
+     * Index of a parameter, or -1 if the template has no such parameter.
+     */
+    int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Match a request URI, filling in the parameter values.
+     *
+     * @param uri The request URI
+     * @param params Receives the parameter values (reset first, even if there is no match)
+     * @return Whether the URI matches this template
+     */
+    public boolean match(String uri, PathParams params) {
+        params.reset(this);
+        if (uri == null || uri.isEmpty() || uri.charAt(0) != '/') {
+            return false;
+        }
+
+        int pos = 1;
+        int param = 0;
+        for (int i = 0; i < literals.length; i++) {
+            int end = uri.indexOf('/', pos);
+            if (end < 0) {
+                end = uri.length();
+            }
+            // The last segment must end the URI, the others must not
+            boolean last = i == literals.length - 1;
+            if (last != (end == uri.length())) {
+                return false;
+            }
+
+            String literal = literals[i];
+            if (literal != null) {
+                if (end - pos != literal.length() || !uri.regionMatches(pos, literal, 0, literal.length())) {
+                    return false;
+                }
+            } else {
+                if (end == pos) {
+                    return false;
+                }
+                params.set(param++, uri.substring(pos, end));
+            }
+            pos = end + 1;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
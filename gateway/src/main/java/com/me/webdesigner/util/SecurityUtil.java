@@ -3,18 +3,47 @@ package com.me.webdesigner.util;
 import com.inductiveautomation.ignition.gateway.model.GatewayContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Security utility for authentication and authorization checks.
  *
  * Provides centralized security validation for all API endpoints.
+ *
+ * Designer role decisions are cached per session and user for a short time, so writes
+ * don't resolve the user's roles against the user source on every request. A new
+ * session (login, logout, session expiry) or a different user on the same session
+ * produces a new cache key, so changed credentials are never served a stale decision;
+ * role changes in the user source take effect within the TTL.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.auth.designerRoles - comma-separated roles allowed to write (default: Designer,Administrator)
+ * - webdesigner.auth.cacheTtl      - ms a role decision is reused (default: 30000, 0 disables caching)
+ * - webdesigner.auth.cacheEntries  - maximum cached decisions (default: 10000)
  */
 public final class SecurityUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(SecurityUtil.class);
 
+    // Configuration
+    private static final List<String> DESIGNER_ROLES =
+        parseRoles(System.getProperty("webdesigner.auth.designerRoles", "Designer,Administrator"));
+    private static final long DECISION_TTL_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("webdesigner.auth.cacheTtl", 30_000L));
+    private static final int DECISION_CACHE_ENTRIES = Integer.getInteger("webdesigner.auth.cacheEntries", 10000);
+
+    // Designer role decisions, keyed by session id and user name
+    private static final Map<String, Decision> decisions = new ConcurrentHashMap<>();
+
     // Private constructor - utility class
     private SecurityUtil() {
     }
@@ -47,8 +76,11 @@ public final class SecurityUtil {
             String username = principal.getName();
             logger.debug("Authenticated request from user: {}", username);
 
-            // TODO: Check for Designer role if requireDesigner is true
-            // For now, any authenticated user can access
+            if (requireDesigner && !isDesigner(req, username)) {
+                res.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                logger.warn("User {} from {} lacks a Designer role {}", username, req.getRemoteAddr(), DESIGNER_ROLES);
+                return null;
+            }
 
             return username;
 
@@ -59,6 +91,75 @@ public final class SecurityUtil {
         }
     }
 
+    /**
+     * Cached Designer role decision
+     */
+    private static final class Decision {
+        final boolean designer;
+        final long expiresAt;
+
+        Decision(boolean designer, long expiresAt) {
+            this.designer = designer;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Whether the request's user has one of the Designer roles, from the cache if possible.
+     */
+    private static boolean isDesigner(HttpServletRequest req, String username) {
+        if (DECISION_TTL_NANOS <= 0) {
+            return resolveDesigner(req);
+        }
+
+        HttpSession session = req.getSession(false);
+        String key = (session != null ? session.getId() : "") + "\n" + username;
+        long now = System.nanoTime();
+
+        Decision decision = decisions.get(key);
+        if (decision != null && now - decision.expiresAt < 0) {
+            return decision.designer;
+        }
+
+        boolean designer = resolveDesigner(req);
+
+        // Bound memory: expired and abandoned sessions are dropped wholesale
+        if (decisions.size() >= DECISION_CACHE_ENTRIES) {
+            decisions.clear();
+        }
+        decisions.put(key, new Decision(designer, now + DECISION_TTL_NANOS));
+        return designer;
+    }
+
+    /**
+     * Resolve the user's roles against the Gateway user source.
+     */
+    private static boolean resolveDesigner(HttpServletRequest req) {
+        for (String role : DESIGNER_ROLES) {
+            if (req.isUserInRole(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop all cached role decisions (e.g. after changing user sources).
+     */
+    public static void clearAuthCache() {
+        decisions.clear();
+    }
+
+    private static List<String> parseRoles(String value) {
+        List<String> roles = new ArrayList<>();
+        for (String role : value.split(",")) {
+            if (!role.trim().isEmpty()) {
+                roles.add(role.trim());
+            }
+        }
+        return Collections.unmodifiableList(roles);
+    }
+
     /**
      * Validate input string against potential injection attacks.
      */
@@ -79,11 +180,12 @@ public final class SecurityUtil {
 
     /**
      * Log audit event.
+     *
+     * The event is queued on the AuditLog pipeline and written by its writer thread,
+     * so this doesn't wait for log or file I/O.
      */
     public static void logAudit(GatewayContext context, String action, String username, String remoteAddr,
                                   String details, boolean success) {
-        // TODO: Implement actual audit logging when tested on live Gateway
-        // Expected: context.getAuditManager().audit(auditRecord)
-        logger.info("AUDIT: {} by {} from {} - {} (success: {})", action, username, remoteAddr, details, success);
+        AuditLog.submit(action, username, remoteAddr, details, success);
     }
 }
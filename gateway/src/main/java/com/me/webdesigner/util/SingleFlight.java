@@ -0,0 +1,117 @@
+package com.me.webdesigner.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request coalescing for identical concurrent reads.
+ *
+ * When many clients ask for the same resource at once (e.g. a shift change opening
+ * the same project), only the first request does the walk, read and parse; requests
+ * with the same key that arrive while it is running wait for it and get the same
+ * result, or the same exception. Nothing is kept once the computation finishes, so
+ * this bounds duplicate work without being a cache.
+ *
+ * Keys are (operation, project, path, validator). The validator identifies the
+ * version of the underlying data (e.g. file mtime and size), so a request made after
+ * a save never joins a read of the old file.
+ *
+ * Results are shared between requests and must not be modified.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.singleFlight.enabled - true/false (default: true)
+ *
+ * Usage:
+ * ```java
+ * JsonArray views = SingleFlight.execute("views", project, "", validator, () -> listViews(root));
+ * ```
+ */
+public final class SingleFlight {
+
+    private static final Logger logger = LoggerFactory.getLogger(SingleFlight.class);
+
+    // Configuration
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.singleFlight.enabled", "true"));
+
+    // Key -> computation in progress
+    private static final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private static final AtomicLong executions = new AtomicLong();
+    private static final AtomicLong shared = new AtomicLong();
+
+    // Private constructor - utility class
+    private SingleFlight() {}
+
+    /**
+     * Run the computation, or wait for an identical one already in progress.
+     *
+     * @param operation The operation (e.g. "view", "views")
+     * @param project The project name
+     * @param path The resource path ("" for project-wide operations)
+     * @param validator Version of the data the result depends on (e.g. "mtime:size")
+     * @param work The computation
+     * @return The result, possibly shared with concurrent callers
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T execute(String operation, String project, String path, String validator,
+                                Callable<T> work) throws Exception {
+        if (!ENABLED) {
+            return work.call();
+        }
+
+        String key = operation + '\n' + project + '\n' + path + '\n' + validator;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            shared.incrementAndGet();
+            logger.debug("Joining in-flight {} of {}/{}", operation, project, path);
+            try {
+                return (T) running.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+
+        executions.incrementAndGet();
+        try {
+            T result = work.call();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Coalescing statistics.
+     *
+     * @return Map of stat name to value
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("executions", executions.get());
+        result.put("shared", shared.get());
+        result.put("inFlight", inFlight.size());
+        return result;
+    }
+}
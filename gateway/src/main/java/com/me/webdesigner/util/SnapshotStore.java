@@ -0,0 +1,429 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Content-addressed snapshot store for view versions.
+ *
+ * Blobs are keyed by the SHA-256 of their uncompressed bytes and stored deflated in a
+ * single append-only pack file, so identical content is only ever written once. JSON
+ * trees are stored Merkle-style: any object whose serialized form exceeds a threshold
+ * (typically a component with its children) becomes its own blob and is replaced in
+ * its parent by a reference. Template copies and repeated component blocks therefore
+ * share storage, and a new version of a view only adds the blobs along the edited path.
+ *
+ * Reads are served from a read-only memory mapping of the pack file, remapped when the
+ * pack grows.
+ *
+ * Layout: {dataDir}/webdesigner/snapshots/pack.dat
+ * Record: [32-byte SHA-256][int compressed length][int raw length][deflated bytes]
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.snapshots.enabled     - true/false (default: true)
+ * - webdesigner.snapshots.minSubtree  - min serialized size of a subtree blob (default: 256)
+ */
+public final class SnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotStore.class);
+
+    // Configuration
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.snapshots.enabled", "true"));
+    private static final int MIN_SUBTREE_SIZE = Integer.getInteger("webdesigner.snapshots.minSubtree", 256);
+
+    // Reference placeholders inside stored trees
+    private static final String REF_KEY = "$blobRef";
+    private static final String ESCAPE_KEY = "$blobEsc";
+
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_LENGTH = HASH_LENGTH + 8;
+    private static final String PACK_FILE = "pack.dat";
+
+    // One store per data directory
+    private static final Map<Path, SnapshotStore> stores = new ConcurrentHashMap<>();
+
+    private static final ObjectPool<MessageDigest> sha256 = new ObjectPool<>(16, () -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Path packFile;
+    private final FileChannel channel;
+
+    // Blob hash (hex) -> {data offset, compressed length, raw length}
+    private final Map<String, long[]> index = new ConcurrentHashMap<>();
+
+    private volatile MappedByteBuffer mapped;
+    private long packSize;
+
+    private SnapshotStore(Path packFile) throws IOException {
+        this.packFile = packFile;
+        Files.createDirectories(packFile.getParent());
+        this.channel = FileChannel.open(packFile,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        loadIndex();
+    }
+
+    /**
+     * Whether the snapshot store is enabled.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Get the store for a Gateway data directory, opening it on first use.
+     */
+    public static SnapshotStore forDataDir(File dataDir) throws IOException {
+        Path packFile = Paths.get(dataDir.getAbsolutePath(), "webdesigner", "snapshots", PACK_FILE);
+        SnapshotStore store = stores.get(packFile);
+        if (store == null) {
+            synchronized (stores) {
+                store = stores.get(packFile);
+                if (store == null) {
+                    store = new SnapshotStore(packFile);
+                    stores.put(packFile, store);
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Close all open stores (module shutdown).
+     */
+    public static void closeAll() {
+        synchronized (stores) {
+            for (SnapshotStore store : stores.values()) {
+                try {
+                    store.channel.close();
+                } catch (IOException e) {
+                    logger.warn("Error closing snapshot store {}: {}", store.packFile, e.getMessage());
+                }
+            }
+            stores.clear();
+        }
+    }
+
+    /**
+     * Store a JSON tree, splitting large subtrees into their own blobs.
+     *
+     * The pack is flushed to disk before returning, so the returned hash can be
+     * referenced from other durable records.
+     *
+     * @return Hash of the root blob
+     */
+    public String putTree(JsonElement tree) throws IOException {
+        JsonElement stored = split(tree);
+        String hash = put(JsonSerializer.toBytes(stored, JsonSerializer.Format.COMPACT));
+        channel.force(false);
+        return hash;
+    }
+
+    /**
+     * Load a JSON tree stored with putTree.
+     *
+     * @return The tree, or null if the hash is unknown
+     */
+    public JsonElement getTree(String hash) throws IOException {
+        byte[] bytes = get(hash);
+        if (bytes == null) {
+            return null;
+        }
+        return join(JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Store raw bytes, returning their hash. Existing content is not written again.
+     */
+    public String put(byte[] raw) throws IOException {
+        MessageDigest digest = sha256.acquire();
+        byte[] hashBytes;
+        try {
+            digest.reset();
+            hashBytes = digest.digest(raw);
+        } finally {
+            sha256.release(digest);
+        }
+        String hash = toHex(hashBytes);
+
+        if (index.containsKey(hash)) {
+            return hash;
+        }
+
+        byte[] compressed = deflate(raw);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + compressed.length);
+        record.put(hashBytes);
+        record.putInt(compressed.length);
+        record.putInt(raw.length);
+        record.put(compressed);
+        record.flip();
+
+        synchronized (this) {
+            if (index.containsKey(hash)) {
+                return hash;
+            }
+            long offset = packSize;
+            while (record.hasRemaining()) {
+                channel.write(record, offset + record.position());
+            }
+            packSize += HEADER_LENGTH + compressed.length;
+            index.put(hash, new long[] {offset + HEADER_LENGTH, compressed.length, raw.length});
+        }
+        return hash;
+    }
+
+    /**
+     * Read raw bytes by hash.
+     *
+     * @return The bytes, or null if the hash is unknown
+     */
+    public byte[] get(String hash) throws IOException {
+        long[] location = index.get(hash);
+        if (location == null) {
+            return null;
+        }
+
+        long offset = location[0];
+        int compressedLength = (int) location[1];
+        byte[] compressed = new byte[compressedLength];
+
+        MappedByteBuffer buffer = mappingFor(offset + compressedLength);
+        if (buffer != null) {
+            buffer.get((int) offset, compressed);
+        } else {
+            // Pack too large for a single mapping - positional read
+            ByteBuffer target = ByteBuffer.wrap(compressed);
+            while (target.hasRemaining()) {
+                if (channel.read(target, offset + target.position()) < 0) {
+                    throw new IOException("Unexpected end of snapshot pack");
+                }
+            }
+        }
+
+        return inflate(compressed, (int) location[2]);
+    }
+
+    /**
+     * Number of distinct blobs in the store.
+     */
+    public int getBlobCount() {
+        return index.size();
+    }
+
+    /**
+     * Size of the pack file in bytes.
+     */
+    public synchronized long getPackSize() {
+        return packSize;
+    }
+
+    /**
+     * Replace large subtrees with blob references (bottom-up).
+     */
+    private JsonElement split(JsonElement element) throws IOException {
+        if (element.isJsonArray()) {
+            JsonArray result = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                result.add(split(item));
+            }
+            return result;
+        }
+        if (!element.isJsonObject()) {
+            return element;
+        }
+
+        JsonObject result = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+            result.add(entry.getKey(), split(entry.getValue()));
+        }
+
+        // User content that looks like a reference is escaped
+        if (result.size() == 1 && (result.has(REF_KEY) || result.has(ESCAPE_KEY))) {
+            JsonObject escaped = new JsonObject();
+            escaped.add(ESCAPE_KEY, result);
+            result = escaped;
+        }
+
+        byte[] bytes = JsonSerializer.toBytes(result, JsonSerializer.Format.COMPACT);
+        if (bytes.length < MIN_SUBTREE_SIZE) {
+            return result;
+        }
+
+        JsonObject ref = new JsonObject();
+        ref.addProperty(REF_KEY, put(bytes));
+        return ref;
+    }
+
+    /**
+     * Resolve blob references back into a full tree.
+     */
+    private JsonElement join(JsonElement element) throws IOException {
+        if (element.isJsonArray()) {
+            JsonArray result = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                result.add(join(item));
+            }
+            return result;
+        }
+        if (!element.isJsonObject()) {
+            return element;
+        }
+
+        JsonObject object = element.getAsJsonObject();
+        if (object.size() == 1 && object.has(REF_KEY)) {
+            byte[] bytes = get(object.get(REF_KEY).getAsString());
+            if (bytes == null) {
+                throw new IOException("Missing snapshot blob: " + object.get(REF_KEY).getAsString());
+            }
+            return join(JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)));
+        }
+        if (object.size() == 1 && object.has(ESCAPE_KEY)) {
+            object = object.getAsJsonObject(ESCAPE_KEY);
+        }
+
+        JsonObject result = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            result.add(entry.getKey(), join(entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Get a mapping covering the pack up to end, remapping if the pack has grown.
+     *
+     * @return The mapping, or null if the pack is too large to map in one buffer
+     */
+    private MappedByteBuffer mappingFor(long end) throws IOException {
+        MappedByteBuffer current = mapped;
+        if (current != null && current.capacity() >= end) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (packSize > Integer.MAX_VALUE) {
+                return null;
+            }
+            current = mapped;
+            if (current == null || current.capacity() < end) {
+                current = channel.map(FileChannel.MapMode.READ_ONLY, 0, packSize);
+                mapped = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Rebuild the in-memory index by walking record headers.
+     */
+    private void loadIndex() throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        byte[] hashBytes = new byte[HASH_LENGTH];
+
+        while (offset + HEADER_LENGTH <= size) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, offset + header.position()) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+            header.get(hashBytes);
+            int compressedLength = header.getInt();
+            int rawLength = header.getInt();
+
+            if (compressedLength < 0 || offset + HEADER_LENGTH + compressedLength > size) {
+                // Torn record at the end of the pack (crash mid-append) - drop it
+                logger.warn("Truncating incomplete snapshot record at offset {} in {}", offset, packFile);
+                channel.truncate(offset);
+                break;
+            }
+
+            index.put(toHex(hashBytes), new long[] {offset + HEADER_LENGTH, compressedLength, rawLength});
+            offset += HEADER_LENGTH + compressedLength;
+        }
+
+        packSize = offset;
+        logger.debug("Loaded snapshot store {} ({} blobs, {} bytes)", packFile, index.size(), packSize);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int total = 0;
+            while (total < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, total, rawLength - total);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                total += n;
+            }
+            if (total != rawLength) {
+                throw new IOException("Corrupt snapshot blob (expected " + rawLength + " bytes, got " + total + ")");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt snapshot blob", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xff;
+            hex[i * 2] = Character.forDigit(v >>> 4, 16);
+            hex[i * 2 + 1] = Character.forDigit(v & 0x0f, 16);
+        }
+        return new String(hex);
+    }
+}
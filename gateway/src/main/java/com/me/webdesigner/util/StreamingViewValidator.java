@@ -0,0 +1,337 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import com.inductiveautomation.ignition.common.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass view validation over a JsonReader.
+ *
+ * Applies the same rules as ViewValidator (required root and type fields, known or
+ * namespaced types, nesting depth, component count, name length, duplicate names,
+ * children only on containers, layout and props shape) while the JSON is being read,
+ * without building a JsonObject first. Validation stops as soon as the component count
+ * exceeds the limit or nesting gets too deep, so oversized or runaway payloads are
+ * rejected after reading only as much as needed to prove them invalid.
+ *
+ * Since members can arrive in any order, a component's own checks are reported when its
+ * object ends; its children are validated even if its type turns out to be invalid.
+ * Values that aren't part of the component tree (props contents, custom properties,
+ * scripts, ...) are skipped without being materialized.
+ *
+ * Usage:
+ * ```java
+ * JsonReader reader = new JsonReader(servletRequest.getReader());
+ * ValidationResult result = StreamingViewValidator.validateMember(reader, "content");
+ * ```
+ */
+public final class StreamingViewValidator {
+
+    private static final String[] LAYOUT_NUMERIC_FIELDS = {"x", "y", "width", "height"};
+
+    // Private constructor - utility class
+    private StreamingViewValidator() {}
+
+    /**
+     * State of one validation pass.
+     */
+    private static final class Pass {
+        final List<String> errors = new ArrayList<>();
+        final List<String> warnings = new ArrayList<>();
+        final Set<String> componentNames = new HashSet<>();
+        int componentCount;
+        boolean stopped;
+
+        ViewValidator.ValidationResult result() {
+            return new ViewValidator.ValidationResult(errors, warnings);
+        }
+    }
+
+    /**
+     * Validate the view value at the reader's current position.
+     *
+     * On success the whole value has been consumed; if validation stopped early the
+     * reader is left part-way through it.
+     */
+    public static ViewValidator.ValidationResult validateView(JsonReader reader) throws IOException {
+        Pass pass = new Pass();
+
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            pass.errors.add("View must be a JSON object");
+            reader.skipValue();
+            return pass.result();
+        }
+
+        boolean hasRoot = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("root")) {
+                reader.skipValue();
+                continue;
+            }
+
+            hasRoot = true;
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                pass.errors.add("Root must be a JSON object");
+                reader.skipValue();
+                continue;
+            }
+
+            validateComponent(reader, 0, pass);
+            if (pass.stopped) {
+                return pass.result();
+            }
+        }
+        reader.endObject();
+
+        if (!hasRoot) {
+            pass.errors.add("Missing required field: root");
+        }
+        return pass.result();
+    }
+
+    /**
+     * Validate one member of a request object (e.g. the "content" of a save request),
+     * skipping the others.
+     *
+     * The reader must be positioned at the start of the object. If the member occurs
+     * more than once, every occurrence must be valid.
+     *
+     * @return The validation result, or null if the object has no such member
+     */
+    public static ViewValidator.ValidationResult validateMember(JsonReader reader, String member)
+            throws IOException {
+        ViewValidator.ValidationResult result = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals(member)) {
+                reader.skipValue();
+                continue;
+            }
+
+            result = validateView(reader);
+            if (!result.isValid()) {
+                return result;
+            }
+        }
+        reader.endObject();
+
+        return result;
+    }
+
+    /**
+     * Validate a component object and its children. The reader is at BEGIN_OBJECT.
+     */
+    private static void validateComponent(JsonReader reader, int depth, Pass pass) throws IOException {
+        // Stop before reading any further once the limit is exceeded
+        if (++pass.componentCount > ViewValidator.MAX_COMPONENT_COUNT) {
+            pass.errors.add("Too many components (more than " + ViewValidator.MAX_COMPONENT_COUNT
+                + "). Maximum allowed: " + ViewValidator.MAX_COMPONENT_COUNT);
+            pass.stopped = true;
+            return;
+        }
+
+        if (depth > ViewValidator.MAX_NESTING_DEPTH) {
+            pass.errors.add("Component nesting too deep (depth: " + depth + "). Maximum allowed: "
+                + ViewValidator.MAX_NESTING_DEPTH);
+            pass.stopped = true;
+            return;
+        }
+
+        // Member checks are deferred until the type is known
+        boolean hasType = false;
+        String type = null;
+        String name = null;
+        boolean invalidChildren = false;
+        int childCount = 0;
+        List<Integer> invalidChildIndexes = null;
+        List<String> componentWarnings = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            JsonToken token = reader.peek();
+
+            switch (field) {
+                case "type":
+                    hasType = true;
+                    if (token == JsonToken.STRING) {
+                        type = reader.nextString();
+                    } else {
+                        type = null;
+                        reader.skipValue();
+                    }
+                    break;
+
+                case "meta":
+                    if (token == JsonToken.BEGIN_OBJECT) {
+                        String metaName = readName(reader);
+                        if (metaName != null) {
+                            name = metaName;
+                        }
+                    } else {
+                        reader.skipValue();
+                    }
+                    break;
+
+                case "children":
+                    if (token != JsonToken.BEGIN_ARRAY) {
+                        invalidChildren = true;
+                        reader.skipValue();
+                        break;
+                    }
+                    reader.beginArray();
+                    for (int i = 0; reader.hasNext(); i++, childCount++) {
+                        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                            if (invalidChildIndexes == null) {
+                                invalidChildIndexes = new ArrayList<>();
+                            }
+                            invalidChildIndexes.add(i);
+                            reader.skipValue();
+                            continue;
+                        }
+                        validateComponent(reader, depth + 1, pass);
+                        if (pass.stopped) {
+                            return;
+                        }
+                    }
+                    reader.endArray();
+                    break;
+
+                case "layout":
+                    componentWarnings = readLayout(reader, componentWarnings);
+                    break;
+
+                case "props":
+                    if (token != JsonToken.BEGIN_OBJECT) {
+                        componentWarnings = add(componentWarnings, " has invalid props (expected object)");
+                    }
+                    reader.skipValue();
+                    break;
+
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        // Same order and short-circuiting as ViewValidator
+        if (!hasType) {
+            pass.errors.add("Component at depth " + depth + " missing required field: type");
+            return;
+        }
+        if (type == null) {
+            pass.errors.add("Component at depth " + depth + " has invalid type (must be string)");
+            return;
+        }
+        if (type.trim().isEmpty()) {
+            pass.errors.add("Component at depth " + depth + " has empty type");
+            return;
+        }
+
+        ComponentRegistry.ComponentSchema schema = ComponentRegistry.lookup(type);
+        if (schema == null && !ViewValidator.isValidComponentType(type)) {
+            pass.warnings.add("Component type '" + type + "' is not namespaced (e.g. ia.display.label)");
+        }
+
+        if (name != null) {
+            if (name.length() > ViewValidator.MAX_NAME_LENGTH) {
+                pass.errors.add("Component name '" + name + "' exceeds maximum length ("
+                    + ViewValidator.MAX_NAME_LENGTH + ")");
+            }
+            if (!pass.componentNames.add(name)) {
+                pass.warnings.add("Duplicate component name: " + name);
+            }
+        }
+
+        if (invalidChildren) {
+            pass.errors.add("Component '" + type + "' has invalid children (must be array)");
+        } else if (schema != null && !schema.allowsChildren() && childCount > 0) {
+            pass.warnings.add("Component '" + type + "' cannot have children");
+        }
+        if (invalidChildIndexes != null) {
+            for (int index : invalidChildIndexes) {
+                pass.errors.add("Child " + index + " of component '" + type + "' is not an object");
+            }
+        }
+        if (componentWarnings != null) {
+            for (String warning : componentWarnings) {
+                pass.warnings.add("Component '" + type + "'" + warning);
+            }
+        }
+    }
+
+    /**
+     * Read meta.name from a meta object, skipping everything else.
+     */
+    private static String readName(JsonReader reader) throws IOException {
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("name") && reader.peek() == JsonToken.STRING) {
+                name = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    /**
+     * Check a layout value, returning warning suffixes to be prefixed with the component type.
+     */
+    private static List<String> readLayout(JsonReader reader, List<String> warnings) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return add(warnings, " has invalid layout (must be object)");
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (!isLayoutNumericField(field)) {
+                reader.skipValue();
+                continue;
+            }
+
+            if (reader.peek() != JsonToken.NUMBER) {
+                warnings = add(warnings, " layout." + field + " must be a number");
+                reader.skipValue();
+                continue;
+            }
+
+            // Truncated like JsonElement.getAsInt()
+            int value = (int) reader.nextDouble();
+            if (value < 0 && (field.equals("width") || field.equals("height"))) {
+                warnings = add(warnings, " has negative " + field);
+            }
+        }
+        reader.endObject();
+        return warnings;
+    }
+
+    private static boolean isLayoutNumericField(String field) {
+        for (String numeric : LAYOUT_NUMERIC_FIELDS) {
+            if (numeric.equals(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> add(List<String> list, String value) {
+        if (list == null) {
+            list = new ArrayList<>();
+        }
+        list.add(value);
+        return list;
+    }
+}
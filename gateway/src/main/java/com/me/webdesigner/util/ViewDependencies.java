@@ -0,0 +1,253 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded-view dependency graph.
+ *
+ * Perspective views reference other views by path: embedded views and flex repeaters
+ * through props.path (only for types ComponentRegistry flags as embedding a view, since
+ * other components use props.path for other things, e.g. icons), carousels and similar through viewPath entries in their props,
+ * and popup actions through viewPath in event configs. This class extracts those
+ * references from a view's component tree and keeps a per-project graph of them.
+ *
+ * The graph is maintained incrementally: each node remembers the view.json mtime and
+ * size it was built from, so only views changed since the last lookup are re-parsed,
+ * and saves through the Web Designer update their node directly.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.dependencies.maxViews - max views in one transitive closure (default: 200)
+ *
+ * Usage:
+ * ```java
+ * List<String> paths = ViewDependencies.closure(dataDir, projectName, viewPath);
+ * ```
+ */
+public final class ViewDependencies {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewDependencies.class);
+
+    // Configuration
+    private static final int MAX_VIEWS = Integer.getInteger("webdesigner.dependencies.maxViews", 200);
+
+    // Project directory -> (view path -> node)
+    private static final Map<Path, Map<String, Node>> graphs = new ConcurrentHashMap<>();
+
+    // Private constructor - utility class
+    private ViewDependencies() {}
+
+    /**
+     * References of one view, valid for a specific view.json mtime and size.
+     */
+    private static final class Node {
+        final long lastModified;
+        final long size;
+        final List<String> references;
+
+        Node(long lastModified, long size, List<String> references) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.references = references;
+        }
+    }
+
+    /**
+     * Extract the paths of views referenced by a view, in document order.
+     */
+    public static List<String> extractReferences(JsonElement viewContent) {
+        Set<String> references = new LinkedHashSet<>();
+        if (viewContent != null && viewContent.isJsonObject()) {
+            JsonElement root = viewContent.getAsJsonObject().get("root");
+            if (root != null && root.isJsonObject()) {
+                collectFromComponent(root.getAsJsonObject(), references);
+            }
+        }
+        return new ArrayList<>(references);
+    }
+
+    /**
+     * Record the references of a view whose content the caller already has parsed
+     * (e.g. just read or just saved), so the next lookup doesn't re-read the file.
+     *
+     * @param size Size in bytes of the view.json the content came from; nothing is
+     *             recorded if the file no longer has that size
+     */
+    public static void update(File dataDir, String projectName, String viewPath, JsonElement viewContent,
+                              long size) {
+        try {
+            Path viewFile = ProjectResources.dataFile(dataDir, projectName, ProjectResources.Type.VIEW, viewPath);
+            BasicFileAttributes attrs = Files.readAttributes(viewFile, BasicFileAttributes.class);
+            if (attrs.size() == size) {
+                graph(dataDir, projectName).put(viewPath,
+                    new Node(attrs.lastModifiedTime().toMillis(), size, extractReferences(viewContent)));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            graph(dataDir, projectName).remove(viewPath);
+        }
+    }
+
+    /**
+     * Get the views directly referenced by a view.
+     *
+     * @return The referenced paths, or null if the view does not exist or can't be parsed
+     */
+    public static List<String> references(File dataDir, String projectName, String viewPath) {
+        Map<String, Node> graph = graph(dataDir, projectName);
+        try {
+            Path viewFile = ProjectResources.dataFile(dataDir, projectName, ProjectResources.Type.VIEW, viewPath);
+            BasicFileAttributes attrs = Files.readAttributes(viewFile, BasicFileAttributes.class);
+            long lastModified = attrs.lastModifiedTime().toMillis();
+
+            Node node = graph.get(viewPath);
+            if (node != null && node.lastModified == lastModified && node.size == attrs.size()) {
+                return node.references;
+            }
+
+            JsonElement content = JsonParser.parseString(
+                new String(Files.readAllBytes(viewFile), StandardCharsets.UTF_8));
+            List<String> references = extractReferences(content);
+            graph.put(viewPath, new Node(lastModified, attrs.size(), references));
+            return references;
+
+        } catch (NoSuchFileException e) {
+            graph.remove(viewPath);
+            return null;
+        } catch (Exception e) {
+            logger.warn("Could not read references of view '{}' in project '{}': {}",
+                viewPath, projectName, e.getMessage());
+            graph.remove(viewPath);
+            return null;
+        }
+    }
+
+    /**
+     * Get the transitive closure of views referenced by a view, breadth-first,
+     * excluding the view itself. Cycles are followed once.
+     *
+     * @return Referenced view paths (including ones that no longer exist), at most
+     *         webdesigner.dependencies.maxViews entries
+     */
+    public static List<String> closure(File dataDir, String projectName, String viewPath) {
+        Set<String> seen = new LinkedHashSet<>();
+        seen.add(viewPath);
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(viewPath);
+
+        while (!queue.isEmpty() && seen.size() <= MAX_VIEWS) {
+            List<String> references = references(dataDir, projectName, queue.poll());
+            if (references == null) {
+                continue;
+            }
+            for (String reference : references) {
+                if (seen.size() > MAX_VIEWS) {
+                    logger.warn("Dependency closure of view '{}' truncated at {} views", viewPath, MAX_VIEWS);
+                    break;
+                }
+                if (seen.add(reference)) {
+                    queue.add(reference);
+                }
+            }
+        }
+
+        seen.remove(viewPath);
+        return Collections.unmodifiableList(new ArrayList<>(seen));
+    }
+
+    /**
+     * Drop the cached graph of a project (e.g. after a bulk change).
+     */
+    public static void invalidate(File dataDir, String projectName) {
+        graphs.remove(ProjectResources.projectDir(dataDir, projectName));
+    }
+
+    private static Map<String, Node> graph(File dataDir, String projectName) {
+        return graphs.computeIfAbsent(ProjectResources.projectDir(dataDir, projectName),
+            k -> new ConcurrentHashMap<>());
+    }
+
+    private static void collectFromComponent(JsonObject component, Set<String> references) {
+        JsonElement props = component.get("props");
+        if (props != null && props.isJsonObject()) {
+            // Embedded view / flex repeater
+            if (embedsView(component.get("type"))) {
+                addReference(props.getAsJsonObject().get("path"), references);
+            }
+            // viewPath anywhere in props (carousel views, repeater instances, ...)
+            collectViewPaths(props, references);
+        }
+
+        // Popup and navigation actions
+        JsonElement events = component.get("events");
+        if (events != null) {
+            collectViewPaths(events, references);
+        }
+
+        JsonElement children = component.get("children");
+        if (children != null && children.isJsonArray()) {
+            for (JsonElement child : children.getAsJsonArray()) {
+                if (child.isJsonObject()) {
+                    collectFromComponent(child.getAsJsonObject(), references);
+                }
+            }
+        }
+    }
+
+    private static boolean embedsView(JsonElement type) {
+        if (type == null || !type.isJsonPrimitive()) {
+            return false;
+        }
+        ComponentRegistry.ComponentSchema schema = ComponentRegistry.lookup(type.getAsString());
+        return schema != null && schema.embedsView();
+    }
+
+    private static void collectViewPaths(JsonElement element, Set<String> references) {
+        if (element.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                if (entry.getKey().equals("viewPath")) {
+                    addReference(entry.getValue(), references);
+                } else {
+                    collectViewPaths(entry.getValue(), references);
+                }
+            }
+        } else if (element.isJsonArray()) {
+            for (JsonElement item : element.getAsJsonArray()) {
+                collectViewPaths(item, references);
+            }
+        }
+    }
+
+    private static void addReference(JsonElement value, Set<String> references) {
+        if (value == null || !value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+            return;
+        }
+        String path = value.getAsString().trim();
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        // Bound values and expressions are resolved at runtime - only static paths are followed
+        if (SecurityUtil.isValidInput(path) && !path.contains("{")) {
+            references.add(path);
+        }
+    }
+}
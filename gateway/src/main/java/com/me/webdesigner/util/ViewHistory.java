@@ -0,0 +1,517 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParseException;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.JsonPrimitive;
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-ahead revision history for Perspective views.
+ *
+ * Every save through the Web Designer appends a revision record to a per-view log
+ * before view.json is overwritten. Records hold either a compact JSON diff against
+ * the previous revision (see JsonDiff) or, periodically, a full snapshot, so storage
+ * grows with the size of each edit rather than the size of the view.
+ *
+ * Layout: {dataDir}/webdesigner/history/{project}/{viewPath}/revisions.log
+ * View paths are resolved strictly inside that folder; paths that would leave it are
+ * rejected with IllegalArgumentException.
+ * One JSON record per line, metadata first and "data" last:
+ * {"rev":3,"kind":"delta","time":...,"user":"...","etag":"...","size":1234,"data":[...]}
+ *
+ * Kinds:
+ * - full  - data is the complete view content
+ * - delta - data is a JsonDiff operation list against the previous revision
+ * - abort - the revision with this number was never written to view.json
+ *
+ * If view.json was changed outside the Web Designer (e.g. by the Ignition Designer),
+ * the next save first records the on-disk content as a full snapshot. If that content
+ * is not valid JSON (a corrupt view being repaired by the save), the snapshot holds the
+ * raw text as a JSON string and the save itself is recorded as a full snapshot.
+ *
+ * When the SnapshotStore is enabled, every record also carries a "blob" member with
+ * the content hash of that revision, so any revision can be read back directly, and
+ * full records keep their content in the store instead of inline "data".
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.history.enabled          - true/false (default: true)
+ * - webdesigner.history.snapshotInterval - revisions between full snapshots (default: 25)
+ */
+public final class ViewHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewHistory.class);
+
+    // Configuration
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("webdesigner.history.enabled", "true"));
+    private static final int SNAPSHOT_INTERVAL =
+        Math.max(1, Integer.getInteger("webdesigner.history.snapshotInterval", 25));
+
+    public static final String KIND_FULL = "full";
+    public static final String KIND_DELTA = "delta";
+    public static final String KIND_ABORT = "abort";
+
+    private static final String LOG_FILE = "revisions.log";
+    private static final String EXTERNAL_USER = "(external)";
+
+    // Per-view head state, keyed by log file path
+    private static final Map<Path, Head> heads = new ConcurrentHashMap<>();
+
+    // Private constructor - utility class
+    private ViewHistory() {}
+
+    /**
+     * Revision metadata (without content)
+     */
+    public static class Revision {
+        public final long rev;
+        public final String kind;
+        public final long time;
+        public final String user;
+        public final String etag;
+        public final long size;
+        public final String blob;
+
+        public Revision(long rev, String kind, long time, String user, String etag, long size) {
+            this(rev, kind, time, user, etag, size, null);
+        }
+
+        public Revision(long rev, String kind, long time, String user, String etag, long size, String blob) {
+            this.rev = rev;
+            this.kind = kind;
+            this.time = time;
+            this.user = user;
+            this.etag = etag;
+            this.size = size;
+            this.blob = blob;
+        }
+
+        public JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("rev", rev);
+            json.addProperty("kind", kind);
+            json.addProperty("time", time);
+            json.addProperty("user", user);
+            json.addProperty("etag", etag);
+            json.addProperty("size", size);
+            if (blob != null) {
+                json.addProperty("blob", blob);
+            }
+            return json;
+        }
+    }
+
+    /**
+     * Latest committed state of a view's log (guarded by its own monitor)
+     */
+    private static final class Head {
+        boolean loaded;
+        long rev;
+        int sinceSnapshot;
+        String etag;
+        SoftReference<JsonElement> content = new SoftReference<>(null);
+    }
+
+    /**
+     * Whether revision history is enabled.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Record a new revision before view.json is overwritten.
+     *
+     * The record is flushed to disk before this method returns. If the view write then
+     * fails, call abortRevision with the returned number.
+     *
+     * @param dataDir Gateway data directory
+     * @param projectName Project name
+     * @param viewPath View path relative to the project's views folder
+     * @param viewFile The view.json file about to be overwritten
+     * @param currentEtag Fingerprint of the current view.json content
+     * @param newContent The content being saved
+     * @param newEtag Fingerprint of the serialized new content
+     * @param newSize Size of the serialized new content in bytes
+     * @param user User performing the save
+     * @return The new revision number
+     */
+    public static long recordRevision(File dataDir, String projectName, String viewPath, Path viewFile,
+                                      String currentEtag, JsonElement newContent, String newEtag,
+                                      long newSize, String user) throws IOException {
+        Path logFile = logFile(dataDir, projectName, viewPath);
+        Head head = heads.computeIfAbsent(logFile, k -> new Head());
+        SnapshotStore store = SnapshotStore.isEnabled() ? SnapshotStore.forDataDir(dataDir) : null;
+
+        synchronized (head) {
+            if (!head.loaded) {
+                loadHead(logFile, head);
+            }
+
+            JsonElement previous;
+            if (head.rev == 0 || !currentEtag.equals(head.etag)) {
+                // No history yet, or view.json changed outside the Web Designer:
+                // anchor the chain with a snapshot of what is on disk now
+                previous = readView(viewFile);
+                long rev = head.rev + 1;
+                append(logFile, record(rev, KIND_FULL, EXTERNAL_USER, currentEtag,
+                    Files.size(viewFile), store != null ? store.putTree(previous) : null, previous));
+                head.rev = rev;
+                head.sinceSnapshot = 0;
+            } else {
+                previous = head.content.get();
+                if (previous == null) {
+                    // Head content was reclaimed; on-disk content matches head.etag
+                    previous = readView(viewFile);
+                }
+            }
+
+            long rev = head.rev + 1;
+            String blob = store != null ? store.putTree(newContent) : null;
+
+            JsonObject record;
+            JsonArray delta = null;
+            if (previous.isJsonObject()) {
+                delta = JsonDiff.diff(previous, newContent);
+                String deltaJson = JsonSerializer.toString(delta, JsonSerializer.Format.COMPACT);
+                if (deltaJson.length() > newSize / 2) {
+                    delta = null;
+                }
+            }
+            if (delta == null || head.sinceSnapshot + 1 >= SNAPSHOT_INTERVAL) {
+                record = record(rev, KIND_FULL, user, newEtag, newSize, blob, newContent);
+                head.sinceSnapshot = 0;
+            } else {
+                record = record(rev, KIND_DELTA, user, newEtag, newSize, blob, delta);
+                head.sinceSnapshot++;
+            }
+            append(logFile, record);
+
+            head.rev = rev;
+            head.etag = newEtag;
+            head.content = new SoftReference<>(newContent);
+
+            logger.debug("Recorded revision {} ({}) for view '{}' in project '{}'",
+                rev, record.get("kind").getAsString(), viewPath, projectName);
+            return rev;
+        }
+    }
+
+    /**
+     * Mark a revision as never written (the view.json write failed).
+     */
+    public static void abortRevision(File dataDir, String projectName, String viewPath, long rev) {
+        Path logFile = logFile(dataDir, projectName, viewPath);
+        Head head = heads.computeIfAbsent(logFile, k -> new Head());
+
+        synchronized (head) {
+            try {
+                JsonObject record = new JsonObject();
+                record.addProperty("rev", rev);
+                record.addProperty("kind", KIND_ABORT);
+                record.addProperty("time", System.currentTimeMillis());
+                append(logFile, record);
+            } catch (IOException e) {
+                logger.error("Failed to record aborted revision {} for view '{}'", rev, viewPath, e);
+            }
+            // Force the next save to re-anchor against the on-disk content
+            head.etag = null;
+            head.content = new SoftReference<>(null);
+        }
+    }
+
+    /**
+     * List committed revisions of a view, oldest first.
+     */
+    public static List<Revision> listRevisions(File dataDir, String projectName, String viewPath) throws IOException {
+        Path logFile = logFile(dataDir, projectName, viewPath);
+        List<Revision> revisions = new ArrayList<>();
+        if (!Files.exists(logFile)) {
+            return revisions;
+        }
+
+        Set<Long> aborted = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Revision revision = readMetadata(line);
+                if (revision == null) {
+                    continue;
+                }
+                if (KIND_ABORT.equals(revision.kind)) {
+                    aborted.add(revision.rev);
+                } else {
+                    revisions.add(revision);
+                }
+            }
+        }
+
+        revisions.removeIf(r -> aborted.contains(r.rev));
+        return revisions;
+    }
+
+    /**
+     * Reconstruct the content of a view at a given revision.
+     *
+     * @return The view content, or null if the revision does not exist
+     */
+    public static JsonElement materialize(File dataDir, String projectName, String viewPath, long rev)
+            throws IOException {
+        Path logFile = logFile(dataDir, projectName, viewPath);
+        if (!Files.exists(logFile)) {
+            return null;
+        }
+
+        // Pass 1: metadata only - find aborted revisions and the nearest snapshot
+        Set<Long> aborted = new HashSet<>();
+        List<Revision> revisions = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Revision revision = readMetadata(line);
+                if (revision == null) {
+                    continue;
+                }
+                if (KIND_ABORT.equals(revision.kind)) {
+                    aborted.add(revision.rev);
+                } else {
+                    revisions.add(revision);
+                }
+            }
+        }
+
+        long snapshotRev = -1;
+        boolean found = false;
+        for (Revision revision : revisions) {
+            if (revision.rev > rev || aborted.contains(revision.rev)) {
+                continue;
+            }
+            if (revision.rev == rev) {
+                if (revision.blob != null) {
+                    // Stored version: read it back directly
+                    return SnapshotStore.forDataDir(dataDir).getTree(revision.blob);
+                }
+                found = true;
+            }
+            if (KIND_FULL.equals(revision.kind)) {
+                snapshotRev = Math.max(snapshotRev, revision.rev);
+            }
+        }
+        if (!found || snapshotRev < 0) {
+            return null;
+        }
+
+        // Pass 2: load the snapshot and apply subsequent deltas
+        JsonElement content = null;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Revision revision = readMetadata(line);
+                if (revision == null || revision.rev < snapshotRev || revision.rev > rev
+                    || KIND_ABORT.equals(revision.kind) || aborted.contains(revision.rev)) {
+                    continue;
+                }
+
+                JsonElement data = JsonParser.parseString(line).getAsJsonObject().get("data");
+                if (KIND_FULL.equals(revision.kind)) {
+                    content = data != null ? data : SnapshotStore.forDataDir(dataDir).getTree(revision.blob);
+                } else if (content != null) {
+                    content = JsonDiff.apply(content, data.getAsJsonArray());
+                }
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Get the history directory for all projects.
+     */
+    public static Path historyRoot(File dataDir) {
+        return Paths.get(dataDir.getAbsolutePath(), "webdesigner", "history");
+    }
+
+    /**
+     * Get the log file of a view.
+     *
+     * A leading "/" is dropped, as it is for the view file itself (views/{viewPath}),
+     * so "/Main" and "Main" share one history.
+     *
+     * @throws IllegalArgumentException if the path leaves the project's history folder
+     */
+    private static Path logFile(File dataDir, String projectName, String viewPath) {
+        String relative = viewPath;
+        while (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        Path projectHistory = ProjectResources.resolveWithin(historyRoot(dataDir), projectName);
+        return ProjectResources.resolveWithin(projectHistory, relative).resolve(LOG_FILE);
+    }
+
+    private static JsonObject record(long rev, String kind, String user, String etag, long size,
+                                     String blob, JsonElement data) {
+        JsonObject record = new JsonObject();
+        record.addProperty("rev", rev);
+        record.addProperty("kind", kind);
+        record.addProperty("time", System.currentTimeMillis());
+        record.addProperty("user", user);
+        record.addProperty("etag", etag);
+        record.addProperty("size", size);
+        if (blob != null) {
+            record.addProperty("blob", blob);
+            if (KIND_FULL.equals(kind)) {
+                // Content lives in the snapshot store
+                return record;
+            }
+        }
+        record.add("data", data);
+        return record;
+    }
+
+    private static void append(Path logFile, JsonObject record) throws IOException {
+        Files.createDirectories(logFile.getParent());
+        byte[] bytes = (JsonSerializer.toString(record, JsonSerializer.Format.COMPACT) + "\n")
+            .getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel channel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Rebuild head state from the log (once per view per Gateway run).
+     */
+    private static void loadHead(Path logFile, Head head) throws IOException {
+        head.loaded = true;
+        if (!Files.exists(logFile)) {
+            return;
+        }
+
+        Revision last = null;
+        int sinceSnapshot = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Revision revision = readMetadata(line);
+                if (revision == null) {
+                    continue;
+                }
+                head.rev = Math.max(head.rev, revision.rev);
+                if (KIND_ABORT.equals(revision.kind)) {
+                    if (last != null && last.rev == revision.rev) {
+                        last = null;
+                    }
+                    continue;
+                }
+                last = revision;
+                sinceSnapshot = KIND_FULL.equals(revision.kind) ? 0 : sinceSnapshot + 1;
+            }
+        }
+
+        // An aborted tail leaves etag null so the next save re-anchors
+        head.etag = last != null ? last.etag : null;
+        head.sinceSnapshot = sinceSnapshot;
+    }
+
+    /**
+     * Read record metadata, stopping before the (potentially large) data member.
+     */
+    private static Revision readMetadata(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+
+        try (JsonReader reader = new JsonReader(new StringReader(line))) {
+            long rev = -1;
+            String kind = null;
+            long time = 0;
+            String user = null;
+            String etag = null;
+            long size = 0;
+            String blob = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("data")) {
+                    break;
+                }
+                switch (name) {
+                    case "rev":
+                        rev = reader.nextLong();
+                        break;
+                    case "kind":
+                        kind = reader.nextString();
+                        break;
+                    case "time":
+                        time = reader.nextLong();
+                        break;
+                    case "user":
+                        user = reader.nextString();
+                        break;
+                    case "etag":
+                        etag = reader.nextString();
+                        break;
+                    case "size":
+                        size = reader.nextLong();
+                        break;
+                    case "blob":
+                        blob = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            return rev >= 0 && kind != null ? new Revision(rev, kind, time, user, etag, size, blob) : null;
+        } catch (Exception e) {
+            // A torn final line (crash mid-append) is ignored
+            logger.warn("Skipping unreadable history record: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read the on-disk view.json as the previous revision.
+     *
+     * Content that doesn't parse is returned as a JSON string of the raw text, so a
+     * corrupt view can still be saved over and its old content stays in the history.
+     */
+    private static JsonElement readView(Path viewFile) throws IOException {
+        String text = new String(Files.readAllBytes(viewFile), StandardCharsets.UTF_8);
+        try {
+            return JsonParser.parseString(text);
+        } catch (JsonParseException e) {
+            logger.warn("View file {} is not valid JSON, keeping its raw text in the history: {}",
+                viewFile, e.getMessage());
+            return new JsonPrimitive(text);
+        }
+    }
+}
@@ -3,12 +3,18 @@ package com.me.webdesigner.util;
 import com.inductiveautomation.ignition.common.gson.JsonArray;
 import com.inductiveautomation.ignition.common.gson.JsonElement;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParseException;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
 import com.inductiveautomation.ignition.common.gson.JsonPrimitive;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * View and Component Validation Utility
@@ -20,10 +26,18 @@ import java.util.Set;
  * - View structure validation
  * - Component hierarchy validation
  * - Required field validation
- * - Type checking
+ * - Type checking (known types from ComponentRegistry)
  * - Circular reference detection
  * - Duplicate name detection
  * - Size limits
+ * - Result cache keyed by content fingerprint (ETag)
+ *
+ * Validation results for serialized views are cached under the content's fingerprint,
+ * so unchanged views (re-imports, project scans, saves recorded by the save path) are
+ * not parsed or validated again.
+ *
+ * Configuration (JVM system properties):
+ * - webdesigner.validation.cacheEntries - max cached validation results (default: 10000)
  *
  * Usage:
  * ```java
@@ -38,10 +52,10 @@ import java.util.Set;
  */
 public final class ViewValidator {
 
-    // Configuration
-    private static final int MAX_NESTING_DEPTH = 20;
-    private static final int MAX_COMPONENT_COUNT = 500;
-    private static final int MAX_NAME_LENGTH = 100;
+    // Configuration (shared with StreamingViewValidator)
+    static final int MAX_NESTING_DEPTH = 20;
+    static final int MAX_COMPONENT_COUNT = 500;
+    static final int MAX_NAME_LENGTH = 100;
 
     // Required view fields
     private static final String[] REQUIRED_VIEW_FIELDS = {"root"};
@@ -49,6 +63,12 @@ public final class ViewValidator {
     // Required component fields
     private static final String[] REQUIRED_COMPONENT_FIELDS = {"type"};
 
+    // Max cached validation results
+    private static final int CACHE_ENTRIES = Integer.getInteger("webdesigner.validation.cacheEntries", 10000);
+
+    // Content fingerprint -> validation result
+    private static final Map<String, ValidationResult> resultCache = new ConcurrentHashMap<>();
+
     // Private constructor - utility class
     private ViewValidator() {}
 
@@ -137,6 +157,73 @@ public final class ViewValidator {
         return new ValidationResult(errors, warnings);
     }
 
+    /**
+     * Validate serialized view.json content, reusing the result if the same content
+     * was validated before. Content that isn't a JSON object is reported as invalid.
+     */
+    public static ValidationResult validateContent(byte[] content) {
+        return validateContent(content, FingerprintService.fingerprint(content));
+    }
+
+    /**
+     * Validate serialized view.json content whose fingerprint the caller already has
+     * (e.g. from FingerprintService.read).
+     */
+    public static ValidationResult validateContent(byte[] content, String fingerprint) {
+        ValidationResult cached = resultCache.get(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        ValidationResult result;
+        try {
+            JsonElement element = JsonParser.parseString(new String(content, StandardCharsets.UTF_8));
+            if (element.isJsonObject()) {
+                result = validateView(element.getAsJsonObject());
+            } else {
+                result = invalid("View must be a JSON object");
+            }
+        } catch (JsonParseException e) {
+            result = invalid("Invalid JSON: " + e.getMessage());
+        }
+
+        return cacheResult(fingerprint, result);
+    }
+
+    /**
+     * Get the cached validation result for content with the given fingerprint.
+     *
+     * @return The result, or null if that content hasn't been validated
+     */
+    public static ValidationResult getCachedResult(String fingerprint) {
+        return resultCache.get(fingerprint);
+    }
+
+    /**
+     * Cache the validation result of content the caller has validated itself
+     * (e.g. while streaming it), under the content's fingerprint.
+     *
+     * @return The cached (unmodifiable) result
+     */
+    public static ValidationResult cacheResult(String fingerprint, ValidationResult result) {
+        ValidationResult frozen = new ValidationResult(
+            Collections.unmodifiableList(new ArrayList<>(result.getErrors())),
+            Collections.unmodifiableList(new ArrayList<>(result.getWarnings())));
+
+        // Bounded without LRU bookkeeping: results are cheap to recompute
+        if (resultCache.size() >= CACHE_ENTRIES && !resultCache.containsKey(fingerprint)) {
+            resultCache.clear();
+        }
+        resultCache.put(fingerprint, frozen);
+        return frozen;
+    }
+
+    private static ValidationResult invalid(String error) {
+        List<String> errors = new ArrayList<>();
+        errors.add(error);
+        return new ValidationResult(errors, new ArrayList<>());
+    }
+
     /**
      * Validate a single component and its children recursively
      */
@@ -176,6 +263,12 @@ public final class ViewValidator {
             return;
         }
 
+        // Known types come from the registry; others (e.g. third-party modules) must be namespaced
+        ComponentRegistry.ComponentSchema schema = ComponentRegistry.lookup(type);
+        if (schema == null && !isValidComponentType(type)) {
+            warnings.add(String.format("Component type '%s' is not namespaced (e.g. ia.display.label)", type));
+        }
+
         // Validate meta.name if present
         if (component.has("meta")) {
             JsonElement metaElement = component.get("meta");
@@ -212,6 +305,9 @@ public final class ViewValidator {
             }
 
             JsonArray children = childrenElement.getAsJsonArray();
+            if (schema != null && !schema.allowsChildren() && children.size() > 0) {
+                warnings.add(String.format("Component '%s' cannot have children", type));
+            }
             for (int i = 0; i < children.size(); i++) {
                 JsonElement childElement = children.get(i);
                 if (!childElement.isJsonObject()) {
@@ -306,6 +402,9 @@ public final class ViewValidator {
         if (type == null || type.trim().isEmpty()) {
             return false;
         }
+        if (ComponentRegistry.lookup(type) != null) {
+            return true;
+        }
 
         // Component types should follow format: namespace.category.name
         // Examples: ia.display.label, ia.input.button
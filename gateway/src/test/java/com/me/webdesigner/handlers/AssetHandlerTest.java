@@ -0,0 +1,146 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.me.webdesigner.util.CompressionUtil;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetHandler.
+ *
+ * Tests that only bundles listed in the asset manifest are served, that the gzip copy
+ * is sent to clients accepting it and that a matching If-None-Match gets a 304.
+ */
+class AssetHandlerTest {
+
+    private static final String BUNDLE = "standalone.3f9a0c2e81b4.js";
+
+    @TempDir
+    Path tempDir;
+
+    private byte[] body;
+    private byte[] gzip;
+    private Map<String, String> manifest;
+    private ClassLoader resources;
+
+    @BeforeEach
+    void writeBundle() throws Exception {
+        Path assets = tempDir.resolve("web/assets");
+        Files.createDirectories(assets);
+
+        body = "console.log('web designer');\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+        gzip = CompressionUtil.compress(body, CompressionUtil.GZIP);
+        // Header OS byte differs from what compressing per request would produce
+        gzip[9] = 3;
+        Files.write(assets.resolve(BUNDLE), body);
+        Files.write(assets.resolve(BUNDLE + ".gz"), gzip);
+        // Listed in the manifest but not present: also 404
+        Files.write(tempDir.resolve("web/asset-manifest.properties"),
+            ("standalone.js=" + BUNDLE + "\nmissing.js=missing.0123456789ab.js\n").getBytes(StandardCharsets.UTF_8));
+
+        resources = new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null);
+        manifest = AssetHandler.loadManifest(resources);
+    }
+
+    @Test
+    void testAsset_NotInManifestIs404() throws Exception {
+        for (String file : new String[] {"other.js", "asset-manifest.properties", "missing.0123456789ab.js"}) {
+            HttpServletResponse res = mock(HttpServletResponse.class);
+
+            Object result = AssetHandler.handleAsset(request(file, null, null), res, manifest, resources);
+
+            verify(res).setStatus(HttpServletResponse.SC_NOT_FOUND);
+            assertEquals(404, ((JsonObject) result).get("status").getAsInt(), file);
+            verify(res, never()).getOutputStream();
+        }
+    }
+
+    @Test
+    void testAsset_GzipCopyWhenAccepted() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletResponse res = response(out);
+
+        assertNull(AssetHandler.handleAsset(request(BUNDLE, "gzip, deflate", null), res, manifest, resources));
+
+        verify(res).setStatus(HttpServletResponse.SC_OK);
+        verify(res).setHeader("Content-Encoding", CompressionUtil.GZIP);
+        verify(res).setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        verify(res).setContentLength(gzip.length);
+        assertArrayEquals(gzip, out.toByteArray());
+
+        ByteArrayOutputStream plainOut = new ByteArrayOutputStream();
+        HttpServletResponse plain = response(plainOut);
+        AssetHandler.handleAsset(request(BUNDLE, null, null), plain, manifest, resources);
+
+        verify(plain, never()).setHeader(eq("Content-Encoding"), anyString());
+        assertArrayEquals(body, plainOut.toByteArray());
+    }
+
+    @Test
+    void testAsset_IfNoneMatchIs304() throws Exception {
+        HttpServletResponse first = response(new ByteArrayOutputStream());
+        AssetHandler.handleAsset(request(BUNDLE, null, null), first, manifest, resources);
+        ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+        verify(first).setHeader(eq("ETag"), etag.capture());
+
+        HttpServletResponse res = mock(HttpServletResponse.class);
+        assertNull(AssetHandler.handleAsset(request(BUNDLE, "gzip", etag.getValue()), res, manifest, resources));
+
+        verify(res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(res).setHeader("ETag", etag.getValue());
+        verify(res, never()).setContentLength(anyInt());
+        verify(res, never()).getOutputStream();
+    }
+
+    private static RequestContext request(String file, String acceptEncoding, String ifNoneMatch) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/data/webdesigner/assets/" + file);
+        when(request.getHeader("Accept-Encoding")).thenReturn(acceptEncoding);
+        when(request.getHeader("If-None-Match")).thenReturn(ifNoneMatch);
+
+        RequestContext req = mock(RequestContext.class);
+        when(req.getRequest()).thenReturn(request);
+        return req;
+    }
+
+    private static HttpServletResponse response(ByteArrayOutputStream out) throws Exception {
+        HttpServletResponse res = mock(HttpServletResponse.class);
+        when(res.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+        });
+        return res;
+    }
+}
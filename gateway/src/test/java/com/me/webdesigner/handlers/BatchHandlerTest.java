@@ -0,0 +1,117 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.RouteTemplate;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchHandler.
+ *
+ * Tests that resource paths can't read files outside the project.
+ */
+class BatchHandlerTest {
+
+    private static final RouteTemplate BATCH_ROUTE = RouteTemplate.compile("/api/v1/projects/{project}/batch");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBatch_ReadsViewInProject() throws Exception {
+        writeView("Main", "{\"root\":{\"type\":\"ia.container.flex\"}}");
+
+        JsonArray items = batch("{\"resources\":[{\"type\":\"view\",\"path\":\"Main\"}]}");
+
+        JsonObject item = items.get(0).getAsJsonObject();
+        assertEquals(200, item.get("status").getAsInt());
+        assertEquals("ia.container.flex",
+            item.getAsJsonObject("content").getAsJsonObject("root").get("type").getAsString());
+    }
+
+    @Test
+    void testBatch_RejectsPathsOutsideProject() throws Exception {
+        writeView("Main", "{}");
+        Path outside = tempDir.resolve("outside");
+        Files.createDirectories(outside);
+        Files.write(outside.resolve("view.json"), "{\"secret\":true}".getBytes(StandardCharsets.UTF_8));
+        Files.write(outside.resolve("code.py"), "secret = True".getBytes(StandardCharsets.UTF_8));
+
+        String absolute = outside.toAbsolutePath().toString().replace("\\", "\\\\");
+        JsonArray items = batch("{\"resources\":["
+            + "{\"type\":\"view\",\"path\":\"" + absolute + "\"},"
+            + "{\"type\":\"script\",\"path\":\"" + absolute + "\"},"
+            + "{\"type\":\"view\",\"path\":\"Main/../../../../../outside\"}]}");
+
+        assertEquals(3, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            JsonObject item = items.get(i).getAsJsonObject();
+            assertEquals(400, item.get("status").getAsInt(), item.toString());
+            assertFalse(item.has("content"), item.toString());
+        }
+    }
+
+    private void writeView(String viewPath, String content) throws Exception {
+        Path viewDir = tempDir.resolve("data/projects/P/com.inductiveautomation.perspective/views").resolve(viewPath);
+        Files.createDirectories(viewDir);
+        Files.write(viewDir.resolve("view.json"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonArray batch(String body) throws Exception {
+        GatewayContext context = mock(GatewayContext.class, RETURNS_DEEP_STUBS);
+        when(context.getSystemManager().getDataDir()).thenReturn(tempDir.resolve("data").toFile());
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/api/v1/projects/P/batch");
+        when(request.getUserPrincipal()).thenReturn(() -> "tester");
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(body)));
+
+        RequestContext req = mock(RequestContext.class);
+        when(req.getRequest()).thenReturn(request);
+        when(req.getGatewayContext()).thenReturn(context);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletResponse res = mock(HttpServletResponse.class);
+        when(res.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+        });
+
+        PathParams params = new PathParams();
+        assertTrue(BATCH_ROUTE.match("/api/v1/projects/P/batch", params));
+        assertNull(BatchHandler.handleBatchGet(req, res, params));
+
+        return JsonParser.parseString(new String(out.toByteArray(), StandardCharsets.UTF_8))
+            .getAsJsonObject().getAsJsonArray("items");
+    }
+}
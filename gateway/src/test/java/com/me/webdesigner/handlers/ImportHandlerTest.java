@@ -0,0 +1,156 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.RouteTemplate;
+import com.me.webdesigner.util.ViewHistory;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImportHandler.
+ *
+ * Tests that views replaced by an import are kept in the view history and that a
+ * failure part way through the commit restores every file already moved.
+ */
+class ImportHandlerTest {
+
+    private static final RouteTemplate IMPORT_ROUTE = RouteTemplate.compile("/api/v1/projects/{project}/import");
+
+    private static final String OLD_VIEW = "{\"root\":{\"type\":\"ia.container.flex\",\"meta\":{\"name\":\"old\"}}}";
+    private static final String NEW_VIEW = "{\"root\":{\"type\":\"ia.container.flex\",\"meta\":{\"name\":\"new\"}}}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImport_UpdatedViewRecordedInHistory() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewDir = tempDir.resolve("projects/P/com.inductiveautomation.perspective/views/Main");
+        Files.createDirectories(viewDir);
+        Files.write(viewDir.resolve("view.json"), OLD_VIEW.getBytes(StandardCharsets.UTF_8));
+
+        JsonObject response = importZip(dataDir, "views/Main/view.json", NEW_VIEW, "views/Added/view.json", NEW_VIEW);
+
+        assertTrue(response.get("committed").getAsBoolean(), response.toString());
+        String written = new String(Files.readAllBytes(viewDir.resolve("view.json")), StandardCharsets.UTF_8);
+        assertEquals(JsonParser.parseString(NEW_VIEW), JsonParser.parseString(written));
+
+        // The replaced content and the imported content are both restorable
+        List<ViewHistory.Revision> revisions = ViewHistory.listRevisions(dataDir, "P", "Main");
+        assertEquals(2, revisions.size());
+        assertEquals(JsonParser.parseString(OLD_VIEW), ViewHistory.materialize(dataDir, "P", "Main", 1));
+        assertEquals(JsonParser.parseString(NEW_VIEW), ViewHistory.materialize(dataDir, "P", "Main", 2));
+        assertEquals("tester", revisions.get(1).user);
+
+        // Created views have nothing to anchor on
+        assertTrue(ViewHistory.listRevisions(dataDir, "P", "Added").isEmpty());
+    }
+
+    @Test
+    void testImport_FailureAfterFirstMoveRollsBack() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path views = tempDir.resolve("projects/P/com.inductiveautomation.perspective/views");
+        for (String name : new String[] {"A", "B"}) {
+            Files.createDirectories(views.resolve(name));
+            Files.write(views.resolve(name).resolve("view.json"), OLD_VIEW.getBytes(StandardCharsets.UTF_8));
+        }
+
+        JsonObject response;
+        try (MockedStatic<ViewHistory> history = mockStatic(ViewHistory.class, CALLS_REAL_METHODS)) {
+            // A is moved into place, then recording B's revision fails with a RuntimeException
+            history.when(() -> ViewHistory.recordRevision(any(), eq("P"), eq("B"), any(), any(), any(), any(),
+                anyLong(), any())).thenThrow(new IllegalStateException("history unavailable"));
+
+            response = importZip(dataDir, "views/A/view.json", NEW_VIEW, "views/B/view.json", NEW_VIEW);
+        }
+
+        assertEquals(500, response.get("status").getAsInt(), response.toString());
+        for (String name : new String[] {"A", "B"}) {
+            String content = new String(Files.readAllBytes(views.resolve(name).resolve("view.json")),
+                StandardCharsets.UTF_8);
+            assertEquals(JsonParser.parseString(OLD_VIEW), JsonParser.parseString(content), name);
+        }
+        // A's import revision was aborted; only the anchor of its old content remains
+        List<ViewHistory.Revision> revisions = ViewHistory.listRevisions(dataDir, "P", "A");
+        assertEquals(1, revisions.size());
+        assertEquals(JsonParser.parseString(OLD_VIEW), ViewHistory.materialize(dataDir, "P", "A", 1));
+    }
+
+    private static JsonObject importZip(File dataDir, String... entries) throws Exception {
+        ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(zipBytes)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(zipBytes.toByteArray());
+
+        GatewayContext context = mock(GatewayContext.class, RETURNS_DEEP_STUBS);
+        when(context.getSystemManager().getDataDir()).thenReturn(dataDir);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getUserPrincipal()).thenReturn(() -> "tester");
+        when(request.isUserInRole(anyString())).thenReturn(true);
+        when(request.getInputStream()).thenReturn(new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+        });
+
+        RequestContext req = mock(RequestContext.class);
+        when(req.getRequest()).thenReturn(request);
+        when(req.getGatewayContext()).thenReturn(context);
+
+        PathParams params = new PathParams();
+        assertTrue(IMPORT_ROUTE.match("/api/v1/projects/P/import", params));
+        return ImportHandler.handleImport(req, mock(HttpServletResponse.class), params);
+    }
+}
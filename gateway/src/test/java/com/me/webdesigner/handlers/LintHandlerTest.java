@@ -0,0 +1,162 @@
+package com.me.webdesigner.handlers;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import com.inductiveautomation.ignition.gateway.model.GatewayContext;
+import com.me.webdesigner.util.PathParams;
+import com.me.webdesigner.util.RouteTemplate;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LintHandler.
+ *
+ * Tests the streamed per-view results and summary, cached results on a rescan
+ * and views that can't be read.
+ */
+class LintHandlerTest {
+
+    private static final RouteTemplate LINT_ROUTE = RouteTemplate.compile("/api/v1/projects/{project}/lint");
+
+    private static final String VALID_VIEW = "{\"root\":{\"type\":\"ia.container.flex\",\"meta\":{\"name\":\"root\"}}}";
+    private static final String INVALID_VIEW = "{\"root\":{\"meta\":{\"name\":\"root\"}}}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLint_StreamsResultsAndSummary() throws Exception {
+        writeView("Main", VALID_VIEW);
+        writeView("Popups/Edit", VALID_VIEW);
+        writeView("Old/Broken", INVALID_VIEW);
+
+        JsonObject response = lint();
+
+        assertEquals("P", response.get("project").getAsString());
+        assertEquals(3, response.get("total").getAsInt());
+        Map<String, JsonObject> views = byPath(response.getAsJsonArray("views"));
+        assertEquals("valid", views.get("Main").get("status").getAsString());
+        assertEquals("valid", views.get("Popups/Edit").get("status").getAsString());
+        assertEquals("invalid", views.get("Old/Broken").get("status").getAsString());
+        assertTrue(views.get("Old/Broken").getAsJsonArray("errors").size() > 0);
+
+        JsonObject summary = response.getAsJsonObject("summary");
+        assertEquals(3, summary.get("views").getAsInt());
+        assertEquals(2, summary.get("valid").getAsInt());
+        assertEquals(1, summary.get("invalid").getAsInt());
+        assertEquals(0, summary.get("unreadable").getAsInt());
+        assertEquals(0, summary.get("cached").getAsInt());
+    }
+
+    @Test
+    void testLint_RescanUsesCachedResults() throws Exception {
+        writeView("Main", VALID_VIEW);
+        writeView("Old/Broken", INVALID_VIEW);
+        JsonObject first = lint();
+
+        JsonObject second = lint();
+
+        assertEquals(2, second.getAsJsonObject("summary").get("cached").getAsInt());
+        // Cached results are the same as freshly computed ones
+        assertEquals(byPath(first.getAsJsonArray("views")), byPath(second.getAsJsonArray("views")));
+        assertEquals(1, second.getAsJsonObject("summary").get("invalid").getAsInt());
+    }
+
+    @Test
+    void testLint_UnreadableViewReported() throws Exception {
+        writeView("Main", VALID_VIEW);
+        Path link = viewsRoot().resolve("Gone").resolve("view.json");
+        Files.createDirectories(link.getParent());
+        try {
+            Files.createSymbolicLink(link, tempDir.resolve("missing.json"));
+        } catch (IOException | UnsupportedOperationException e) {
+            assumeTrue(false, "Symbolic links not supported: " + e);
+        }
+
+        JsonObject response = lint();
+
+        JsonObject gone = byPath(response.getAsJsonArray("views")).get("Gone");
+        assertEquals("unreadable", gone.get("status").getAsString());
+        assertTrue(gone.getAsJsonArray("errors").get(0).getAsString().startsWith("Could not read view"));
+        JsonObject summary = response.getAsJsonObject("summary");
+        assertEquals(2, summary.get("views").getAsInt());
+        assertEquals(1, summary.get("valid").getAsInt());
+        assertEquals(1, summary.get("unreadable").getAsInt());
+    }
+
+    private Path viewsRoot() {
+        return tempDir.resolve("data/projects/P/com.inductiveautomation.perspective/views");
+    }
+
+    private void writeView(String viewPath, String content) throws Exception {
+        Path viewDir = viewsRoot().resolve(viewPath);
+        Files.createDirectories(viewDir);
+        Files.write(viewDir.resolve("view.json"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, JsonObject> byPath(JsonArray views) {
+        Map<String, JsonObject> result = new HashMap<>();
+        for (JsonElement view : views) {
+            result.put(view.getAsJsonObject().get("path").getAsString(), view.getAsJsonObject());
+        }
+        return result;
+    }
+
+    private JsonObject lint() throws Exception {
+        GatewayContext context = mock(GatewayContext.class, RETURNS_DEEP_STUBS);
+        when(context.getSystemManager().getDataDir()).thenReturn(tempDir.resolve("data").toFile());
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getUserPrincipal()).thenReturn(() -> "tester");
+        when(request.isUserInRole(anyString())).thenReturn(true);
+
+        RequestContext req = mock(RequestContext.class);
+        when(req.getRequest()).thenReturn(request);
+        when(req.getGatewayContext()).thenReturn(context);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HttpServletResponse res = mock(HttpServletResponse.class);
+        when(res.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+        });
+
+        PathParams params = new PathParams();
+        assertTrue(LINT_ROUTE.match("/api/v1/projects/P/lint", params));
+        assertNull(LintHandler.handleLint(req, res, params));
+        verify(res).setStatus(HttpServletResponse.SC_OK);
+
+        return JsonParser.parseString(new String(out.toByteArray(), StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+}
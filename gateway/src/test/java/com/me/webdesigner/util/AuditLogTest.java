@@ -0,0 +1,32 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AuditLog pipeline.
+ */
+class AuditLogTest {
+
+    @Test
+    void testSubmit_WrittenAsynchronously() throws InterruptedException {
+        long before = (Long) AuditLog.getStats().get("written");
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(AuditLog.submit("WebDesigner.Test", "tester", "127.0.0.1", "Record " + i, true));
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((Long) AuditLog.getStats().get("written") < before + 1000 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Map<String, Object> stats = AuditLog.getStats();
+        assertEquals(before + 1000, stats.get("written"));
+        assertEquals(0, AuditLog.getQueueDepth());
+        assertEquals(0L, AuditLog.getDroppedCount());
+    }
+}
@@ -0,0 +1,50 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ComponentRegistry and the validation rules it drives.
+ */
+class ComponentRegistryTest {
+
+    @Test
+    void testLookup() {
+        ComponentRegistry.ComponentSchema flex = ComponentRegistry.lookup("ia.container.flex");
+        assertNotNull(flex);
+        assertEquals("container", flex.getCategory());
+        assertTrue(flex.allowsChildren());
+
+        assertFalse(ComponentRegistry.lookup("ia.display.label").allowsChildren());
+        assertTrue(ComponentRegistry.lookup("ia.display.flex-repeater").embedsView());
+        assertFalse(ComponentRegistry.lookup("ia.display.icon").embedsView());
+        assertNull(ComponentRegistry.lookup("thirdparty.widget"));
+        assertNull(ComponentRegistry.lookup(null));
+    }
+
+    @Test
+    void testCatalogMatchesRegistry() {
+        assertEquals(ComponentRegistry.size(),
+            ComponentRegistry.getCatalog().getAsJsonArray("components").size());
+    }
+
+    @Test
+    void testChildrenOnNonContainer_WarnsInBothValidators() throws IOException {
+        String json = "{\"root\":{\"type\":\"ia.container.flex\",\"children\":[{\"type\":\"ia.display.label\","
+            + "\"children\":[{\"type\":\"ia.display.icon\"}]}]}}";
+
+        ViewValidator.ValidationResult dom = ViewValidator.validateView(JsonParser.parseString(json).getAsJsonObject());
+        ViewValidator.ValidationResult streamed = StreamingViewValidator.validateView(
+            new JsonReader(new StringReader(json)));
+
+        assertTrue(dom.isValid());
+        assertTrue(dom.getWarnings().contains("Component 'ia.display.label' cannot have children"));
+        assertEquals(dom.getWarnings(), streamed.getWarnings());
+    }
+}
@@ -0,0 +1,83 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompressionUtil.
+ *
+ * Tests Accept-Encoding negotiation (q-values, wildcard, aliases) and the
+ * precompressed body cache.
+ */
+class CompressionUtilTest {
+
+    @AfterEach
+    void clearCache() {
+        CompressionUtil.clearCache();
+    }
+
+    @Test
+    void testNegotiate_PlainAndAliases() {
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("gzip, deflate, br"));
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("x-gzip"));
+        assertEquals(CompressionUtil.DEFLATE, CompressionUtil.negotiate("deflate"));
+        assertNull(CompressionUtil.negotiate("identity"));
+        assertNull(CompressionUtil.negotiate(""));
+        assertNull(CompressionUtil.negotiate(null));
+    }
+
+    @Test
+    void testNegotiate_QualityValues() {
+        assertEquals(CompressionUtil.DEFLATE, CompressionUtil.negotiate("gzip;q=0.5, deflate;q=0.8"));
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("deflate;q=0.5, gzip"));
+        // Equal quality prefers gzip
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("deflate;q=0.7, GZIP; Q=0.7"));
+    }
+
+    @Test
+    void testNegotiate_ZeroQualityRefuses() {
+        assertNull(CompressionUtil.negotiate("gzip;q=0"));
+        assertEquals(CompressionUtil.DEFLATE, CompressionUtil.negotiate("gzip;q=0, deflate"));
+        assertNull(CompressionUtil.negotiate("gzip;q=0, deflate;q=0.0"));
+    }
+
+    @Test
+    void testNegotiate_Wildcard() {
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("*"));
+        // Explicit entries override the wildcard
+        assertEquals(CompressionUtil.DEFLATE, CompressionUtil.negotiate("gzip;q=0, *"));
+        assertNull(CompressionUtil.negotiate("*;q=0"));
+    }
+
+    @Test
+    void testNegotiate_MalformedQualityIsOne() {
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("gzip;q=abc"));
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("deflate;q=0.9, gzip;q=NaN"));
+        assertEquals(CompressionUtil.GZIP, CompressionUtil.negotiate("deflate, gzip;q=7"));
+    }
+
+    @Test
+    void testCompressCached_ReusesBytesPerKeyAndEncoding() throws IOException {
+        byte[] body = "{\"views\":[]}".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+        byte[] first = CompressionUtil.compressCached("/views|\"etag1\"", body, CompressionUtil.GZIP);
+        assertSame(first, CompressionUtil.compressCached("/views|\"etag1\"", body, CompressionUtil.GZIP));
+        assertNotSame(first, CompressionUtil.compressCached("/views|\"etag2\"", body, CompressionUtil.GZIP));
+        assertNotSame(first, CompressionUtil.compressCached("/views|\"etag1\"", body, CompressionUtil.DEFLATE));
+        assertNotSame(first, CompressionUtil.compressCached(null, body, CompressionUtil.GZIP));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+
+        CompressionUtil.clearCache();
+        assertNotSame(first, CompressionUtil.compressCached("/views|\"etag1\"", body, CompressionUtil.GZIP));
+    }
+}
@@ -0,0 +1,76 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ErrorHandler's class-indexed exception mapping and shared fixed-message bodies.
+ */
+class ErrorMappingTest {
+
+    private static JsonObject handle(Exception e) {
+        HttpServletResponse res = mock(HttpServletResponse.class);
+        JsonObject json = ErrorHandler.handleException(mock(Logger.class), res, e, "testing");
+        verify(res).setStatus(json.get("status").getAsInt());
+        return json;
+    }
+
+    @Test
+    void testMapping_UsesNearestMappedSuperclass() {
+        // NumberFormatException extends IllegalArgumentException
+        JsonObject json = handle(new NumberFormatException("abc"));
+        assertEquals(400, json.get("status").getAsInt());
+        assertEquals("Invalid Argument", json.get("error").getAsString());
+        assertEquals("Invalid request parameter: abc", json.get("message").getAsString());
+
+        // AccessDeniedException is an IOException, but mapped on its own
+        assertEquals(403, handle(new AccessDeniedException("/x")).get("status").getAsInt());
+        assertEquals(404, handle(new FileNotFoundException("/x")).get("status").getAsInt());
+    }
+
+    @Test
+    void testMapping_FixedAndDefaultMessages() {
+        JsonObject npe = handle(new NullPointerException("detail"));
+        assertEquals(500, npe.get("status").getAsInt());
+        assertEquals("An unexpected error occurred. Please check Gateway logs.", npe.get("message").getAsString());
+
+        JsonObject other = handle(new UnsupportedOperationException("nope"));
+        assertEquals("Internal Server Error", other.get("error").getAsString());
+        assertEquals("An unexpected error occurred: nope", other.get("message").getAsString());
+    }
+
+    @Test
+    void testFixedError_SharedBodyAndBytes() {
+        JsonObject body = ErrorHandler.fixedError(HttpServletResponse.SC_UNAUTHORIZED, "Authentication required");
+
+        assertSame(body, ErrorHandler.fixedError(HttpServletResponse.SC_UNAUTHORIZED, "Authentication required"));
+        assertEquals(ResponseUtil.createErrorResponse(HttpServletResponse.SC_UNAUTHORIZED, "Authentication required"),
+            body);
+        assertEquals("{\"error\":\"Authentication required\",\"status\":401}",
+            new String(ErrorHandler.serializedFixedError(body), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFixedError_StatusesKeptApart() {
+        JsonObject unauthorized = ErrorHandler.fixedError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid project name");
+        JsonObject forbidden = ErrorHandler.fixedError(HttpServletResponse.SC_FORBIDDEN, "Invalid project name");
+
+        assertNotSame(unauthorized, forbidden);
+        assertEquals(403, forbidden.get("status").getAsInt());
+    }
+
+    @Test
+    void testSerializedFixedError_NullForOtherBodies() {
+        JsonObject body = ResponseUtil.createErrorResponse(HttpServletResponse.SC_BAD_REQUEST, "Invalid project name");
+        assertNull(ErrorHandler.serializedFixedError(body));
+    }
+}
@@ -0,0 +1,147 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FingerprintService.
+ *
+ * Tests digest consistency between byte, stream and file inputs,
+ * the MurmurHash3 implementation, and file fingerprint caching.
+ */
+class FingerprintServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    // ===== Digest Consistency Tests =====
+
+    @Test
+    void testFingerprint_BytesAndStreamMatch() throws Exception {
+        byte[] data = sampleData(100_000);
+
+        String fromBytes = FingerprintService.fingerprint(data);
+        String fromStream = FingerprintService.fingerprint(new ByteArrayInputStream(data));
+
+        assertEquals(fromBytes, fromStream);
+    }
+
+    @Test
+    void testFingerprint_MatchesLegacyCalculateHash() {
+        String content = "{\"root\":{\"type\":\"ia.container.flex\"}}";
+
+        assertEquals(ResponseUtil.calculateHash(content),
+            FingerprintService.fingerprint(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testFingerprint_DifferentContentDiffers() {
+        assertNotEquals(FingerprintService.fingerprint("a".getBytes(StandardCharsets.UTF_8)),
+            FingerprintService.fingerprint("b".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // ===== MurmurHash3 Tests =====
+
+    @Test
+    void testMurmur3_KnownVector() {
+        byte[] data = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+        FingerprintService.Murmur3 hash = new FingerprintService.Murmur3();
+        hash.update(data, 0, data.length);
+
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", toHex(hash.digest()));
+    }
+
+    @Test
+    void testMurmur3_IncrementalMatchesSinglePass() {
+        byte[] data = sampleData(1000);
+
+        FingerprintService.Murmur3 single = new FingerprintService.Murmur3();
+        single.update(data, 0, data.length);
+
+        // Feed in odd-sized chunks to exercise the partial-block path
+        FingerprintService.Murmur3 chunked = new FingerprintService.Murmur3();
+        int pos = 0;
+        int chunk = 1;
+        while (pos < data.length) {
+            int len = Math.min(chunk, data.length - pos);
+            chunked.update(data, pos, len);
+            pos += len;
+            chunk = chunk % 23 + 3;
+        }
+
+        assertArrayEquals(single.digest(), chunked.digest());
+    }
+
+    // ===== File Cache Tests =====
+
+    @Test
+    void testFingerprintFile_MatchesContent() throws Exception {
+        byte[] data = sampleData(5000);
+        Path file = tempDir.resolve("view.json");
+        Files.write(file, data);
+
+        assertEquals(FingerprintService.fingerprint(data), FingerprintService.fingerprintFile(file));
+    }
+
+    @Test
+    void testFingerprintFile_DetectsChange() throws Exception {
+        Path file = tempDir.resolve("view.json");
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        String first = FingerprintService.fingerprintFile(file);
+
+        Files.write(file, "second!".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5000));
+        String second = FingerprintService.fingerprintFile(file);
+
+        assertNotEquals(first, second);
+        assertEquals(FingerprintService.fingerprint("second!".getBytes(StandardCharsets.UTF_8)), second);
+    }
+
+    @Test
+    void testRead_ReturnsBytesAndFingerprint() throws Exception {
+        byte[] data = sampleData(2000);
+        Path file = tempDir.resolve("view.json");
+        Files.write(file, data);
+
+        FingerprintService.FileContent content = FingerprintService.read(file);
+
+        assertArrayEquals(data, content.bytes);
+        assertEquals(FingerprintService.fingerprint(data), content.etag);
+        assertEquals(content.etag, FingerprintService.fingerprintFile(file));
+    }
+
+    @Test
+    void testFingerprintWritten_PopulatesCache() throws Exception {
+        byte[] data = sampleData(3000);
+        Path file = tempDir.resolve("view.json");
+        Files.write(file, data);
+
+        String recorded = FingerprintService.fingerprintWritten(file, data);
+
+        assertEquals(recorded, FingerprintService.fingerprintFile(file));
+    }
+
+    private static byte[] sampleData(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 31 + (i >> 3));
+        }
+        return data;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
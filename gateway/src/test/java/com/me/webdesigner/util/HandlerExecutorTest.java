@@ -0,0 +1,108 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HandlerExecutor's async hand-off and per-category concurrency.
+ */
+class HandlerExecutorTest {
+
+    private static RequestContext context(HttpServletRequest request) {
+        RequestContext req = mock(RequestContext.class);
+        when(req.getRequest()).thenReturn(request);
+        return req;
+    }
+
+    private static HttpServletRequest asyncRequest(AsyncContext async) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.isAsyncSupported()).thenReturn(true);
+        when(request.startAsync()).thenReturn(async);
+        when(request.getRequestURI()).thenReturn("/api/v1/projects/P/view");
+        return request;
+    }
+
+    @Test
+    void testAsync_HandlerRunsOnWorkerAndCompletes() throws Exception {
+        AsyncContext async = mock(AsyncContext.class);
+        CountDownLatch completed = new CountDownLatch(1);
+        doAnswer(inv -> {
+            completed.countDown();
+            return null;
+        }).when(async).complete();
+        AtomicReference<String> handlerThread = new AtomicReference<>();
+
+        Object result = HandlerExecutor.execute(RateLimiter.Budget.READ, context(asyncRequest(async)),
+            mock(HttpServletResponse.class), (req, res) -> {
+                handlerThread.set(Thread.currentThread().getName());
+                return null;
+            });
+
+        assertNull(result);
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertTrue(handlerThread.get().startsWith("webdesigner-handler"), handlerThread.get());
+    }
+
+    @Test
+    void testSync_ReturnsHandlerResultWhenAsyncUnsupported() throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+
+        Object result = HandlerExecutor.execute(RateLimiter.Budget.READ, context(request),
+            mock(HttpServletResponse.class), (req, res) -> Thread.currentThread().getName());
+
+        assertTrue(((String) result).startsWith("webdesigner-handler"));
+        verify(request, never()).startAsync();
+    }
+
+    @Test
+    void testConcurrency_LimitedPerCategory() throws Exception {
+        int requests = 12;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(requests);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            AsyncContext async = mock(AsyncContext.class);
+            doAnswer(inv -> {
+                completed.countDown();
+                return null;
+            }).when(async).complete();
+
+            HandlerExecutor.execute(RateLimiter.Budget.SCAN, context(asyncRequest(async)),
+                mock(HttpServletResponse.class), (req, res) -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    release.await();
+                    running.decrementAndGet();
+                    return null;
+                });
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> scan = (Map<String, Object>) HandlerExecutor.getStats().get("scan");
+        int concurrency = (Integer) scan.get("concurrency");
+        // Workers fill up to the limit, the rest of the requests wait
+        long deadline = System.currentTimeMillis() + 5000;
+        while (running.get() < concurrency && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(concurrency, running.get());
+
+        release.countDown();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertTrue(maxRunning.get() <= concurrency);
+    }
+}
@@ -0,0 +1,83 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.Gson;
+import com.inductiveautomation.ignition.common.gson.GsonBuilder;
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonNull;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonSerializer byte stability and buffer reuse.
+ */
+class JsonSerializerTest {
+
+    private static JsonObject view() {
+        JsonObject meta = new JsonObject();
+        meta.addProperty("name", "Label <1> & \"quoted\" \u00e9\u4e2d\ud83d\ude00");
+        meta.add("removed", JsonNull.INSTANCE);
+        JsonObject root = new JsonObject();
+        root.addProperty("type", "ia.container.flex");
+        root.add("meta", meta);
+        JsonArray children = new JsonArray();
+        children.add(1.5);
+        children.add(true);
+        root.add("children", children);
+        JsonObject view = new JsonObject();
+        view.add("root", root);
+        view.add("params", new JsonObject());
+        return view;
+    }
+
+    @Test
+    void testOutput_IdenticalToGson() {
+        JsonObject view = view();
+        Gson pretty = new GsonBuilder().setPrettyPrinting().create();
+
+        assertArrayEquals(pretty.toJson(view).getBytes(StandardCharsets.UTF_8),
+            JsonSerializer.toBytes(view, JsonSerializer.Format.PRETTY));
+        assertArrayEquals(new Gson().toJson(view).getBytes(StandardCharsets.UTF_8),
+            JsonSerializer.toBytes(view, JsonSerializer.Format.COMPACT));
+        assertEquals(new Gson().toJson(view), JsonSerializer.toString(view, JsonSerializer.Format.COMPACT));
+    }
+
+    @Test
+    void testStreamedWrite_IdenticalToBytes() throws IOException {
+        JsonObject view = view();
+        for (JsonSerializer.Format format : JsonSerializer.Format.values()) {
+            StringWriter out = new StringWriter();
+            try (JsonWriter writer = JsonSerializer.newWriter(out, format)) {
+                JsonSerializer.write(view, writer, format);
+            }
+            assertEquals(new String(JsonSerializer.toBytes(view, format), StandardCharsets.UTF_8), out.toString(),
+                format.name());
+        }
+    }
+
+    @Test
+    void testBufferReuse_NoLeftovers() {
+        JsonObject large = new JsonObject();
+        large.addProperty("text", "x".repeat(100_000));
+        JsonObject small = new JsonObject();
+        small.addProperty("a", 1);
+
+        JsonSerializer.toBytes(large, JsonSerializer.Format.COMPACT);
+        assertEquals("{\"a\":1}", new String(JsonSerializer.toBytes(small, JsonSerializer.Format.COMPACT),
+            StandardCharsets.UTF_8));
+        assertEquals("{\"a\":1}", new String(JsonSerializer.toBytes(small, JsonSerializer.Format.COMPACT),
+            StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testViewFormat_PrettyByDefault() {
+        assertEquals(JsonSerializer.Format.PRETTY, JsonSerializer.viewFormat("AnyProject"));
+        assertEquals(JsonSerializer.Format.COMPACT, JsonSerializer.responseFormat());
+    }
+}
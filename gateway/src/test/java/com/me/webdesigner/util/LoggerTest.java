@@ -0,0 +1,65 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the Logger facade's event builder, async writer and sampling.
+ */
+class LoggerTest {
+
+    private static org.slf4j.Logger target(boolean infoEnabled) {
+        org.slf4j.Logger target = mock(org.slf4j.Logger.class);
+        when(target.isInfoEnabled()).thenReturn(infoEnabled);
+        return target;
+    }
+
+    @Test
+    void testEvent_FormattedOnWriterThread() {
+        org.slf4j.Logger target = target(true);
+        AtomicReference<String> writerThread = new AtomicReference<>();
+        doAnswer(inv -> {
+            writerThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(target).info(anyString(), nullable(Throwable.class));
+
+        new Logger(target).atInfo().with("project", "P").with("count", 3).with("cached", true).log("Found views");
+
+        verify(target, timeout(5000)).info("Found views [project=\"P\", count=3, cached=true]", (Throwable) null);
+        assertTrue(writerThread.get().startsWith("webdesigner-log"), writerThread.get());
+    }
+
+    @Test
+    void testDisabledLevel_NothingRecorded() throws Exception {
+        org.slf4j.Logger target = target(false);
+        Logger logger = new Logger(target);
+
+        assertSame(logger.atInfo(), logger.atInfo().with("count", 1));
+        logger.atInfo().with("project", "P").log("Not logged");
+        logger.info("Not logged either", "project", "P");
+
+        Thread.sleep(100);
+        verify(target, never()).info(anyString(), nullable(Throwable.class));
+    }
+
+    @Test
+    void testSampled_SuppressesRepeatedLines() {
+        org.slf4j.Logger target = target(true);
+        Logger logger = new Logger(target);
+        long suppressedBefore = (Long) Logger.getStats().get("suppressed");
+
+        for (int i = 0; i < 200; i++) {
+            logger.atInfo().sampled().with("i", i).log("Sampled line");
+        }
+
+        verify(target, timeout(5000).atLeastOnce()).info(startsWith("Sampled line"), nullable(Throwable.class));
+        // At most two one-second windows' worth get through
+        long suppressed = (Long) Logger.getStats().get("suppressed") - suppressedBefore;
+        assertTrue(suppressed >= 200 - 2 * 10, "suppressed " + suppressed);
+    }
+}
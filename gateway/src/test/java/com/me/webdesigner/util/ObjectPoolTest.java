@@ -0,0 +1,46 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ObjectPool.
+ */
+class ObjectPoolTest {
+
+    @Test
+    void testReleasedObjectIsReusedAcrossThreads() throws Exception {
+        ObjectPool<byte[]> pool = new ObjectPool<>(4, () -> new byte[16]);
+        byte[] buffer = pool.acquire();
+        pool.release(buffer);
+
+        byte[][] acquired = new byte[1][];
+        Thread other = new Thread(() -> acquired[0] = pool.acquire());
+        other.start();
+        other.join();
+
+        assertSame(buffer, acquired[0]);
+    }
+
+    @Test
+    void testIdleObjectsCappedAtCapacity() {
+        AtomicInteger created = new AtomicInteger();
+        ObjectPool<Object> pool = new ObjectPool<>(1, () -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        assertNotSame(first, second);
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquire());
+        pool.acquire();
+        assertEquals(3, created.get());
+    }
+}
@@ -0,0 +1,78 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PathFilter.
+ */
+class PathFilterTest {
+
+    @Test
+    void testNoPatterns_AcceptsEverything() {
+        PathFilter filter = PathFilter.parse(null, "");
+
+        assertTrue(filter.accepts("views/Main/view.json"));
+        assertTrue(filter.accepts("queries/q/query.props"));
+    }
+
+    @Test
+    void testInclude_FolderMatchesContents() {
+        PathFilter filter = PathFilter.parse("views/Main, scripts", null);
+
+        assertTrue(filter.accepts("views/Main/view.json"));
+        assertTrue(filter.accepts("scripts/util/code.py"));
+        assertFalse(filter.accepts("views/MainOld/view.json"));
+        assertFalse(filter.accepts("queries/q/query.props"));
+    }
+
+    @Test
+    void testWildcards() {
+        PathFilter filter = PathFilter.parse("views/*/view.json,queries/**/query.props", null);
+
+        assertTrue(filter.accepts("views/Main/view.json"));
+        assertFalse(filter.accepts("views/A/B/view.json"));
+        assertTrue(filter.accepts("queries/a/b/query.props"));
+    }
+
+    @Test
+    void testExcludeWins() {
+        PathFilter filter = PathFilter.parse("views", "views/Legacy,**/thumbnail.png");
+
+        assertTrue(filter.accepts("views/Main/view.json"));
+        assertFalse(filter.accepts("views/Legacy/Old/view.json"));
+        assertFalse(filter.accepts("views/Main/thumbnail.png"));
+    }
+
+    @Test
+    void testRegexCharactersAreLiteral() {
+        PathFilter filter = PathFilter.parse("views/Main (copy)", null);
+
+        assertTrue(filter.accepts("views/Main (copy)/view.json"));
+        assertFalse(filter.accepts("views/Main copy/view.json"));
+    }
+
+    @Test
+    void testBacktrackingPattern_MatchesInLinearTime() {
+        PathFilter filter = PathFilter.parse("**a**a**a**a**a**a**a**a**b", null);
+        String path = "views/" + "a".repeat(60);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> assertFalse(filter.accepts(path)));
+        assertTrue(filter.accepts(path + "b"));
+    }
+
+    @Test
+    void testLimits_RejectTooManyOrTooLongPatterns() {
+        String tooMany = String.join(",", Collections.nCopies(PathFilter.MAX_PATTERNS + 1, "views"));
+        String tooLong = "v".repeat(PathFilter.MAX_PATTERN_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> PathFilter.parse(tooMany, null));
+        assertThrows(IllegalArgumentException.class, () -> PathFilter.parse(null, tooLong));
+        assertNotNull(PathFilter.parse(String.join(",", Collections.nCopies(PathFilter.MAX_PATTERNS, "views")),
+            "v".repeat(PathFilter.MAX_PATTERN_LENGTH)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.me.webdesigner.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RateLimiter.
+ */
+class RateLimiterTest {
+
+    @BeforeEach
+    void setUp() {
+        RateLimiter.reset();
+    }
+
+    private static HttpServletRequest request(String remoteAddr) {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getRemoteAddr()).thenReturn(remoteAddr);
+        return req;
+    }
+
+    @Test
+    void testBurstThenRejected() {
+        HttpServletRequest req = request("10.0.0.1");
+
+        // Default write budget: burst of 20
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, RateLimiter.acquire(req, RateLimiter.Budget.WRITE), "request " + i);
+        }
+        assertTrue(RateLimiter.acquire(req, RateLimiter.Budget.WRITE) >= 1);
+    }
+
+    @Test
+    void testBudgetsAndClientsAreSeparate() {
+        HttpServletRequest first = request("10.0.0.2");
+        while (RateLimiter.acquire(first, RateLimiter.Budget.SCAN) == 0) {
+            // Drain the scan budget
+        }
+
+        assertEquals(0, RateLimiter.acquire(first, RateLimiter.Budget.READ));
+        assertEquals(0, RateLimiter.acquire(request("10.0.0.3"), RateLimiter.Budget.SCAN));
+    }
+}
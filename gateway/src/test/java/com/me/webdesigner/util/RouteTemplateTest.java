@@ -0,0 +1,59 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RouteTemplate path matching and parameter extraction.
+ */
+class RouteTemplateTest {
+
+    private static final RouteTemplate VIEW = RouteTemplate.compile("/api/v1/projects/{project}/view");
+
+    @Test
+    void testMountPath_ReplacesParameters() {
+        assertEquals("/api/v1/projects/*/view", VIEW.getMountPath());
+        assertEquals("/api/v1/tags", RouteTemplate.compile("/api/v1/tags").getMountPath());
+    }
+
+    @Test
+    void testMatch_ExtractsParameters() {
+        PathParams params = new PathParams();
+
+        assertTrue(VIEW.match("/api/v1/projects/MyProject/view", params));
+        assertEquals("MyProject", params.get("project"));
+
+        RouteTemplate provider = RouteTemplate.compile("/api/v1/tags/{provider}");
+        assertTrue(provider.match("/api/v1/tags/default", params));
+        assertEquals("default", params.get("provider"));
+    }
+
+    @Test
+    void testMatch_RejectsOtherShapes() {
+        PathParams params = new PathParams();
+
+        assertFalse(VIEW.match("/api/v1/projects/MyProject/views", params));
+        assertFalse(VIEW.match("/api/v1/projects/MyProject/view/", params));
+        assertFalse(VIEW.match("/api/v1/projects//view", params));
+        assertFalse(VIEW.match("/api/v1/projects/a/b/view", params));
+        assertFalse(VIEW.match("/api/v1/projects/MyProject", params));
+        assertFalse(VIEW.match("api/v1/projects/MyProject/view", params));
+        assertFalse(VIEW.match("", params));
+    }
+
+    @Test
+    void testGet_UnknownParameterThrows() {
+        PathParams params = new PathParams();
+        assertTrue(VIEW.match("/api/v1/projects/P/view", params));
+        assertThrows(IllegalArgumentException.class, () -> params.get("provider"));
+    }
+
+    @Test
+    void testCompile_RejectsMalformedTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> RouteTemplate.compile("api/v1"));
+        assertThrows(IllegalArgumentException.class, () -> RouteTemplate.compile("/api//v1"));
+        assertThrows(IllegalArgumentException.class, () -> RouteTemplate.compile("/api/*/view"));
+        assertThrows(IllegalArgumentException.class, () -> RouteTemplate.compile("/api/{a}/{a}"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.me.webdesigner.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.Principal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SecurityUtil's role checks and decision cache.
+ */
+class SecurityUtilTest {
+
+    @BeforeEach
+    void setUp() {
+        SecurityUtil.clearAuthCache();
+    }
+
+    private static HttpServletRequest request(String user, String sessionId, String... roles) {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        Principal principal = () -> user;
+        when(req.getUserPrincipal()).thenReturn(principal);
+        HttpSession session = mock(HttpSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        when(req.getSession(false)).thenReturn(session);
+        for (String role : roles) {
+            when(req.isUserInRole(role)).thenReturn(true);
+        }
+        return req;
+    }
+
+    @Test
+    void testRequireDesigner_RejectsUserWithoutRole() {
+        HttpServletRequest req = request("operator", "s1");
+        HttpServletResponse res = mock(HttpServletResponse.class);
+
+        assertEquals("operator", SecurityUtil.checkAuth(req, res, null, false));
+        assertNull(SecurityUtil.checkAuth(req, res, null, true));
+        verify(res).setStatus(HttpServletResponse.SC_FORBIDDEN);
+    }
+
+    @Test
+    void testRequireDesigner_DecisionCachedPerSession() {
+        HttpServletRequest req = request("designer", "s2", "Designer");
+        HttpServletResponse res = mock(HttpServletResponse.class);
+
+        assertEquals("designer", SecurityUtil.checkAuth(req, res, null, true));
+        assertEquals("designer", SecurityUtil.checkAuth(req, res, null, true));
+        verify(req, times(1)).isUserInRole("Designer");
+
+        // New session resolves roles again
+        HttpServletRequest relogin = request("designer", "s3");
+        assertNull(SecurityUtil.checkAuth(relogin, res, null, true));
+    }
+
+    @Test
+    void testUnauthenticated() {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        HttpServletResponse res = mock(HttpServletResponse.class);
+
+        assertNull(SecurityUtil.checkAuth(req, res, null, true));
+        verify(res).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,96 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight request coalescing.
+ */
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentIdenticalCalls_ShareOneExecution() throws Exception {
+        int callers = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> SingleFlight.execute("view", "P", "Main", "1:100", () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    release.await();
+                    return new Object();
+                })));
+            }
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Let the other callers reach the in-flight computation
+            Thread.sleep(200);
+            release.countDown();
+
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSequentialCalls_NotCached() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+
+        SingleFlight.execute("view", "P", "Seq", "1:100", executions::incrementAndGet);
+        SingleFlight.execute("view", "P", "Seq", "1:100", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testDifferentValidator_NotShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> old = pool.submit(() -> SingleFlight.execute("view", "P", "Saved", "1:100", () -> {
+                release.await();
+                return "old";
+            }));
+            Thread.sleep(50);
+
+            // A read of the file after a save must not join the read of the previous version
+            assertEquals("new", SingleFlight.execute("view", "P", "Saved", "2:120", () -> "new"));
+
+            release.countDown();
+            assertEquals("old", old.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testException_PropagatesToCaller() {
+        IOException thrown = assertThrows(IOException.class, () ->
+            SingleFlight.execute("views", "P", "", "1", () -> {
+                throw new IOException("disk gone");
+            }));
+        assertEquals("disk gone", thrown.getMessage());
+        assertEquals(0, SingleFlight.getStats().get("inFlight"));
+    }
+}
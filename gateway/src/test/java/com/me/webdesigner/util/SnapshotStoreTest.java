@@ -0,0 +1,127 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotStore.
+ *
+ * Tests tree round trips, subtree deduplication, reopening an existing
+ * pack and escaping of reference-like user content.
+ */
+class SnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        SnapshotStore.closeAll();
+    }
+
+    @Test
+    void testPutTree_RoundTrip() throws Exception {
+        SnapshotStore store = SnapshotStore.forDataDir(tempDir.toFile());
+        JsonElement view = view(3);
+
+        String hash = store.putTree(view);
+
+        assertEquals(view, store.getTree(hash));
+    }
+
+    @Test
+    void testPutTree_SameContentStoredOnce() throws Exception {
+        SnapshotStore store = SnapshotStore.forDataDir(tempDir.toFile());
+
+        String first = store.putTree(view(3));
+        long size = store.getPackSize();
+        String second = store.putTree(view(3));
+
+        assertEquals(first, second);
+        assertEquals(size, store.getPackSize());
+    }
+
+    @Test
+    void testPutTree_RepeatedComponentsShareBlobs() throws Exception {
+        SnapshotStore store = SnapshotStore.forDataDir(tempDir.toFile());
+
+        store.putTree(view(10));
+        int blobs = store.getBlobCount();
+        long size = store.getPackSize();
+
+        // One more identical component only adds new parent blobs
+        JsonElement larger = view(11);
+        store.putTree(larger);
+
+        int rawSize = larger.toString().getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(store.getBlobCount() - blobs <= 3, "Only changed ancestors should be new blobs");
+        assertTrue(store.getPackSize() - size < rawSize / 4, "New version should cost a fraction of its raw size");
+    }
+
+    @Test
+    void testGetTree_AfterReopen() throws Exception {
+        File dataDir = tempDir.toFile();
+        String hash = SnapshotStore.forDataDir(dataDir).putTree(view(5));
+        SnapshotStore.closeAll();
+
+        SnapshotStore reopened = SnapshotStore.forDataDir(dataDir);
+
+        assertEquals(view(5), reopened.getTree(hash));
+    }
+
+    @Test
+    void testGetTree_UnknownHash() throws Exception {
+        SnapshotStore store = SnapshotStore.forDataDir(tempDir.toFile());
+
+        assertNull(store.getTree("0000"));
+    }
+
+    @Test
+    void testPutTree_ReferenceLikeContentPreserved() throws Exception {
+        SnapshotStore store = SnapshotStore.forDataDir(tempDir.toFile());
+        JsonElement tricky = JsonParser.parseString(
+            "{\"a\":{\"$blobRef\":\"not-a-hash\"},\"b\":{\"$blobEsc\":{\"x\":1}}}");
+
+        String hash = store.putTree(tricky);
+
+        assertEquals(tricky, store.getTree(hash));
+    }
+
+    @Test
+    void testPut_RawBytes() throws Exception {
+        SnapshotStore store = SnapshotStore.forDataDir(tempDir.toFile());
+        byte[] data = "print('hello')".getBytes(StandardCharsets.UTF_8);
+
+        String hash = store.put(data);
+
+        assertArrayEquals(data, store.get(hash));
+    }
+
+    private static JsonElement view(int components) {
+        JsonArray children = new JsonArray();
+        for (int i = 0; i < components; i++) {
+            children.add(JsonParser.parseString(
+                "{\"type\":\"ia.display.label\",\"meta\":{\"name\":\"Label\"},"
+                    + "\"position\":{\"x\":10,\"y\":20,\"width\":200,\"height\":32},"
+                    + "\"props\":{\"text\":\"Motor status\",\"style\":{\"fontSize\":\"14px\","
+                    + "\"color\":\"#333333\",\"backgroundColor\":\"#ffffff\"}}}"));
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("type", "ia.container.coord");
+        root.add("children", children);
+        JsonObject view = new JsonObject();
+        view.add("root", root);
+        return view;
+    }
+}
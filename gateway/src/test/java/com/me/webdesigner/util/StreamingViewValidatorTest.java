@@ -0,0 +1,107 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.stream.JsonReader;
+import com.inductiveautomation.ignition.common.gson.stream.JsonToken;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingViewValidator.
+ */
+class StreamingViewValidatorTest {
+
+    private static ViewValidator.ValidationResult stream(String json) throws IOException {
+        return StreamingViewValidator.validateView(new JsonReader(new StringReader(json)));
+    }
+
+    private static ViewValidator.ValidationResult dom(String json) {
+        return ViewValidator.validateView(JsonParser.parseString(json).getAsJsonObject());
+    }
+
+    @Test
+    void testValidView_MatchesViewValidator() throws IOException {
+        String json = "{\"params\":{},\"root\":{\"type\":\"ia.container.flex\",\"meta\":{\"name\":\"root\"},"
+            + "\"children\":[{\"type\":\"ia.display.label\",\"meta\":{\"name\":\"Label\"},"
+            + "\"layout\":{\"x\":0,\"y\":0,\"width\":-5},\"props\":{\"text\":\"hi\"}},"
+            + "{\"meta\":{\"name\":\"Label\"},\"type\":\"ia.display.label\"}]}}";
+
+        ViewValidator.ValidationResult streamed = stream(json);
+
+        assertTrue(streamed.isValid());
+        assertEquals(dom(json).getWarnings(), streamed.getWarnings());
+    }
+
+    @Test
+    void testStructuralErrors_MatchViewValidator() throws IOException {
+        String[] views = {
+            "{}",
+            "{\"root\":[]}",
+            "{\"root\":{\"children\":[]}}",
+            "{\"root\":{\"type\":7}}",
+            "{\"root\":{\"type\":\" \"}}",
+            "{\"root\":{\"type\":\"ia.container.flex\",\"children\":{}}}",
+            "{\"root\":{\"type\":\"ia.container.flex\",\"children\":[1]}}"
+        };
+
+        for (String json : views) {
+            assertEquals(dom(json).getErrors(), stream(json).getErrors(), json);
+        }
+    }
+
+    @Test
+    void testTypeAfterChildren() throws IOException {
+        String json = "{\"root\":{\"children\":[{\"type\":\"ia.display.label\"}],\"type\":\"ia.container.flex\"}}";
+
+        assertTrue(stream(json).isValid());
+    }
+
+    @Test
+    void testTooManyComponents_StopsEarly() throws IOException {
+        StringBuilder json = new StringBuilder("{\"root\":{\"type\":\"ia.container.flex\",\"children\":[");
+        for (int i = 0; i < 10_000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"type\":\"ia.display.label\"}");
+        }
+        json.append("]}}");
+
+        JsonReader reader = new JsonReader(new StringReader(json.toString()));
+        ViewValidator.ValidationResult result = StreamingViewValidator.validateView(reader);
+
+        assertFalse(result.isValid());
+        assertTrue(result.getErrors().get(0).startsWith("Too many components"));
+        // Stopped inside the children array
+        assertEquals(JsonToken.BEGIN_OBJECT, reader.peek(), "reader should stop at the first extra component");
+    }
+
+    @Test
+    void testNestingTooDeep() throws IOException {
+        StringBuilder json = new StringBuilder("{\"root\":");
+        for (int i = 0; i < 1000; i++) {
+            json.append("{\"type\":\"ia.container.flex\",\"children\":[");
+        }
+        for (int i = 0; i < 1000; i++) {
+            json.append("]}");
+        }
+        json.append("}");
+
+        ViewValidator.ValidationResult result = stream(json.toString());
+
+        assertFalse(result.isValid());
+        assertTrue(result.getErrors().get(0).startsWith("Component nesting too deep"));
+    }
+
+    @Test
+    void testValidateMember() throws IOException {
+        JsonReader missing = new JsonReader(new StringReader("{\"other\":{\"root\":{}}}"));
+        assertNull(StreamingViewValidator.validateMember(missing, "content"));
+
+        JsonReader present = new JsonReader(new StringReader(
+            "{\"etag\":\"x\",\"content\":{\"root\":{\"type\":\"ia.container.flex\"}},\"extra\":[1,2]}"));
+        assertTrue(StreamingViewValidator.validateMember(present, "content").isValid());
+        assertEquals(JsonToken.END_DOCUMENT, present.peek());
+    }
+}
@@ -0,0 +1,106 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ViewDependencies.
+ *
+ * Tests reference extraction, transitive closure with cycles and
+ * incremental refresh after a view changes on disk.
+ */
+class ViewDependenciesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private int writes;
+
+    @Test
+    void testExtractReferences_EmbeddedRepeaterCarouselAndPopup() {
+        JsonElement view = JsonParser.parseString("{\"root\":{\"type\":\"ia.container.flex\",\"children\":["
+            + "{\"type\":\"ia.display.view\",\"props\":{\"path\":\"Widgets/Card\"}},"
+            + "{\"type\":\"ia.display.flex-repeater\",\"props\":{\"path\":\"/Widgets/Row\"}},"
+            + "{\"type\":\"ia.display.carousel\",\"props\":{\"views\":[{\"viewPath\":\"Slides/One\"}]}},"
+            + "{\"type\":\"ia.input.button\",\"events\":{\"component\":{\"onActionPerformed\":"
+            + "{\"type\":\"popup\",\"config\":{\"viewPath\":\"Popups/Detail\"}}}}},"
+            + "{\"type\":\"ia.display.view\",\"props\":{\"path\":\"Widgets/Card\"}}"
+            + "]}}");
+
+        List<String> references = ViewDependencies.extractReferences(view);
+
+        assertEquals(Arrays.asList("Widgets/Card", "Widgets/Row", "Slides/One", "Popups/Detail"), references);
+    }
+
+    @Test
+    void testExtractReferences_IgnoresNonViewPaths() {
+        JsonElement view = JsonParser.parseString("{\"root\":{\"type\":\"ia.display.label\","
+            + "\"props\":{\"text\":\"x\"},"
+            + "\"propConfig\":{\"props.text\":{\"binding\":{\"type\":\"property\",\"config\":{\"path\":\"view.params.x\"}}}}}}");
+
+        assertTrue(ViewDependencies.extractReferences(view).isEmpty());
+    }
+
+    @Test
+    void testExtractReferences_IconPathIsNotAView() {
+        JsonElement view = JsonParser.parseString("{\"root\":{\"type\":\"ia.container.flex\",\"children\":["
+            + "{\"type\":\"ia.display.icon\",\"props\":{\"path\":\"material/home\"}},"
+            + "{\"type\":\"thirdparty.widget\",\"props\":{\"path\":\"some/resource\"}},"
+            + "{\"type\":\"ia.display.view\",\"props\":{\"path\":\"Widgets/Card\"}}"
+            + "]}}");
+
+        assertEquals(Arrays.asList("Widgets/Card"), ViewDependencies.extractReferences(view));
+    }
+
+    @Test
+    void testClosure_TransitiveWithCycle() throws Exception {
+        File dataDir = tempDir.toFile();
+        writeView("A", "B");
+        writeView("B", "C");
+        writeView("C", "A");
+
+        assertEquals(Arrays.asList("B", "C"), ViewDependencies.closure(dataDir, "Proj", "A"));
+    }
+
+    @Test
+    void testClosure_IncludesMissingReferences() throws Exception {
+        File dataDir = tempDir.toFile();
+        writeView("A", "Gone");
+
+        assertEquals(Arrays.asList("Gone"), ViewDependencies.closure(dataDir, "Proj", "A"));
+        assertNull(ViewDependencies.references(dataDir, "Proj", "Gone"));
+    }
+
+    @Test
+    void testReferences_RefreshedWhenFileChanges() throws Exception {
+        File dataDir = tempDir.toFile();
+        writeView("A", "B");
+        assertEquals(Arrays.asList("B"), ViewDependencies.references(dataDir, "Proj", "A"));
+
+        writeView("A", "C");
+
+        assertEquals(Arrays.asList("C"), ViewDependencies.references(dataDir, "Proj", "A"));
+    }
+
+    private void writeView(String path, String embeds) throws Exception {
+        Path file = tempDir.resolve("projects/Proj/com.inductiveautomation.perspective/views")
+            .resolve(path).resolve("view.json");
+        Files.createDirectories(file.getParent());
+        Files.write(file, ("{\"root\":{\"type\":\"ia.container.flex\",\"children\":["
+            + "{\"type\":\"ia.display.view\",\"props\":{\"path\":\"" + embeds + "\"}}]}}")
+            .getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 1000L * ++writes));
+    }
+}
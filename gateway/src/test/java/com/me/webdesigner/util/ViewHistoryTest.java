@@ -0,0 +1,254 @@
+package com.me.webdesigner.util;
+
+import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonObject;
+import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JsonDiff and ViewHistory.
+ *
+ * Tests diff/patch round trips, revision recording, external-change
+ * anchoring, aborted revisions and materialization.
+ */
+class ViewHistoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private int writes;
+
+    // ===== JsonDiff Tests =====
+
+    @Test
+    void testDiff_RoundTripPropertyChange() {
+        JsonElement before = view("Label", "Hello");
+        JsonElement after = view("Label", "Hello World");
+
+        JsonArray ops = JsonDiff.diff(before, after);
+
+        assertEquals(1, ops.size());
+        assertEquals(after, JsonDiff.apply(before, ops));
+    }
+
+    @Test
+    void testDiff_InsertChildProducesSingleSplice() {
+        JsonObject before = view("A", "a").getAsJsonObject();
+        JsonObject after = before.deepCopy();
+        JsonArray children = after.getAsJsonObject("root").getAsJsonArray("children");
+        JsonObject inserted = JsonParser.parseString(
+            "{\"type\":\"ia.display.label\",\"meta\":{\"name\":\"B\"}}").getAsJsonObject();
+        JsonArray reordered = new JsonArray();
+        reordered.add(inserted);
+        reordered.addAll(children);
+        after.getAsJsonObject("root").add("children", reordered);
+
+        JsonArray ops = JsonDiff.diff(before, after);
+
+        assertEquals(1, ops.size());
+        assertEquals("splice", ops.get(0).getAsJsonObject().get("op").getAsString());
+        assertEquals(after, JsonDiff.apply(before, ops));
+    }
+
+    @Test
+    void testDiff_RemoveMember() {
+        JsonElement before = JsonParser.parseString("{\"a\":1,\"b\":{\"c\":2}}");
+        JsonElement after = JsonParser.parseString("{\"b\":{}}");
+
+        assertEquals(after, JsonDiff.apply(before, JsonDiff.diff(before, after)));
+    }
+
+    @Test
+    void testDiff_ApplyDoesNotModifySource() {
+        JsonElement before = view("Label", "x");
+        JsonElement copy = before.deepCopy();
+
+        JsonDiff.apply(before, JsonDiff.diff(before, view("Label", "y")));
+
+        assertEquals(copy, before);
+    }
+
+    // ===== ViewHistory Tests =====
+
+    @Test
+    void testRecordRevision_FirstSaveAnchorsOnDiskContent() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+
+        long rev = save(dataDir, viewFile, view("Label", "v1"));
+
+        List<ViewHistory.Revision> revisions = ViewHistory.listRevisions(dataDir, "Proj", "Main");
+        assertEquals(2, revisions.size());
+        assertEquals(ViewHistory.KIND_FULL, revisions.get(0).kind);
+        assertEquals(2, rev);
+        assertEquals(view("Label", "v0"), ViewHistory.materialize(dataDir, "Proj", "Main", 1));
+        assertEquals(view("Label", "v1"), ViewHistory.materialize(dataDir, "Proj", "Main", 2));
+    }
+
+    @Test
+    void testRecordRevision_SubsequentSavesAreDeltas() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+
+        for (int i = 1; i <= 5; i++) {
+            save(dataDir, viewFile, view("Label", "v" + i));
+        }
+
+        List<ViewHistory.Revision> revisions = ViewHistory.listRevisions(dataDir, "Proj", "Main");
+        assertEquals(6, revisions.size());
+        assertEquals(ViewHistory.KIND_DELTA, revisions.get(5).kind);
+        for (int i = 0; i <= 5; i++) {
+            assertEquals(view("Label", "v" + i), ViewHistory.materialize(dataDir, "Proj", "Main", i + 1));
+        }
+    }
+
+    @Test
+    void testRecordRevision_ExternalChangeIsSnapshotted() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+        save(dataDir, viewFile, view("Label", "v1"));
+
+        // Edited by another tool
+        writeView(view("Label", "external"));
+        long rev = save(dataDir, viewFile, view("Label", "v2"));
+
+        assertEquals(4, rev);
+        assertEquals(view("Label", "external"), ViewHistory.materialize(dataDir, "Proj", "Main", 3));
+        assertEquals(view("Label", "v2"), ViewHistory.materialize(dataDir, "Proj", "Main", 4));
+    }
+
+    @Test
+    void testAbortRevision_ExcludedFromHistory() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+        save(dataDir, viewFile, view("Label", "v1"));
+
+        // Record a revision but don't write the file
+        byte[] failed = bytes(view("Label", "failed"));
+        String currentEtag = FingerprintService.fingerprintFile(viewFile);
+        long aborted = ViewHistory.recordRevision(dataDir, "Proj", "Main", viewFile, currentEtag,
+            view("Label", "failed"), FingerprintService.fingerprint(failed), failed.length, "tester");
+        ViewHistory.abortRevision(dataDir, "Proj", "Main", aborted);
+
+        long rev = save(dataDir, viewFile, view("Label", "v2"));
+
+        assertNull(ViewHistory.materialize(dataDir, "Proj", "Main", aborted));
+        assertEquals(view("Label", "v2"), ViewHistory.materialize(dataDir, "Proj", "Main", rev));
+        assertTrue(ViewHistory.listRevisions(dataDir, "Proj", "Main").stream().noneMatch(r -> r.rev == aborted));
+    }
+
+    @Test
+    void testMaterialize_UnknownRevisionReturnsNull() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+        save(dataDir, viewFile, view("Label", "v1"));
+
+        assertNull(ViewHistory.materialize(dataDir, "Proj", "Main", 99));
+        assertNull(ViewHistory.materialize(dataDir, "Proj", "Other", 1));
+    }
+
+    @Test
+    void testRecordRevision_SaveOverCorruptView() throws Exception {
+        File dataDir = tempDir.toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+        String corrupt = "{\"root\":{\"type\":\"ia.container.flex\",";
+        Files.write(viewFile, corrupt.getBytes(StandardCharsets.UTF_8));
+
+        // Repairing the view by saving over it must not fail
+        long rev = save(dataDir, viewFile, view("Label", "repaired"));
+
+        List<ViewHistory.Revision> revisions = ViewHistory.listRevisions(dataDir, "Proj", "Main");
+        assertEquals(2, revisions.size());
+        assertEquals(ViewHistory.KIND_FULL, revisions.get(1).kind);
+        // The corrupt content is kept as raw text
+        assertEquals(new JsonPrimitive(corrupt), ViewHistory.materialize(dataDir, "Proj", "Main", 1));
+        assertEquals(view("Label", "repaired"), ViewHistory.materialize(dataDir, "Proj", "Main", rev));
+
+        // The chain continues with deltas from the repaired content
+        long next = save(dataDir, viewFile, view("Label", "repaired again"));
+        assertEquals(ViewHistory.KIND_DELTA, ViewHistory.listRevisions(dataDir, "Proj", "Main").get(2).kind);
+        assertEquals(view("Label", "repaired again"), ViewHistory.materialize(dataDir, "Proj", "Main", next));
+    }
+
+    @Test
+    void testLogFile_StaysInsideHistoryFolder() throws Exception {
+        File dataDir = tempDir.resolve("data").toFile();
+        Path viewFile = writeView(view("Label", "v0"));
+        Path outside = tempDir.resolve("outside");
+        Files.createDirectories(outside);
+        Files.write(outside.resolve("revisions.log"),
+            "{\"rev\":1,\"kind\":\"full\",\"data\":{}}\n".getBytes(StandardCharsets.UTF_8));
+
+        // Absolute path: recorded under the project's history folder, not next to the target
+        String absolute = outside.toAbsolutePath().toString();
+        byte[] newBytes = bytes(view("Label", "v1"));
+        ViewHistory.recordRevision(dataDir, "Proj", absolute, viewFile, FingerprintService.fingerprintFile(viewFile),
+            view("Label", "v1"), FingerprintService.fingerprint(newBytes), newBytes.length, "tester");
+
+        assertEquals(1, Files.readAllLines(outside.resolve("revisions.log")).size());
+        assertTrue(Files.exists(ViewHistory.historyRoot(dataDir).resolve("Proj")
+            .resolve(absolute.substring(1)).resolve("revisions.log")));
+        assertEquals(2, ViewHistory.listRevisions(dataDir, "Proj", absolute).size());
+
+        // Leading "/" names the same view
+        assertEquals(2, ViewHistory.listRevisions(dataDir, "Proj", "/" + absolute).size());
+
+        // Paths normalizing outside the project's history are rejected
+        assertThrows(IllegalArgumentException.class,
+            () -> ViewHistory.listRevisions(dataDir, "Proj", "Main/../../Other"));
+        assertThrows(IllegalArgumentException.class,
+            () -> ViewHistory.materialize(dataDir, "Proj", "Main/../../../../outside", 1));
+    }
+
+    /**
+     * Save the way ProjectHandler.handlePutView does: record, then write.
+     */
+    private long save(File dataDir, Path viewFile, JsonElement content) throws Exception {
+        byte[] newBytes = bytes(content);
+        String currentEtag = FingerprintService.fingerprintFile(viewFile);
+        String newEtag = FingerprintService.fingerprint(newBytes);
+        long rev = ViewHistory.recordRevision(dataDir, "Proj", "Main", viewFile, currentEtag,
+            content, newEtag, newBytes.length, "tester");
+        Files.write(viewFile, newBytes);
+        FingerprintService.recordWritten(viewFile, newBytes.length, newEtag);
+        return rev;
+    }
+
+    private Path writeView(JsonElement content) throws Exception {
+        Path viewFile = tempDir.resolve("projects/Proj/com.inductiveautomation.perspective/views/Main/view.json");
+        Files.createDirectories(viewFile.getParent());
+        Files.write(viewFile, bytes(content));
+        // Distinct mtime so cached fingerprints are not reused
+        Files.setLastModifiedTime(viewFile, FileTime.fromMillis(System.currentTimeMillis() + 1000L * ++writes));
+        return viewFile;
+    }
+
+    private static byte[] bytes(JsonElement content) {
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static JsonElement view(String name, String text) {
+        StringBuilder children = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                children.append(',');
+            }
+            children.append("{\"type\":\"ia.display.label\",\"meta\":{\"name\":\"Child").append(i)
+                .append("\"},\"props\":{\"text\":\"static text ").append(i).append("\"}}");
+        }
+        return JsonParser.parseString("{\"root\":{\"type\":\"ia.container.flex\",\"meta\":{\"name\":\"" + name
+            + "\"},\"props\":{\"text\":\"" + text + "\"},\"children\":[" + children + "]}}");
+    }
+}
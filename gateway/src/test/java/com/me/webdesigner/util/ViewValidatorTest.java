@@ -0,0 +1,59 @@
+package com.me.webdesigner.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ViewValidator's content validation and result cache.
+ */
+class ViewValidatorTest {
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testValidateContent_CachesByFingerprint() {
+        byte[] content = bytes("{\"root\":{\"type\":\"ia.container.flex\",\"layout\":{\"width\":-1}}}");
+
+        ViewValidator.ValidationResult first = ViewValidator.validateContent(content);
+        ViewValidator.ValidationResult second = ViewValidator.validateContent(content.clone());
+
+        assertTrue(first.isValid());
+        assertEquals(1, first.getWarnings().size());
+        assertSame(first, second);
+        assertSame(first, ViewValidator.getCachedResult(FingerprintService.fingerprint(content)));
+    }
+
+    @Test
+    void testValidateContent_InvalidContent() {
+        ViewValidator.ValidationResult notJson = ViewValidator.validateContent(bytes("{\"root\":"));
+        assertFalse(notJson.isValid());
+        assertTrue(notJson.getErrors().get(0).startsWith("Invalid JSON"));
+
+        ViewValidator.ValidationResult notObject = ViewValidator.validateContent(bytes("[]"));
+        assertEquals(List.of("View must be a JSON object"), notObject.getErrors());
+
+        ViewValidator.ValidationResult noRoot = ViewValidator.validateContent(bytes("{}"));
+        assertEquals(List.of("Missing required field: root"), noRoot.getErrors());
+    }
+
+    @Test
+    void testCacheResult_StoresUnmodifiableCopy() {
+        List<String> warnings = new ArrayList<>();
+        warnings.add("Duplicate component name: Label");
+        ViewValidator.ValidationResult result = new ViewValidator.ValidationResult(new ArrayList<>(), warnings);
+
+        ViewValidator.ValidationResult cached = ViewValidator.cacheResult("test-etag", result);
+        warnings.clear();
+
+        assertEquals(1, cached.getWarnings().size());
+        assertThrows(UnsupportedOperationException.class, () -> cached.getErrors().add("x"));
+        assertSame(cached, ViewValidator.getCachedResult("test-etag"));
+    }
+}